@@ -7,9 +7,15 @@ package io.github.masmangan.assis.cli;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
+import io.github.masmangan.assis.DiagramOptions;
+import io.github.masmangan.assis.io.DiscoveryMode;
+import io.github.masmangan.assis.util.PackageFilter;
+
 /**
  *
  */
@@ -38,16 +44,23 @@ final class CliArgs {
 	 */
 	final Path outDir;
 
+	/**
+	 * Generation options collected from the command line.
+	 */
+	final DiagramOptions options;
+
 	/**
 	 *
 	 * @param mode
 	 * @param sourceRoots
 	 * @param outDir
+	 * @param options
 	 */
-	private CliArgs(Mode mode, Set<Path> sourceRoots, Path outDir) {
+	private CliArgs(Mode mode, Set<Path> sourceRoots, Path outDir, DiagramOptions options) {
 		this.mode = mode;
 		this.sourceRoots = sourceRoots;
 		this.outDir = outDir;
+		this.options = options;
 	}
 
 	/**
@@ -64,6 +77,18 @@ final class CliArgs {
 
 		Path outDir = null;
 
+		DiagramOptions options = new DiagramOptions();
+
+		List<String> includes = new ArrayList<>();
+
+		List<String> excludes = new ArrayList<>();
+
+		List<String> keptExternals = new ArrayList<>();
+
+		List<String> droppedExternals = new ArrayList<>();
+
+		List<String> focus = new ArrayList<>();
+
 		boolean skip = false;
 		for (int i = 0; i < args.length; i++) {
 			if (skip) {
@@ -73,11 +98,11 @@ final class CliArgs {
 			String a = args[i];
 
 			if (isHelp(a)) {
-				return new CliArgs(Mode.HELP, null, null);
+				return new CliArgs(Mode.HELP, null, null, null);
 			}
 
 			if (isVersion(a)) {
-				return new CliArgs(Mode.VERSION, null, null);
+				return new CliArgs(Mode.VERSION, null, null, null);
 			}
 
 			if (isSourcePath(a)) {
@@ -86,12 +111,96 @@ final class CliArgs {
 			} else if (isOutputDirectory(a)) {
 				skip = true;
 				outDir = parseOutputDirectory(args, outDir, i, a);
+			} else if (isParallel(a)) {
+				options.setParallel(true);
+			} else if (isStructureOnly(a)) {
+				options.setStructureOnly(true);
+			} else if (isApiSurface(a)) {
+				options.setApiSurface(true);
+			} else if (isDiscovery(a)) {
+				skip = true;
+				options.setDiscoveryMode(parseDiscoveryMode(args, i, a));
+			} else if (isInclude(a)) {
+				skip = true;
+				requireValue(args, i, a);
+				includes.add(args[i + 1]);
+			} else if (isExclude(a)) {
+				skip = true;
+				requireValue(args, i, a);
+				excludes.add(args[i + 1]);
+			} else if (isSubtypesOf(a)) {
+				skip = true;
+				requireValue(args, i, a);
+				options.setSubtypesOf(args[i + 1]);
+			} else if (isFocus(a)) {
+				skip = true;
+				focus.addAll(parseTypeList(args, i, a));
+			} else if (isDepth(a)) {
+				skip = true;
+				options.setDepth(parseNonNegative(args, i, a));
+			} else if (isTransitiveReduction(a)) {
+				options.setTransitiveReduction(true);
+			} else if (isCycles(a)) {
+				options.setCycles(true);
+			} else if (isPartitionTypes(a)) {
+				skip = true;
+				options.setPartitionTypes(parseNonNegative(args, i, a));
+			} else if (isPartitionEdges(a)) {
+				skip = true;
+				options.setPartitionEdges(parseNonNegative(args, i, a));
+			} else if (isMaxMembers(a)) {
+				skip = true;
+				options.setMaxMembers(parseNonNegative(args, i, a));
+			} else if (isMaxEdges(a)) {
+				skip = true;
+				options.setMaxEdges(parseNonNegative(args, i, a));
+			} else if (isMaxGhosts(a)) {
+				skip = true;
+				options.setMaxGhosts(parseNonNegative(args, i, a));
+			} else if (isMinEdgeWeight(a)) {
+				skip = true;
+				options.setMinEdgeWeight(parseNonNegative(args, i, a));
+			} else if (isDropJdk(a)) {
+				options.setDropJdkTypes(true);
+			} else if (isKeepExternal(a)) {
+				skip = true;
+				requireValue(args, i, a);
+				keptExternals.add(args[i + 1]);
+			} else if (isDropExternal(a)) {
+				skip = true;
+				requireValue(args, i, a);
+				droppedExternals.add(args[i + 1]);
+			} else if (isPackages(a)) {
+				options.setPackageDiagram(true);
+			} else if (isPackageDepth(a)) {
+				skip = true;
+				options.setPackageDepth(parseNonNegative(args, i, a));
 			} else {
 				throw new IllegalArgumentException("Unknown option: " + a + "\n\n" + usage);
 			}
 		}
 
-		return new CliArgs(Mode.RUN, srcRoots, outDir);
+		options.setPackageFilter(parsePackageFilter(includes, excludes));
+
+		options.setExternalTypeFilter(parsePackageFilter(keptExternals, droppedExternals));
+
+		options.setFocus(focus);
+
+		return new CliArgs(Mode.RUN, srcRoots, outDir, options);
+	}
+
+	/**
+	 *
+	 * @param includes
+	 * @param excludes
+	 * @return
+	 */
+	private static PackageFilter parsePackageFilter(List<String> includes, List<String> excludes) {
+		try {
+			return PackageFilter.of(includes, excludes);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(e.getMessage() + "\n\n" + usage, e);
+		}
 	}
 
 	/**
@@ -141,6 +250,263 @@ final class CliArgs {
 		return "--source-path".equals(a) || "-sourcepath".equals(a);
 	}
 
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isParallel(String a) {
+		return "--parallel".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isStructureOnly(String a) {
+		return "--structure-only".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isApiSurface(String a) {
+		return "--api-surface".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isDiscovery(String a) {
+		return "--discovery".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isInclude(String a) {
+		return "--include".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isExclude(String a) {
+		return "--exclude".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isSubtypesOf(String a) {
+		return "--subtypes-of".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isFocus(String a) {
+		return "--focus".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isDepth(String a) {
+		return "--depth".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isTransitiveReduction(String a) {
+		return "--transitive-reduction".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isCycles(String a) {
+		return "--cycles".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isPartitionTypes(String a) {
+		return "--partition-types".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isPartitionEdges(String a) {
+		return "--partition-edges".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isMaxMembers(String a) {
+		return "--max-members".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isMaxEdges(String a) {
+		return "--max-edges".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isMaxGhosts(String a) {
+		return "--max-ghosts".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isMinEdgeWeight(String a) {
+		return "--min-edge-weight".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isDropJdk(String a) {
+		return "--drop-jdk".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isKeepExternal(String a) {
+		return "--keep-external".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isDropExternal(String a) {
+		return "--drop-external".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isPackages(String a) {
+		return "--packages".equals(a);
+	}
+
+	/**
+	 *
+	 * @param a
+	 * @return
+	 */
+	private static boolean isPackageDepth(String a) {
+		return "--package-depth".equals(a);
+	}
+
+	/**
+	 *
+	 * @param args
+	 * @param i
+	 * @param a
+	 * @return
+	 */
+	private static List<String> parseTypeList(String[] args, int i, String a) {
+		requireValue(args, i, a);
+		List<String> out = new ArrayList<>();
+		for (String t : args[i + 1].split(",")) {
+			if (!t.isBlank()) {
+				out.add(t.trim());
+			}
+		}
+		if (out.isEmpty()) {
+			throw new IllegalArgumentException("Empty value for " + a + "\n\n" + usage);
+		}
+		return out;
+	}
+
+	/**
+	 *
+	 * @param args
+	 * @param i
+	 * @param a
+	 * @return
+	 */
+	private static int parseNonNegative(String[] args, int i, String a) {
+		requireValue(args, i, a);
+		try {
+			int depth = Integer.parseInt(args[i + 1]);
+			if (depth >= 0) {
+				return depth;
+			}
+		} catch (NumberFormatException e) {
+			// reported below
+		}
+		throw new IllegalArgumentException("Invalid value for " + a + ": " + args[i + 1] + "\n\n" + usage);
+	}
+
+	/**
+	 *
+	 * @param args
+	 * @param i
+	 * @param a
+	 * @return
+	 */
+	private static DiscoveryMode parseDiscoveryMode(String[] args, int i, String a) {
+		requireValue(args, i, a);
+		return switch (args[i + 1]) {
+		case "walk" -> DiscoveryMode.WALK;
+		case "gitignore" -> DiscoveryMode.GITIGNORE;
+		case "git-index" -> DiscoveryMode.GIT_INDEX;
+		default ->
+			throw new IllegalArgumentException("Unknown value for " + a + ": " + args[i + 1] + "\n\n" + usage);
+		};
+	}
+
 	/**
 	 *
 	 * @param a
@@ -211,6 +577,61 @@ final class CliArgs {
 			        Specify where to find input source files
 			  -d <directory>
 			        Specify where to place generated .puml files
+			  --parallel
+			        Use all available cores (same output as a sequential run)
+			  --structure-only
+			        Draw types, members, inheritance and associations only;
+			        skip dependencies and method bodies (faster)
+			  --api-surface
+			        Draw public types and their public or protected members only
+			  --discovery <walk|gitignore|git-index>
+			        Find source files by walking directories (default), by walking
+			        while honoring .gitignore files, or from the Git index
+			  --include <glob>
+			        Draw only packages matching glob (repeatable), e.g. com.acme.**
+			  --exclude <glob>
+			        Do not draw packages matching glob (repeatable)
+			  --subtypes-of <type>
+			        Draw only type and the types extending or implementing it,
+			        e.g. com.acme.PaymentGateway
+			  --focus <type>[,<type>...]
+			        Draw only the given types and their neighbors (repeatable),
+			        e.g. com.acme.OrderService
+			  --depth <n>
+			        With --focus, draw types up to n relationships away (default 1)
+			  --transitive-reduction
+			        Do not draw dependencies already implied through other types
+			  --cycles
+			        Mark types and packages in dependency cycles with <<cycle>>
+			        and list the cycles in cycles.tsv
+			  --partition-types <n>
+			        Split the diagram into parts of at most n types
+			        (class-diagram-1.puml, ...) indexed by class-diagram.puml
+			  --partition-edges <n>
+			        Split the diagram into parts of at most n edges
+			  --max-members <n>
+			        Draw at most n members in each type
+			  --max-edges <n>
+			        Draw at most n relationships, structural ones first
+			  --max-ghosts <n>
+			        Draw at most n external types
+			  --min-edge-weight <n>
+			        Draw only dependencies used at least n times
+			        (fields, parameters, casts, calls, ...)
+			  --drop-jdk
+			        Do not draw uses of JDK types (String, List, ...)
+			  --keep-external <glob>
+			        Draw only external types in packages matching glob
+			        (repeatable), e.g. com.acme.**
+			  --drop-external <glob>
+			        Do not draw external types in packages matching glob
+			        (repeatable), e.g. org.slf4j.**
+			  --packages
+			        Draw packages and weighted dependencies between them
+			        (package-diagram.puml) instead of types
+			  --package-depth <n>
+			        With --packages, collapse packages to their first n name
+			        segments, e.g. 2 draws com.acme.billing as com.acme
 
 			Defaults:
 
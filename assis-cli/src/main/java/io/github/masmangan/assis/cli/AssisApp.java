@@ -9,11 +9,11 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Properties;
-import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.github.masmangan.assis.GenerateClassDiagram;
+import io.github.masmangan.assis.io.DiscoveredSources;
 
 /**
  * The {@code AssisApp} class is the PlantUML diagram generator entry point.
@@ -78,9 +78,10 @@ public final class AssisApp {
 			return 0;
 		}
 
-		final Set<Path> sourceRoots;
+		final DiscoveredSources sourceRoots;
 		try {
-			sourceRoots = SourceLocator.resolve(cli.sourceRoots);
+			sourceRoots = SourceLocator.resolve(cli.sourceRoots, cli.options.getDiscoveryMode(),
+					cli.options.getPackageFilter());
 		} catch (Exception e) {
 			LOG.log(Level.SEVERE, () -> "Exception after resolve: " + e.getMessage());
 			return 2;
@@ -96,12 +97,12 @@ public final class AssisApp {
 			Files.createDirectories(outDir);
 
 			LOG.info(() -> "Generating diagrams from source roots:");
-			for (Path r : sourceRoots) {
+			for (Path r : sourceRoots.roots()) {
 				LOG.info(() -> "  - " + r);
 			}
 			LOG.info(() -> "Writing outputs to: " + outDir);
 
-			GenerateClassDiagram.generate(sourceRoots, outDir);
+			GenerateClassDiagram.generate(sourceRoots, outDir, cli.options);
 
 			return 0;
 		} catch (Exception e) {
@@ -13,7 +13,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
-import java.util.stream.Stream;
+
+import io.github.masmangan.assis.io.DiscoveredSources;
+import io.github.masmangan.assis.io.DiscoveryMode;
+import io.github.masmangan.assis.util.PackageFilter;
 
 /**
  *
@@ -46,26 +49,32 @@ final class SourceLocator {
 	private static final List<Path> CANDIDATES = List.of(MAVEN, SRC, DOT);
 
 	/**
-	 * Resolves source roots (directories only).
+	 * Resolves source roots (directories only) and discovers their Java files.
 	 *
 	 * If requested is not empty: - validates each directory exists and contains at
 	 * least one .java somewhere under it. - returns normalized absolute paths
 	 * (stable for downstream).
 	 *
 	 * Else: - auto-discovery chooses first of: src/main/java, src, . - returns
-	 * singleton set containing the chosen directory (normalized absolute).
+	 * the chosen directory (normalized absolute).
+	 *
+	 * Each root is discovered once, using mode, skipping hidden and tool
+	 * directories and files of packages not selected by filter; the result is
+	 * meant to be handed to the generator as is.
 	 */
-	static Set<Path> resolve(Set<Path> requested) throws IOException {
+	static DiscoveredSources resolve(Set<Path> requested, DiscoveryMode mode, PackageFilter filter)
+			throws IOException {
 
 		if (!requested.isEmpty()) {
-			return extractRequested(requested);
+			return extractRequested(requested, mode, filter);
 		}
 
-		return extractFirstDefault();
+		return extractFirstDefault(mode, filter);
 
 	}
 
-	private static Optional<Path> acceptCandidate(Path candidate) throws IOException {
+	private static Optional<DiscoveredSources> acceptCandidate(Path candidate, DiscoveryMode mode,
+			PackageFilter filter) throws IOException {
 		Path abs = candidate.toAbsolutePath().normalize();
 
 		LOG.info(() -> "Trying candidate directory: " + candidate);
@@ -76,22 +85,24 @@ final class SourceLocator {
 			return Optional.empty();
 		}
 
-		if (!containsJava(abs)) {
+		DiscoveredSources sources = DiscoveredSources.discover(Set.of(abs), mode, filter);
+		if (!sources.containsJava(abs)) {
 			LOG.info(() -> "No source code inside. Skipping: " + abs);
 			return Optional.empty();
 		}
 
-		return Optional.of(abs);
+		return Optional.of(sources);
 	}
 
-	private static Set<Path> extractFirstDefault() throws IOException {
+	private static DiscoveredSources extractFirstDefault(DiscoveryMode mode, PackageFilter filter)
+			throws IOException {
 		for (Path candidate : CANDIDATES) {
-			Optional<Path> ok = acceptCandidate(candidate);
+			Optional<DiscoveredSources> ok = acceptCandidate(candidate, mode, filter);
 			if (ok.isEmpty()) {
 				continue;
 			}
 
-			Path abs = ok.get();
+			Path abs = ok.get().roots().iterator().next();
 			LOG.info(() -> "Using source directory: " + abs);
 
 			if (candidate.equals(DOT)) {
@@ -100,7 +111,7 @@ final class SourceLocator {
 						+ "or use -sourcepath/--source-path to point to the desired folder.");
 			}
 
-			return Set.of(abs);
+			return ok.get();
 		}
 
 		LOG.severe("No Java source directory found. Tried: src/main/java, src, .");
@@ -110,10 +121,13 @@ final class SourceLocator {
 	/**
 	 *
 	 * @param requested
+	 * @param mode
+	 * @param filter
 	 * @return
 	 * @throws IOException
 	 */
-	private static Set<Path> extractRequested(Set<Path> requested) throws IOException {
+	private static DiscoveredSources extractRequested(Set<Path> requested, DiscoveryMode mode, PackageFilter filter)
+			throws IOException {
 		LinkedHashSet<Path> out = new LinkedHashSet<>();
 		for (Path dir : requested) {
 			if (dir == null) {
@@ -123,7 +137,7 @@ final class SourceLocator {
 			Path abs = dir.toAbsolutePath().normalize();
 			LOG.info(() -> "Using explicit source path (javac-like): " + abs);
 
-			validateHasJavaOrThrow(abs, /* isExplicit */ true);
+			validateDirectoryOrThrow(abs);
 			out.add(abs);
 		}
 
@@ -131,39 +145,28 @@ final class SourceLocator {
 			throw new IllegalArgumentException("No valid source directories provided.");
 		}
 
-		return out;
+		DiscoveredSources sources = DiscoveredSources.discover(out, mode, filter);
+		for (Path abs : out) {
+			if (!sources.containsJava(abs)) {
+				String what = filter.selectsAll() ? ".java files" : ".java files of included packages";
+				throw new IllegalArgumentException("No " + what + " found under -sourcepath/--source-path: " + abs);
+			}
+		}
+
+		return sources;
 	}
 
 	/**
 	 *
 	 * @param dir
-	 * @param isExplicit
-	 * @throws IOException
 	 */
-	private static void validateHasJavaOrThrow(Path dir, boolean isExplicit) throws IOException {
+	private static void validateDirectoryOrThrow(Path dir) {
 		if (!Files.exists(dir)) {
 			throw new IllegalArgumentException("Source path does not exist: " + dir);
 		}
 		if (!Files.isDirectory(dir)) {
 			throw new IllegalArgumentException("Source path is not a directory: " + dir);
 		}
-		if (!containsJava(dir)) {
-			String hint = isExplicit ? "No .java files found under -sourcepath/--source-path: " + dir
-					: "No .java files found under: " + dir;
-			throw new IllegalArgumentException(hint);
-		}
-	}
-
-	/**
-	 *
-	 * @param dir
-	 * @return
-	 * @throws IOException
-	 */
-	private static boolean containsJava(Path dir) throws IOException {
-		try (Stream<Path> walk = Files.walk(dir)) {
-			return walk.anyMatch(p -> p.toString().endsWith(".java"));
-		}
 	}
 
 	/**
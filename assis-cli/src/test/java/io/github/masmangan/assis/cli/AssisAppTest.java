@@ -8,6 +8,7 @@ package io.github.masmangan.assis.cli;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -159,6 +160,247 @@ class AssisAppTest {
 				"Expected diagram to mention World (composite sourcepath). Content:\n" + puml);
 	}
 
+	@Test
+	void generatesDiagramInParallel() throws Exception {
+		Path sourcePath = tempDir.resolve("src");
+		Files.createDirectories(sourcePath);
+
+		Files.writeString(sourcePath.resolve("Hello.java"), """
+				public class Hello {
+				}
+				""", UTF_8);
+
+		Path out = tempDir.resolve("anotherdoc");
+
+		int code = AssisApp
+				.run(new String[] { "--parallel", "-sourcepath", sourcePath.toString(), "-d", out.toString() });
+
+		assertEquals(0, code);
+
+		String puml = Files.readString(out.resolve(PUML_FILE), UTF_8);
+		assertTrue(puml.contains("\"Hello\""), "Expected diagram to mention Hello. Content:\n" + puml);
+	}
+
+	@Test
+	void generatesStructureOnlyDiagram() throws Exception {
+		Path sourcePath = tempDir.resolve("src");
+		Files.createDirectories(sourcePath);
+
+		Files.writeString(sourcePath.resolve("Hello.java"), """
+				public class Hello {
+					void greet(World w) {
+						System.out.println(w);
+					}
+				}
+				""", UTF_8);
+		Files.writeString(sourcePath.resolve("World.java"), """
+				public class World {
+				}
+				""", UTF_8);
+
+		Path out = tempDir.resolve("anotherdoc");
+
+		int code = AssisApp
+				.run(new String[] { "--structure-only", "-sourcepath", sourcePath.toString(), "-d", out.toString() });
+
+		assertEquals(0, code);
+
+		String puml = Files.readString(out.resolve(PUML_FILE), UTF_8);
+		assertTrue(puml.contains("greet"), "Expected diagram to list greet. Content:\n" + puml);
+		assertFalse(puml.contains("..>"), "Expected no dependencies. Content:\n" + puml);
+	}
+
+	@Test
+	void generatesDiagramHonoringGitIgnore() throws Exception {
+		Path sourcePath = tempDir.resolve("src");
+		Files.createDirectories(sourcePath.resolve("gen"));
+
+		Files.writeString(sourcePath.resolve(".gitignore"), "gen/\n", UTF_8);
+		Files.writeString(sourcePath.resolve("Hello.java"), """
+				public class Hello {
+				}
+				""", UTF_8);
+		Files.writeString(sourcePath.resolve("gen/Generated.java"), """
+				public class Generated {
+				}
+				""", UTF_8);
+
+		Path out = tempDir.resolve("anotherdoc");
+
+		int code = AssisApp.run(new String[] { "--discovery", "gitignore", "-sourcepath", sourcePath.toString(), "-d",
+				out.toString() });
+
+		assertEquals(0, code);
+
+		String puml = Files.readString(out.resolve(PUML_FILE), UTF_8);
+		assertTrue(puml.contains("\"Hello\""), "Expected diagram to mention Hello. Content:\n" + puml);
+		assertFalse(puml.contains("Generated"), "Expected ignored sources to be skipped. Content:\n" + puml);
+	}
+
+	@Test
+	void generatesDiagramOfIncludedPackagesOnly() throws Exception {
+		Path sourcePath = tempDir.resolve("src");
+		Files.createDirectories(sourcePath.resolve("app/core"));
+		Files.createDirectories(sourcePath.resolve("app/web"));
+
+		Files.writeString(sourcePath.resolve("app/core/Engine.java"), """
+				package app.core;
+				public class Engine {
+				}
+				""", UTF_8);
+		Files.writeString(sourcePath.resolve("app/web/Page.java"), """
+				package app.web;
+				public class Page {
+				}
+				""", UTF_8);
+
+		Path out = tempDir.resolve("anotherdoc");
+
+		int code = AssisApp.run(new String[] { "--include", "app.**", "--exclude", "app.web", "-sourcepath",
+				sourcePath.toString(), "-d", out.toString() });
+
+		assertEquals(0, code);
+
+		String puml = Files.readString(out.resolve(PUML_FILE), UTF_8);
+		assertTrue(puml.contains("\"app.core.Engine\""), "Expected diagram to mention Engine. Content:\n" + puml);
+		assertFalse(puml.contains("Page"), "Expected excluded packages to be skipped. Content:\n" + puml);
+	}
+
+	@Test
+	void generatesDiagramOfSubtypesOnly() throws Exception {
+		Path sourcePath = tempDir.resolve("src");
+		Files.createDirectories(sourcePath.resolve("pay"));
+
+		Files.writeString(sourcePath.resolve("pay/PaymentGateway.java"), """
+				package pay;
+				public interface PaymentGateway {
+				}
+				""", UTF_8);
+		Files.writeString(sourcePath.resolve("pay/CardGateway.java"), """
+				package pay;
+				public class CardGateway implements PaymentGateway {
+				}
+				""", UTF_8);
+		Files.writeString(sourcePath.resolve("pay/Ledger.java"), """
+				package pay;
+				public class Ledger {
+				}
+				""", UTF_8);
+
+		Path out = tempDir.resolve("anotherdoc");
+
+		int code = AssisApp.run(new String[] { "--subtypes-of", "pay.PaymentGateway", "-sourcepath",
+				sourcePath.toString(), "-d", out.toString() });
+
+		assertEquals(0, code);
+
+		String puml = Files.readString(out.resolve(PUML_FILE), UTF_8);
+		assertTrue(puml.contains("\"pay.CardGateway\" ..|> \"pay.PaymentGateway\""),
+				"Expected diagram to draw the implementation. Content:\n" + puml);
+		assertFalse(puml.contains("Ledger"), "Expected unrelated types to be skipped. Content:\n" + puml);
+	}
+
+	@Test
+	void generatesDiagramOfFocusNeighborhood() throws Exception {
+		Path sourcePath = tempDir.resolve("src");
+		Files.createDirectories(sourcePath.resolve("shop"));
+
+		Files.writeString(sourcePath.resolve("shop/OrderService.java"), """
+				package shop;
+				public class OrderService {
+					private Repository repository;
+				}
+				""", UTF_8);
+		Files.writeString(sourcePath.resolve("shop/Repository.java"), """
+				package shop;
+				public class Repository {
+					private Database database;
+				}
+				""", UTF_8);
+		Files.writeString(sourcePath.resolve("shop/Database.java"), """
+				package shop;
+				public class Database {
+				}
+				""", UTF_8);
+
+		Path out = tempDir.resolve("anotherdoc");
+
+		int code = AssisApp.run(new String[] { "--focus", "shop.OrderService", "--depth", "1", "-sourcepath",
+				sourcePath.toString(), "-d", out.toString() });
+
+		assertEquals(0, code);
+
+		String puml = Files.readString(out.resolve(PUML_FILE), UTF_8);
+		assertTrue(puml.contains("\"shop.OrderService\" ---> \"repository\" \"shop.Repository\""),
+				"Expected diagram to draw the neighbor. Content:\n" + puml);
+		assertFalse(puml.contains("class \"shop.Database\""), "Expected types two hops away to be skipped. Content:\n" + puml);
+	}
+
+	@Test
+	void negativeDepthIsRejected() {
+		assertEquals(1, AssisApp.run(new String[] { "--focus", "shop.OrderService", "--depth", "-1" }));
+	}
+
+	@Test
+	void generatesPackageDiagram() throws Exception {
+		Path sourcePath = tempDir.resolve("src");
+		Files.createDirectories(sourcePath.resolve("app/web"));
+		Files.createDirectories(sourcePath.resolve("app/core"));
+
+		Files.writeString(sourcePath.resolve("app/web/Controller.java"), """
+				package app.web;
+				public class Controller {
+					private app.core.Engine engine;
+				}
+				""", UTF_8);
+		Files.writeString(sourcePath.resolve("app/core/Engine.java"), """
+				package app.core;
+				public class Engine {
+				}
+				""", UTF_8);
+
+		Path out = tempDir.resolve("anotherdoc");
+
+		int code = AssisApp.run(new String[] { "--packages", "--package-depth", "2", "-sourcepath",
+				sourcePath.toString(), "-d", out.toString() });
+
+		assertEquals(0, code);
+
+		String puml = Files.readString(out.resolve("package-diagram.puml"), UTF_8);
+		assertTrue(puml.contains("\"app.web\" ..> \"app.core\" : 1"),
+				"Expected diagram to draw the package dependency. Content:\n" + puml);
+	}
+
+	@Test
+	void negativePackageDepthIsRejected() {
+		assertEquals(1, AssisApp.run(new String[] { "--packages", "--package-depth", "-1" }));
+	}
+
+	@Test
+	void sourcepathWithJavaOnlyInSkippedDirectoriesIsRejected() throws Exception {
+		Path sourcePath = tempDir.resolve("src");
+		Files.createDirectories(sourcePath.resolve("target"));
+		Files.createDirectories(sourcePath.resolve("node_modules/pkg"));
+
+		Files.writeString(sourcePath.resolve("target/Generated.java"), """
+				public class Generated {
+				}
+				""", UTF_8);
+		Files.writeString(sourcePath.resolve("node_modules/pkg/Vendored.java"), """
+				public class Vendored {
+				}
+				""", UTF_8);
+
+		try (var logs = new JulLogCaptor(AssisApp.class)) {
+			int code = AssisApp.run(
+					new String[] { "-sourcepath", sourcePath.toString(), "-d", tempDir.resolve("out").toString() });
+
+			assertEquals(2, code, "Expected source resolution to fail.\nLogs:\n" + logs.dump());
+			assertTrue(logs.any(Level.SEVERE, "No .java files found"),
+					"Expected a SEVERE message about missing sources.\nLogs:\n" + logs.dump());
+		}
+	}
+
 	@Test
 	void invalidArgumentReturnsNonZero() {
 		try (var logs = new JulLogCaptor(AssisApp.class)) {
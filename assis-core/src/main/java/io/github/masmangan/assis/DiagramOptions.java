@@ -0,0 +1,630 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.masmangan.assis.io.DiscoveryMode;
+import io.github.masmangan.assis.util.PackageFilter;
+
+/**
+ * Options controlling a class diagram generation.
+ *
+ * <p>
+ * Setters return {@code this}, so options can be chained:
+ *
+ * <pre>{@code
+ * DiagramOptions options = new DiagramOptions().setParallel(true);
+ * }</pre>
+ *
+ * <p>
+ * Default options reproduce the classic single-threaded generation. Options
+ * never change the generated diagram unless documented otherwise.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+public final class DiagramOptions {
+
+	private boolean parallel;
+
+	private boolean structureOnly;
+
+	private boolean apiSurface;
+
+	private DiscoveryMode discoveryMode = DiscoveryMode.WALK;
+
+	private PackageFilter packageFilter = PackageFilter.ALL;
+
+	private String subtypesOf;
+
+	private List<String> focus = List.of();
+
+	private int depth = 1;
+
+	private boolean packageDiagram;
+
+	private int packageDepth;
+
+	private boolean transitiveReduction;
+
+	private boolean cycles;
+
+	private int partitionTypes;
+
+	private int partitionEdges;
+
+	private int maxMembers;
+
+	private int maxEdges;
+
+	private int maxGhosts;
+
+	private boolean dropJdkTypes;
+
+	private PackageFilter externalTypeFilter = PackageFilter.ALL;
+
+	private int minEdgeWeight;
+
+	/**
+	 * Creates default options.
+	 */
+	public DiagramOptions() {
+	}
+
+	/**
+	 * Returns whether generation phases may use all available cores.
+	 *
+	 * @return {@code true} if parallel generation is enabled
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Enables or disables parallel generation.
+	 *
+	 * <p>
+	 * Parallel generation produces exactly the same output as sequential
+	 * generation.
+	 *
+	 * @param parallel {@code true} to use all available cores
+	 * @return this options instance
+	 */
+	public DiagramOptions setParallel(final boolean parallel) {
+		this.parallel = parallel;
+		return this;
+	}
+
+	/**
+	 * Returns whether only structure is drawn: types, members, inheritance,
+	 * nesting and associations, but no dependencies.
+	 *
+	 * @return {@code true} if dependencies are skipped
+	 */
+	public boolean isStructureOnly() {
+		return structureOnly;
+	}
+
+	/**
+	 * Enables or disables structure-only generation.
+	 *
+	 * <p>
+	 * Structure-only generation never collects dependency ({@code ..>}) edges, so
+	 * method, constructor and initializer bodies are not parsed at all. The
+	 * diagram is otherwise the same.
+	 *
+	 * @param structureOnly {@code true} to skip dependencies
+	 * @return this options instance
+	 */
+	public DiagramOptions setStructureOnly(final boolean structureOnly) {
+		this.structureOnly = structureOnly;
+		return this;
+	}
+
+	/**
+	 * Returns whether only the exported API is drawn.
+	 *
+	 * @return {@code true} if non-public types and private or package-private
+	 *         members are left out
+	 */
+	public boolean isApiSurface() {
+		return apiSurface;
+	}
+
+	/**
+	 * Enables or disables API-surface generation.
+	 *
+	 * <p>
+	 * API-surface generation keeps public types and their public or protected
+	 * members only (see {@link io.github.masmangan.assis.internal.ApiSurface}).
+	 * Everything else is dropped right after parsing, so it is neither resolved
+	 * nor drawn, and relationships it would imply disappear too.
+	 *
+	 * @param apiSurface {@code true} to draw the exported API only
+	 * @return this options instance
+	 */
+	public DiagramOptions setApiSurface(final boolean apiSurface) {
+		this.apiSurface = apiSurface;
+		return this;
+	}
+
+	/**
+	 * Returns how Java files are found under the source roots.
+	 *
+	 * @return the discovery mode; {@link DiscoveryMode#WALK} by default
+	 */
+	public DiscoveryMode getDiscoveryMode() {
+		return discoveryMode;
+	}
+
+	/**
+	 * Sets how Java files are found under the source roots.
+	 *
+	 * <p>
+	 * Modes other than {@link DiscoveryMode#WALK} may find fewer files, and so
+	 * change the generated diagram. Ignored when generating from
+	 * {@link io.github.masmangan.assis.io.DiscoveredSources}, which are already
+	 * discovered.
+	 *
+	 * @param discoveryMode the discovery mode; must not be {@code null}
+	 * @return this options instance
+	 */
+	public DiagramOptions setDiscoveryMode(final DiscoveryMode discoveryMode) {
+		this.discoveryMode = Objects.requireNonNull(discoveryMode, "discoveryMode");
+		return this;
+	}
+
+	/**
+	 * Returns which packages are drawn.
+	 *
+	 * @return the package filter; {@link PackageFilter#ALL} by default
+	 */
+	public PackageFilter getPackageFilter() {
+		return packageFilter;
+	}
+
+	/**
+	 * Sets which packages are drawn.
+	 *
+	 * <p>
+	 * Files of other packages are not parsed; their top-level types are still
+	 * recognized as (external) relationship targets. Ignored when generating from
+	 * {@link io.github.masmangan.assis.io.DiscoveredSources}, which are already
+	 * filtered.
+	 *
+	 * @param packageFilter the package filter; must not be {@code null}
+	 * @return this options instance
+	 */
+	public DiagramOptions setPackageFilter(final PackageFilter packageFilter) {
+		this.packageFilter = Objects.requireNonNull(packageFilter, "packageFilter");
+		return this;
+	}
+
+	/**
+	 * Returns the type whose subtypes are drawn.
+	 *
+	 * @return a type FQN, or {@code null} to draw every type (the default)
+	 */
+	public String getSubtypesOf() {
+		return subtypesOf;
+	}
+
+	/**
+	 * Draws only a type and every type that extends or implements it, directly
+	 * or not, e.g. all implementations of {@code com.acme.PaymentGateway}.
+	 *
+	 * <p>
+	 * The type may be external, such as {@code java.lang.Runnable}; then only its
+	 * declared subtypes are drawn. Nested types use {@code $}, as in
+	 * {@code com.acme.Outer$Inner}. Relationships to declared types left out are
+	 * dropped; relationships to external types are kept.
+	 *
+	 * @param subtypesOf a type FQN, or {@code null} to draw every type
+	 * @return this options instance
+	 */
+	public DiagramOptions setSubtypesOf(final String subtypesOf) {
+		this.subtypesOf = subtypesOf;
+		return this;
+	}
+
+	/**
+	 * Returns the types whose neighborhood is drawn.
+	 *
+	 * @return type FQNs; empty to draw every type (the default)
+	 */
+	public List<String> getFocus() {
+		return focus;
+	}
+
+	/**
+	 * Draws only the given types and the types at most {@link #getDepth()}
+	 * relationships away from them, following relationships in either direction,
+	 * e.g. {@code com.acme.OrderService} and its collaborators.
+	 *
+	 * <p>
+	 * Every kind of relationship counts as one hop. External types end a path:
+	 * two types implementing {@code java.io.Serializable} are not neighbors
+	 * through it, unless it is itself a focus type. Relationships to declared types
+	 * left out are dropped; relationships to external types are kept. When
+	 * {@link #getSubtypesOf()} is also set, only types satisfying both are drawn.
+	 *
+	 * @param focus type FQNs, nested types using {@code $}; must not be
+	 *              {@code null}, empty to draw every type
+	 * @return this options instance
+	 */
+	public DiagramOptions setFocus(final Collection<String> focus) {
+		this.focus = List.copyOf(focus);
+		return this;
+	}
+
+	/**
+	 * Returns how many relationships away from a focus type a type may be.
+	 *
+	 * @return the focus depth; {@code 1} by default
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Sets how many relationships away from a focus type a type may be. Ignored
+	 * unless {@link #setFocus(Collection)} is used.
+	 *
+	 * @param depth the focus depth; {@code 0} draws the focus types alone
+	 * @return this options instance
+	 * @throws IllegalArgumentException if {@code depth} is negative
+	 */
+	public DiagramOptions setDepth(final int depth) {
+		if (depth < 0) {
+			throw new IllegalArgumentException("depth must not be negative: " + depth);
+		}
+		this.depth = depth;
+		return this;
+	}
+
+	/**
+	 * Returns whether a package diagram is drawn instead of a class diagram.
+	 *
+	 * @return {@code true} if packages and their dependencies are drawn
+	 */
+	public boolean isPackageDiagram() {
+		return packageDiagram;
+	}
+
+	/**
+	 * Draws packages and the dependencies between them instead of types, in
+	 * {@code package-diagram.puml}.
+	 *
+	 * <p>
+	 * Each edge is labeled with the number of relationships between the types of
+	 * the two packages. Relationships to external types are not counted. The
+	 * other options still select the types taken into account.
+	 *
+	 * @param packageDiagram {@code true} to draw a package diagram
+	 * @return this options instance
+	 */
+	public DiagramOptions setPackageDiagram(final boolean packageDiagram) {
+		this.packageDiagram = packageDiagram;
+		return this;
+	}
+
+	/**
+	 * Returns how many name segments a package keeps in a package diagram.
+	 *
+	 * @return the package depth; {@code 0} (full names) by default
+	 */
+	public int getPackageDepth() {
+		return packageDepth;
+	}
+
+	/**
+	 * Collapses packages to their first name segments in a package diagram, e.g.
+	 * depth 2 draws {@code com.acme.billing.api} as {@code com.acme}. Ignored
+	 * unless {@link #setPackageDiagram(boolean)} is used.
+	 *
+	 * @param packageDepth the package depth; {@code 0} keeps full names
+	 * @return this options instance
+	 * @throws IllegalArgumentException if {@code packageDepth} is negative
+	 */
+	public DiagramOptions setPackageDepth(final int packageDepth) {
+		if (packageDepth < 0) {
+			throw new IllegalArgumentException("packageDepth must not be negative: " + packageDepth);
+		}
+		this.packageDepth = packageDepth;
+		return this;
+	}
+
+	/**
+	 * Returns whether implied dependencies are left out.
+	 *
+	 * @return {@code true} if transitive reduction is enabled
+	 */
+	public boolean isTransitiveReduction() {
+		return transitiveReduction;
+	}
+
+	/**
+	 * Enables or disables the transitive reduction of dependencies.
+	 *
+	 * <p>
+	 * A dependency ({@code ..>}) is left out when its target can also be reached
+	 * through other drawn types, e.g. {@code A ..> C} next to
+	 * {@code A ---> B ..> C}. Other relationships are always drawn. Cycles are
+	 * supported; dependencies inside a cycle are kept. The number of dependencies
+	 * left out is written as a comment. Ignored for package diagrams.
+	 *
+	 * @param transitiveReduction {@code true} to leave out implied dependencies
+	 * @return this options instance
+	 */
+	public DiagramOptions setTransitiveReduction(final boolean transitiveReduction) {
+		this.transitiveReduction = transitiveReduction;
+		return this;
+	}
+
+	/**
+	 * Returns whether dependency cycles are reported.
+	 *
+	 * @return {@code true} if cycle detection is enabled
+	 */
+	public boolean isCycles() {
+		return cycles;
+	}
+
+	/**
+	 * Enables or disables cycle detection.
+	 *
+	 * <p>
+	 * Types, and packages in package diagrams, that are part of a dependency
+	 * cycle are drawn with a {@code <<cycle>>} stereotype, and every type and
+	 * package cycle is listed in {@code cycles.tsv}, next to the diagram. Cycles
+	 * are found among the drawn types, over the relationships the diagram is made
+	 * of; nesting does not count.
+	 *
+	 * @param cycles {@code true} to report cycles
+	 * @return this options instance
+	 */
+	public DiagramOptions setCycles(final boolean cycles) {
+		this.cycles = cycles;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum number of types of each part of a split diagram.
+	 *
+	 * @return the type budget; {@code 0} (no limit) by default
+	 */
+	public int getPartitionTypes() {
+		return partitionTypes;
+	}
+
+	/**
+	 * Splits the class diagram into parts of at most {@code partitionTypes}
+	 * types.
+	 *
+	 * <p>
+	 * Each part is written as {@code class-diagram-1.puml},
+	 * {@code class-diagram-2.puml} and so on, and {@code class-diagram.puml}
+	 * becomes an index of the parts, with the number of edges between them. Parts
+	 * follow package boundaries where they can. Edges between types of different
+	 * parts are only counted in the index. Ignored for package diagrams.
+	 *
+	 * @param partitionTypes the type budget; {@code 0} for no limit
+	 * @return this options instance
+	 * @throws IllegalArgumentException if {@code partitionTypes} is negative
+	 */
+	public DiagramOptions setPartitionTypes(final int partitionTypes) {
+		if (partitionTypes < 0) {
+			throw new IllegalArgumentException("partitionTypes must not be negative: " + partitionTypes);
+		}
+		this.partitionTypes = partitionTypes;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum number of edges of each part of a split diagram.
+	 *
+	 * @return the edge budget; {@code 0} (no limit) by default
+	 */
+	public int getPartitionEdges() {
+		return partitionEdges;
+	}
+
+	/**
+	 * Splits the class diagram into parts whose types have at most
+	 * {@code partitionEdges} edges, as {@link #setPartitionTypes(int)} does. A
+	 * type with more edges gets a part of its own.
+	 *
+	 * @param partitionEdges the edge budget; {@code 0} for no limit
+	 * @return this options instance
+	 * @throws IllegalArgumentException if {@code partitionEdges} is negative
+	 */
+	public DiagramOptions setPartitionEdges(final int partitionEdges) {
+		if (partitionEdges < 0) {
+			throw new IllegalArgumentException("partitionEdges must not be negative: " + partitionEdges);
+		}
+		this.partitionEdges = partitionEdges;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum number of members drawn in each type block.
+	 *
+	 * @return the member budget; {@code 0} (no limit) by default
+	 */
+	public int getMaxMembers() {
+		return maxMembers;
+	}
+
+	/**
+	 * Draws at most {@code maxMembers} members in each type block.
+	 *
+	 * <p>
+	 * Members are kept in drawing order: record components and enum constants,
+	 * then fields, constructors and methods. The number of members left out is
+	 * written as a comment in the block.
+	 *
+	 * @param maxMembers the member budget; {@code 0} for no limit
+	 * @return this options instance
+	 * @throws IllegalArgumentException if {@code maxMembers} is negative
+	 */
+	public DiagramOptions setMaxMembers(final int maxMembers) {
+		if (maxMembers < 0) {
+			throw new IllegalArgumentException("maxMembers must not be negative: " + maxMembers);
+		}
+		this.maxMembers = maxMembers;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum number of relationships drawn in a class diagram.
+	 *
+	 * @return the edge budget; {@code 0} (no limit) by default
+	 */
+	public int getMaxEdges() {
+		return maxEdges;
+	}
+
+	/**
+	 * Draws at most {@code maxEdges} relationships in a class diagram.
+	 *
+	 * <p>
+	 * Inheritance, nesting and associations are kept before dependencies, and
+	 * edges to declared types before edges to external types; ties keep drawing
+	 * order. The number of edges left out is written as a comment. With
+	 * {@link #setPartitionTypes(int)} the budget applies to each part.
+	 *
+	 * @param maxEdges the edge budget; {@code 0} for no limit
+	 * @return this options instance
+	 * @throws IllegalArgumentException if {@code maxEdges} is negative
+	 */
+	public DiagramOptions setMaxEdges(final int maxEdges) {
+		if (maxEdges < 0) {
+			throw new IllegalArgumentException("maxEdges must not be negative: " + maxEdges);
+		}
+		this.maxEdges = maxEdges;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum number of external types drawn in a class diagram.
+	 *
+	 * @return the external type budget; {@code 0} (no limit) by default
+	 */
+	public int getMaxGhosts() {
+		return maxGhosts;
+	}
+
+	/**
+	 * Draws at most {@code maxGhosts} external (ghost) types in a class diagram,
+	 * the types that are used but not declared in the sources.
+	 *
+	 * <p>
+	 * External types are kept in the order their first edge is drawn, with the
+	 * same priorities as {@link #setMaxEdges(int)}; edges to the others are left
+	 * out, and both counts are written as a comment.
+	 *
+	 * @param maxGhosts the external type budget; {@code 0} for no limit
+	 * @return this options instance
+	 * @throws IllegalArgumentException if {@code maxGhosts} is negative
+	 */
+	public DiagramOptions setMaxGhosts(final int maxGhosts) {
+		if (maxGhosts < 0) {
+			throw new IllegalArgumentException("maxGhosts must not be negative: " + maxGhosts);
+		}
+		this.maxGhosts = maxGhosts;
+		return this;
+	}
+
+	/**
+	 * Returns whether uses of JDK types are left out.
+	 *
+	 * @return {@code true} if JDK types are not drawn; {@code false} by default
+	 */
+	public boolean isDropJdkTypes() {
+		return dropJdkTypes;
+	}
+
+	/**
+	 * Leaves out uses of JDK types, such as {@code String}, {@code List} or
+	 * {@code java.util.logging.Logger}: no edge is drawn to them.
+	 *
+	 * <p>
+	 * Where a use can be told to be a JDK type from the imports of its file, it
+	 * is not resolved either, which saves solver time. Fields of such types stay
+	 * member lines.
+	 *
+	 * @param dropJdkTypes {@code true} to leave out JDK types
+	 * @return this options instance
+	 */
+	public DiagramOptions setDropJdkTypes(final boolean dropJdkTypes) {
+		this.dropJdkTypes = dropJdkTypes;
+		return this;
+	}
+
+	/**
+	 * Returns which packages of external types are drawn.
+	 *
+	 * @return the external type filter; {@link PackageFilter#ALL} by default
+	 */
+	public PackageFilter getExternalTypeFilter() {
+		return externalTypeFilter;
+	}
+
+	/**
+	 * Sets which external types, types used but not declared in the sources, are
+	 * drawn, by package: include globs keep only the matching packages, exclude
+	 * globs drop them, e.g. {@code org.slf4j.**}.
+	 *
+	 * <p>
+	 * As with {@link #setDropJdkTypes(boolean)}, uses left out are not resolved
+	 * when their package can be told from the imports of their file. Declared
+	 * types are never left out by this filter.
+	 *
+	 * @param externalTypeFilter the external type filter; must not be
+	 *                           {@code null}
+	 * @return this options instance
+	 */
+	public DiagramOptions setExternalTypeFilter(final PackageFilter externalTypeFilter) {
+		this.externalTypeFilter = Objects.requireNonNull(externalTypeFilter, "externalTypeFilter");
+		return this;
+	}
+
+	/**
+	 * Returns the minimum number of uses of a drawn dependency.
+	 *
+	 * @return the minimum edge weight; {@code 0} (draw all) by default
+	 */
+	public int getMinEdgeWeight() {
+		return minEdgeWeight;
+	}
+
+	/**
+	 * Draws only dependencies produced by at least {@code minEdgeWeight} uses:
+	 * fields, parameters, return and thrown types, casts, {@code instanceof}
+	 * tests, class literals and calls of one type naming the other. Inheritance,
+	 * nesting and associations are always drawn.
+	 *
+	 * <p>
+	 * Weak dependencies are left out before anything else looks at the
+	 * relationships, so cycles, focus and package diagrams see the same edges.
+	 *
+	 * @param minEdgeWeight the minimum edge weight; {@code 0} or {@code 1} to
+	 *                      draw all
+	 * @return this options instance
+	 * @throws IllegalArgumentException if {@code minEdgeWeight} is negative
+	 */
+	public DiagramOptions setMinEdgeWeight(final int minEdgeWeight) {
+		if (minEdgeWeight < 0) {
+			throw new IllegalArgumentException("minEdgeWeight must not be negative: " + minEdgeWeight);
+		}
+		this.minEdgeWeight = minEdgeWeight;
+		return this;
+	}
+
+}
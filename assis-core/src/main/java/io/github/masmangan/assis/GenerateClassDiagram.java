@@ -11,16 +11,21 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.github.javaparser.ast.CompilationUnit;
 
+import io.github.masmangan.assis.internal.ApiSurface;
 import io.github.masmangan.assis.internal.ClassDiagramGeneration;
 import io.github.masmangan.assis.internal.Dashboard;
 import io.github.masmangan.assis.internal.DeclaredIndex;
+import io.github.masmangan.assis.io.DiscoveredSources;
+import io.github.masmangan.assis.io.DiscoveryMode;
 import io.github.masmangan.assis.io.SmartSourceRootManager;
 import io.github.masmangan.assis.util.DeterministicPathList;
+import io.github.masmangan.assis.util.PackageFilter;
 
 /**
  * Generates a PlantUML class diagram from one or more Java source roots.
@@ -50,6 +55,8 @@ public class GenerateClassDiagram {
 
 	private static final String CLASS_DIAGRAM_PUML = "class-diagram.puml";
 
+	private static final String PACKAGE_DIAGRAM_PUML = "package-diagram.puml";
+
 	private static final Logger logger = Logger.getLogger(GenerateClassDiagram.class.getName());
 
 	/*
@@ -68,8 +75,9 @@ public class GenerateClassDiagram {
 	 *
 	 * <p>
 	 * If {@code outDir} exists and is a directory, the output file name is fixed as
-	 * {@code class-diagram.puml} within that directory. Otherwise, output directory
-	 * is created; file paths rejected.
+	 * {@code class-diagram.puml} within that directory ({@code package-diagram.puml}
+	 * when {@link DiagramOptions#isPackageDiagram()} is set). Otherwise, output
+	 * directory is created; file paths rejected.
 	 *
 	 * @param sourceRoots one or more Java source roots; must not be {@code null} or
 	 *                    empty
@@ -87,28 +95,158 @@ public class GenerateClassDiagram {
 	 *                                  or writing the output file
 	 */
 	public static void generate(final Set<Path> sourceRoots, final Path outDir) throws IOException {
+		generate(sourceRoots, outDir, new DiagramOptions());
+	}
+
+	/**
+	 * Generates a PlantUML class diagram from the given Java source roots, using
+	 * the given options.
+	 *
+	 * @param sourceRoots one or more Java source roots; must not be {@code null} or
+	 *                    empty
+	 *
+	 * @param outDir      output directory; must not be {@code null}; if it exists,
+	 *                    it must be a directory
+	 *
+	 * @param options     generation options; must not be {@code null}
+	 *
+	 * @throws NullPointerException     if any argument is {@code null}
+	 *
+	 * @throws IllegalArgumentException if {@code outDir} exists and is not a
+	 *                                  directory; if sourceRoots is empty
+	 *
+	 * @throws IOException              if an I/O error occurs while reading sources
+	 *                                  or writing the output file
+	 *
+	 * @see #generate(Set, Path)
+	 */
+	public static void generate(final Set<Path> sourceRoots, final Path outDir, final DiagramOptions options)
+			throws IOException {
 		Objects.requireNonNull(sourceRoots, "sourceRoots");
 		Objects.requireNonNull(outDir, "outDir");
+		Objects.requireNonNull(options, "options");
+
+		if (options.getDiscoveryMode() != DiscoveryMode.WALK || !options.getPackageFilter().selectsAll()) {
+			generate(DiscoveredSources.discover(sourceRoots, options.getDiscoveryMode(), options.getPackageFilter()),
+					outDir, options);
+			return;
+		}
+
+		Path outputFile = prepareOutputFile(outDir, options);
 
+		DeterministicPathList sortedSourceRoots = DeterministicPathList.fromSourceRoots(sourceRoots);
+		SmartSourceRootManager ssrt = newManager(options);
+
+		DeclaredIndex index = newIndex();
+		try {
+			if (options.isParallel()) {
+				DeclaredIndex.ConcurrentFill fill = index.concurrentFill();
+				fill.complete(
+						ssrt.autoscan(sortedSourceRoots, ForkJoinPool.getCommonPoolParallelism(), (unit, sequence) -> {
+							prepare(unit, options);
+							fill.accept(sequence, unit);
+						}));
+			} else {
+				List<CompilationUnit> units = ssrt.autoscan(sortedSourceRoots);
+				units.forEach(unit -> prepare(unit, options));
+				index.fill(units);
+			}
+
+			write(outputFile, index, options);
+		} finally {
+			ssrt.releaseSymbolSolvers();
+		}
+	}
+
+	/**
+	 * Generates a PlantUML class diagram from Java files that were already
+	 * discovered, for example while validating source roots; source roots are not
+	 * walked again.
+	 *
+	 * @param sources discovered source roots and files; must not be {@code null}
+	 *
+	 * @param outDir  output directory; must not be {@code null}; if it exists, it
+	 *                must be a directory
+	 *
+	 * @param options generation options; must not be {@code null}
+	 *
+	 * @throws NullPointerException     if any argument is {@code null}
+	 *
+	 * @throws IllegalArgumentException if {@code outDir} exists and is not a
+	 *                                  directory
+	 *
+	 * @throws IOException              if an I/O error occurs while reading sources
+	 *                                  or writing the output file
+	 *
+	 * @see DiscoveredSources#discover(Set, DiscoveryMode, PackageFilter)
+	 * @since 0.9.5
+	 */
+	public static void generate(final DiscoveredSources sources, final Path outDir, final DiagramOptions options)
+			throws IOException {
+		Objects.requireNonNull(sources, "sources");
+		Objects.requireNonNull(outDir, "outDir");
+		Objects.requireNonNull(options, "options");
+
+		Path outputFile = prepareOutputFile(outDir, options);
+
+		SmartSourceRootManager ssrt = newManager(options);
+
+		DeclaredIndex index = newIndex();
+		index.declareOnly(sources.declarationOnlyTypes());
+		try {
+			if (options.isParallel()) {
+				DeclaredIndex.ConcurrentFill fill = index.concurrentFill();
+				fill.complete(ssrt.autoscan(sources, ForkJoinPool.getCommonPoolParallelism(), (unit, sequence) -> {
+					prepare(unit, options);
+					fill.accept(sequence, unit);
+				}));
+			} else {
+				List<CompilationUnit> units = ssrt.autoscan(sources);
+				units.forEach(unit -> prepare(unit, options));
+				index.fill(units);
+			}
+
+			write(outputFile, index, options);
+		} finally {
+			ssrt.releaseSymbolSolvers();
+		}
+	}
+
+	private static Path prepareOutputFile(final Path outDir, final DiagramOptions options) throws IOException {
 		Path dir = outDir.toAbsolutePath().normalize();
 		if (Files.exists(dir) && !Files.isDirectory(dir)) {
 			throw new IllegalArgumentException("outDir must be a directory: " + dir);
 		}
 		Files.createDirectories(dir);
-		Path outputFile = dir.resolve(CLASS_DIAGRAM_PUML);
+		Path outputFile = dir.resolve(options.isPackageDiagram() ? PACKAGE_DIAGRAM_PUML : CLASS_DIAGRAM_PUML);
 		logger.log(Level.INFO, () -> "Generating " + outputFile + "...");
+		return outputFile;
+	}
 
-		DeterministicPathList sortedSourceRoots = DeterministicPathList.fromSourceRoots(sourceRoots);
-		SmartSourceRootManager ssrt = new SmartSourceRootManager();
+	private static SmartSourceRootManager newManager(final DiagramOptions options) {
+		SmartSourceRootManager ssrt = new SmartSourceRootManager(options.isStructureOnly());
 		ssrt.addPropertyChangeListener(Dashboard.getDashboard());
+		return ssrt;
+	}
 
-		List<CompilationUnit> units = ssrt.autoscan(sortedSourceRoots);
-
+	private static DeclaredIndex newIndex() {
 		DeclaredIndex index = new DeclaredIndex();
 		index.addPropertyChangeListener(Dashboard.getDashboard());
-		index.fill(units);
+		return index;
+	}
+
+	/*
+	 * Applies options that reduce a parsed unit before it is indexed.
+	 */
+	private static void prepare(final CompilationUnit unit, final DiagramOptions options) {
+		if (options.isApiSurface()) {
+			ApiSurface.prune(unit);
+		}
+	}
 
-		new ClassDiagramGeneration(outputFile, index).run();
+	private static void write(final Path outputFile, final DeclaredIndex index, final DiagramOptions options)
+			throws IOException {
+		new ClassDiagramGeneration(outputFile, index, options).run();
 		logger.log(Level.INFO, () -> "Writing " + outputFile + " complete.");
 		System.out.println(Dashboard.getDashboard().toString());
 	}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.AnnotationDeclaration;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.nodeTypes.NodeWithModifiers;
+
+/**
+ * Reduces parsed compilation units to their exported API: public types and
+ * their public or protected members.
+ *
+ * <p>
+ * Members of interfaces and annotations are public unless declared
+ * {@code private}. Enum constants and record components are always kept;
+ * initializers never are. Hidden types and members are removed from the AST,
+ * so nothing downstream indexes, resolves or renders them.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+public final class ApiSurface {
+
+	/*
+	 * No constructor available.
+	 */
+	private ApiSurface() {
+	}
+
+	/**
+	 * Removes the types and members of {@code unit} that are not part of its API.
+	 *
+	 * @param unit a parsed compilation unit; modified in place
+	 */
+	public static void prune(final CompilationUnit unit) {
+		List<Node> hidden = new ArrayList<>();
+		for (TypeDeclaration<?> td : unit.getTypes()) {
+			if (td.isPublic()) {
+				pruneMembers(td);
+			} else {
+				hidden.add(td);
+			}
+		}
+		hidden.forEach(Node::remove);
+	}
+
+	private static void pruneMembers(TypeDeclaration<?> td) {
+		boolean implicitlyPublic = td instanceof AnnotationDeclaration
+				|| (td instanceof ClassOrInterfaceDeclaration cid && cid.isInterface());
+
+		List<Node> hidden = new ArrayList<>();
+		for (BodyDeclaration<?> member : td.getMembers()) {
+			if (!isExported(member, implicitlyPublic)) {
+				hidden.add(member);
+			} else if (member instanceof TypeDeclaration<?> nested) {
+				pruneMembers(nested);
+			}
+		}
+		hidden.forEach(Node::remove);
+	}
+
+	private static boolean isExported(BodyDeclaration<?> member, boolean implicitlyPublic) {
+		if (member.isInitializerDeclaration()) {
+			return false;
+		}
+		if (member instanceof NodeWithModifiers<?> m) {
+			if (m.hasModifier(Modifier.Keyword.PUBLIC) || m.hasModifier(Modifier.Keyword.PROTECTED)) {
+				return true;
+			}
+			return implicitlyPublic && !m.hasModifier(Modifier.Keyword.PRIVATE);
+		}
+		return true;
+	}
+
+}
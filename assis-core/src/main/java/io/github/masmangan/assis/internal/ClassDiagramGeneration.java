@@ -6,13 +6,13 @@
 package io.github.masmangan.assis.internal;
 
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-import io.github.masmangan.assis.AssisInfo;
-import io.github.masmangan.assis.io.PlantUMLWriter;
+import io.github.masmangan.assis.DiagramOptions;
 
 /**
  * Controls the process of a class diagram generation. *
@@ -29,14 +29,30 @@ import io.github.masmangan.assis.io.PlantUMLWriter;
  * <p>
  * The output file is written using UTF-8.
  *
+ * <p>
+ * Relationships are collected once, by {@link RelationCollection}, and the
+ * types to draw are selected from the options by {@link DiagramScope}. The
+ * result is written by {@link ClassDiagramWriter}, split into parts by
+ * {@link PartitionedDiagram}, or summed up by {@link PackageDiagram}.
+ *
  * @author Marco Mangan
  */
 public final class ClassDiagramGeneration {
 
+	private static final Logger logger = Logger.getLogger(ClassDiagramGeneration.class.getName());
+
+	private static final String CYCLES_TSV = "cycles.tsv";
+
 	private final Path outFile;
 
 	private final DeclaredIndex idx;
 
+	private final DiagramOptions options;
+
+	private boolean reuseKnownNames = true;
+
+	private int skippedResolutions;
+
 	/**
 	 * Generation will output a file from an index of parsed types.
 	 *
@@ -45,9 +61,42 @@ public final class ClassDiagramGeneration {
 	 *                be {@code null}
 	 */
 	public ClassDiagramGeneration(final Path outFile, final DeclaredIndex idx) {
+		this(outFile, idx, new DiagramOptions());
+	}
+
+	/**
+	 * Generation will output a file from an index of parsed types.
+	 *
+	 * @param outFile output file path; must not be {@code null}
+	 * @param idx     index containing declared types and package grouping; must not
+	 *                be {@code null}
+	 * @param options generation options; must not be {@code null}
+	 */
+	public ClassDiagramGeneration(final Path outFile, final DeclaredIndex idx, final DiagramOptions options) {
 		super();
 		this.outFile = outFile;
 		this.idx = idx;
+		this.options = options;
+	}
+
+	/**
+	 * Resolves every type use, even of a name already resolved in the same
+	 * owner. The diagram is the same, only slower.
+	 *
+	 * @return this generation
+	 */
+	ClassDiagramGeneration resolveEveryUse() {
+		reuseKnownNames = false;
+		return this;
+	}
+
+	/**
+	 * Returns how many type uses skipped resolution.
+	 *
+	 * @return number of resolutions saved
+	 */
+	int skippedResolutions() {
+		return skippedResolutions;
 	}
 
 	/**
@@ -56,78 +105,59 @@ public final class ClassDiagramGeneration {
 	 * @throws IOException
 	 */
 	public void run() throws IOException {
-		// Order matters: emit types first so later relations can refer to them
-		// Stronger relations first, then dependencies
-		try (PlantUMLWriter pw = new PlantUMLWriter(
-				new PrintWriter(Files.newBufferedWriter(outFile, StandardCharsets.UTF_8)));) {
-			pw.beginDiagram("class-diagram");
+		TypeUses uses = TypeUses.extract(idx, options.isParallel(), ExternalTypePolicy.of(options));
 
-			writeHeader(pw);
+		RelationCollection collection = new RelationCollection(idx, options, reuseKnownNames);
+		List<Relation> relations = collection.collect(uses);
+		skippedResolutions = collection.skippedResolutions();
 
-			writeTypes(pw);
+		TypeGraph graph = TypeGraph.of(idx, relations);
+		logger.log(Level.INFO, () -> "Type graph: " + graph.nodeCount() + " nodes, " + relations.size() + " edges");
 
-			pw.println();
-			pw.println();
-
-			EdgeRegistry er = new EdgeRegistry();
-
-			writeStructuralRelations(pw, er);
+		DiagramScope scope = DiagramScope.select(idx, options, uses, graph);
 
-			writeDependencies(pw, er);
-
-			pw.println();
+		CycleReport cycles = options.isCycles() ? findCycles(relations, scope) : null;
 
-			pw.endDiagram("class-diagram");
-
-		} catch (IOException e) {
-			throw new IllegalStateException("Error writing diagram file", e);
+		if (options.isPackageDiagram()) {
+			writePackageDiagram(relations, scope, cycles);
+			return;
 		}
-	}
-
-	private static void writeHeader(final PlantUMLWriter pw) {
-		pw.println();
-		pw.println("mainframe class diagram (cd)");
-		pw.println();
-		pw.println("hide empty members");
-		pw.println();
-		pw.println("!theme blueprint");
-		pw.println("!pragma useIntermediatePackages false");
-		pw.println();
-		pw.println("left to right direction");
-		pw.println();
-		pw.println("' Diagram generated by ASSIS (%s).".formatted(AssisInfo.versionOrDev()));
-		pw.println("' https://github.com/masmangan/assis");
-		pw.println();
-	}
-
-	private void writeTypes(PlantUMLWriter pw) {
-		for (var pkg : idx.packagesInIndexOrder()) {
-			if (!pkg.isEmpty()) {
-				pw.println();
-				pw.beginPackage(pkg);
-			}
-			for (var td : idx.typesInPackageOrder(pkg)) {
-				new CollectTypesVisitor(idx, pkg, pw).emitType(td);
-			}
-			if (!pkg.isEmpty()) {
-				pw.println();
-				pw.endPackage(pkg);
-			}
+		ClassDiagramWriter diagram = new ClassDiagramWriter(idx, options, uses, relations, cycles);
+		if (options.getPartitionTypes() > 0 || options.getPartitionEdges() > 0) {
+			Partitioning parts = Partitioning.of(idx, relations, scope, options.getPartitionTypes(),
+					options.getPartitionEdges());
+			PartitionedDiagram.write(outFile, idx, parts, diagram, options.isParallel());
+		} else {
+			DiagramFile.write(outFile, "class-diagram", pw -> diagram.write(pw, scope));
 		}
 	}
 
-	private void writeStructuralRelations(PlantUMLWriter pw, EdgeRegistry er) {
-		new CollectRelationshipsVisitor(idx, pw, er).emitAll();
+	/**
+	 * Finds the cycles among the drawn types and writes {@value #CYCLES_TSV} next
+	 * to the diagram.
+	 */
+	private CycleReport findCycles(List<Relation> relations, DiagramScope scope) throws IOException {
+		CycleReport cycles = CycleReport.of(idx, relations, scope, options.getPackageDepth());
+		Path report = outFile.resolveSibling(CYCLES_TSV);
+		cycles.write(report);
+		logger.log(Level.INFO, () -> "Cycles: " + cycles.typeCycles().size() + " between types, "
+				+ cycles.packageCycles().size() + " between packages; see " + report);
+		return cycles;
 	}
 
-	private void writeDependencies(PlantUMLWriter pw, EdgeRegistry er) {
-		DependencyContext context = new DependencyContext(idx, pw, er);
-		CollectDependenciesVisitor dependenciesVisitor = new CollectDependenciesVisitor();
-		for (var td : idx.typesInIndexOrder()) {
-			if (DeclaredIndex.isTopLevel(td)) {
-				td.accept(dependenciesVisitor, context);
-			}
-		}
+	private void writePackageDiagram(List<Relation> relations, DiagramScope scope, CycleReport cycles) {
+		PackageDiagram packages = PackageDiagram.of(idx, relations, scope, options.getPackageDepth());
+		logger.log(Level.INFO,
+				() -> "Package diagram: " + packages.packageCount() + " packages, " + packages.edgeCount() + " edges");
+		DiagramFile.write(outFile, "package-diagram", pw -> {
+			DiagramFile.writeHeader(pw, "package diagram (pd)");
+			// package names are not nested by their dots
+			pw.println("set separator none");
+			pw.println();
+			DiagramFile.writeCycleStyle(pw, cycles);
+
+			packages.write(pw, cycles == null ? Set.of() : cycles.packages());
+		});
 	}
 
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.javaparser.ast.body.TypeDeclaration;
+
+import io.github.masmangan.assis.DiagramOptions;
+import io.github.masmangan.assis.io.PlantUMLWriter;
+
+/**
+ * Writes the types and relationships of a {@link DiagramScope} as a class
+ * diagram.
+ *
+ * <p>
+ * When {@link DiagramOptions#isParallel()} is set, each type block is rendered
+ * concurrently into a private buffer, and the buffers are written in index
+ * order. Relationships are thinned by {@link TransitiveReduction} and
+ * {@link EdgeBudget} when the options ask for it.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class ClassDiagramWriter {
+
+	private static final Logger logger = Logger.getLogger(ClassDiagramWriter.class.getName());
+
+	private final DeclaredIndex idx;
+
+	private final DiagramOptions options;
+
+	private final TypeUses uses;
+
+	private final List<Relation> relations;
+
+	private final CycleReport cycles;
+
+	/**
+	 *
+	 * @param idx       index of declared types
+	 * @param options   generation options
+	 * @param uses      type uses resolved before emission
+	 * @param relations relationships, in drawing order
+	 * @param cycles    cycles to mark; {@code null} when not looked for
+	 */
+	ClassDiagramWriter(DeclaredIndex idx, DiagramOptions options, TypeUses uses, List<Relation> relations,
+			CycleReport cycles) {
+		this.idx = idx;
+		this.options = options;
+		this.uses = uses;
+		this.relations = relations;
+		this.cycles = cycles;
+	}
+
+	/**
+	 * Writes the diagram contents.
+	 *
+	 * @param pw    destination writer
+	 * @param scope types to draw
+	 */
+	void write(PlantUMLWriter pw, DiagramScope scope) {
+		// Order matters: emit types first so later relations can refer to them
+		// Stronger relations first, then dependencies
+		DiagramFile.writeHeader(pw, "class diagram (cd)");
+		DiagramFile.writeCycleStyle(pw, cycles);
+
+		writeTypes(pw, scope, cycles == null ? Set.of() : cycles.types());
+
+		pw.println();
+		pw.println();
+
+		writeRelations(pw, scope);
+	}
+
+	private List<TypeDeclaration<?>> shownTypesInPackageOrder(String pkg, DiagramScope scope) {
+		List<TypeDeclaration<?>> out = new ArrayList<>();
+		for (var td : idx.typesInPackageOrder(pkg)) {
+			if (scope.shows(DeclaredIndex.deriveFqnDollar(td))) {
+				out.add(td);
+			}
+		}
+		return out;
+	}
+
+	private void writeTypes(PlantUMLWriter pw, DiagramScope scope, Set<String> typesInCycles) {
+		Iterator<String> rendered = options.isParallel() ? renderTypesInParallel(scope, typesInCycles).iterator()
+				: null;
+
+		for (var pkg : idx.packagesInIndexOrder()) {
+			List<TypeDeclaration<?>> types = shownTypesInPackageOrder(pkg, scope);
+			if (types.isEmpty()) {
+				continue;
+			}
+			if (!pkg.isEmpty()) {
+				pw.println();
+				pw.beginPackage(pkg);
+			}
+			for (var td : types) {
+				if (rendered != null) {
+					pw.appendRendered(rendered.next());
+				} else {
+					new CollectTypesVisitor(uses, pkg, pw, typesInCycles, options.getMaxMembers()).emitType(td);
+				}
+			}
+			if (!pkg.isEmpty()) {
+				pw.println();
+				pw.endPackage(pkg);
+			}
+		}
+	}
+
+	private record TypeJob(String pkg, TypeDeclaration<?> td) {
+	}
+
+	/**
+	 * Renders every type block into its own buffer, using all cores.
+	 *
+	 * @return rendered blocks, in package order, then type order
+	 */
+	private List<String> renderTypesInParallel(DiagramScope scope, Set<String> typesInCycles) {
+		List<TypeJob> jobs = new ArrayList<>();
+		for (var pkg : idx.packagesInIndexOrder()) {
+			for (var td : shownTypesInPackageOrder(pkg, scope)) {
+				jobs.add(new TypeJob(pkg, td));
+			}
+		}
+		return jobs.parallelStream().map(job -> renderType(job, typesInCycles)).toList();
+	}
+
+	private String renderType(TypeJob job, Set<String> typesInCycles) {
+		StringWriter buffer = new StringWriter();
+		try (PlantUMLWriter local = new PlantUMLWriter(new PrintWriter(buffer))) {
+			if (!job.pkg().isEmpty()) {
+				local.indent();
+			}
+			new CollectTypesVisitor(uses, job.pkg(), local, typesInCycles, options.getMaxMembers()).emitType(job.td());
+		}
+		return buffer.toString();
+	}
+
+	private void writeRelations(PlantUMLWriter pw, DiagramScope scope) {
+		List<Relation> shown = new ArrayList<>(relations.size());
+		for (Relation r : relations) {
+			if (scope.showsEdge(r.fromFqn(), r.toFqn())) {
+				shown.add(r);
+			}
+		}
+
+		if (options.isTransitiveReduction()) {
+			List<Relation> reduced = TransitiveReduction.reduce(idx, shown);
+			int removed = shown.size() - reduced.size();
+			logger.log(Level.INFO, () -> "Transitive reduction removed " + removed + " dependencies");
+			pw.println("' Transitive reduction: %d implied dependencies not drawn.".formatted(removed));
+			pw.println();
+			shown = reduced;
+		}
+
+		if (options.getMaxEdges() > 0 || options.getMaxGhosts() > 0) {
+			EdgeBudget budget = EdgeBudget.of(idx, shown, options.getMaxEdges(), options.getMaxGhosts());
+			logger.log(Level.INFO, () -> "Size budget left out " + budget.elidedEdges() + " edges and "
+					+ budget.elidedExternalTypes() + " external types");
+			pw.println("' Size budget: %d edges and %d external types not drawn.".formatted(budget.elidedEdges(),
+					budget.elidedExternalTypes()));
+			pw.println();
+			shown = budget.relations();
+		}
+
+		for (Relation r : shown) {
+			writeRelation(pw, r);
+		}
+	}
+
+	private static void writeRelation(PlantUMLWriter pw, Relation r) {
+		Runnable draw = switch (r.kind()) {
+		case EXTENDS -> () -> pw.connectExtends(r.fromFqn(), r.toFqn());
+		case IMPLEMENTS -> () -> pw.connectImplements(r.fromFqn(), r.toFqn());
+		case INNER -> () -> pw.connectInnerType(r.fromFqn(), r.toFqn());
+		case ASSOCIATION -> () -> pw.connectAssociation(r.fromFqn(), r.toFqn(), r.role(), r.stereotypes());
+		case DEPENDENCY -> () -> pw.connectDepends(r.fromFqn(), r.toFqn());
+		};
+		if (r.ghost()) {
+			pw.withBeforeTag("@assis:cherry-pick ghost", draw);
+		} else {
+			draw.run();
+		}
+	}
+
+}
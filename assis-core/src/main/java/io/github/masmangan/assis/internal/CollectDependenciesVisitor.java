@@ -30,6 +30,12 @@ import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 /**
  * Visits AST to collect dependency relationships.
  *
+ * <p>
+ * Every use found is counted, also when its edge is already known, except uses
+ * along an association. The type of a field or record component drawn as an
+ * association is counted by the association instead, so only its type
+ * arguments are visited here.
+ *
  * @author Marco Mangan
  */
 final class CollectDependenciesVisitor extends VoidVisitorAdapter<DependencyContext> {
@@ -59,7 +65,7 @@ final class CollectDependenciesVisitor extends VoidVisitorAdapter<DependencyCont
 		enter(n);
 
 		// Record components are parameters, not fields.
-		n.getParameters().forEach(p -> recordTypeUse(p.getType(), p, ctx));
+		n.getParameters().forEach(p -> recordMemberTypeUse(p, p.getType(), ctx));
 
 		super.visit(n, ctx);
 		exit();
@@ -74,7 +80,7 @@ final class CollectDependenciesVisitor extends VoidVisitorAdapter<DependencyCont
 		}
 
 		for (VariableDeclarator vd : fd.getVariables()) {
-			recordTypeUse(vd.getType(), vd, ctx);
+			recordMemberTypeUse(vd, vd.getType(), ctx);
 		}
 
 		super.visit(fd, ctx);
@@ -164,13 +170,25 @@ final class CollectDependenciesVisitor extends VoidVisitorAdapter<DependencyCont
 			return;
 		}
 
-		ctx.resolveTarget(typeNode).ifPresent(target -> collect(owner(), target, ctx));
+		ctx.typeUseTarget(owner(), typeNode).ifPresent(target -> collect(owner(), target, ctx));
+
+		recordTypeArguments(typeNode, site, ctx);
+	}
 
+	private void recordTypeArguments(Type typeNode, Node site, DependencyContext ctx) {
 		if (typeNode instanceof ClassOrInterfaceType cit) {
 			cit.getTypeArguments().ifPresent(args -> args.forEach(arg -> recordTypeUse(arg, site, ctx)));
 		}
 	}
 
+	private void recordMemberTypeUse(Node member, Type typeNode, DependencyContext ctx) {
+		if (!ownerStack.isEmpty() && ctx.isAssociation(owner(), member, typeNode)) {
+			recordTypeArguments(typeNode, member, ctx);
+		} else {
+			recordTypeUse(typeNode, member, ctx);
+		}
+	}
+
 	private void recordScope(String simpleName, Node site, DependencyContext ctx) {
 		if (ownerStack.isEmpty()) {
 			return;
@@ -179,14 +197,12 @@ final class CollectDependenciesVisitor extends VoidVisitorAdapter<DependencyCont
 	}
 
 	private void collect(TypeDeclaration<?> from, TypeRef to, DependencyContext ctx) {
-
-		if (ctx.hasDependency(from, to)) {
-			return;
-		}
-		if (to instanceof DeclaredTypeRef) {
-			ctx.addDependency(from, to);
-		} else {
-			ctx.addCherryPick(from, to);
+		if (ctx.countUse(from, to)) {
+			if (to instanceof DeclaredTypeRef) {
+				ctx.addDependency(from, to);
+			} else {
+				ctx.addCherryPick(from, to);
+			}
 		}
 	}
 
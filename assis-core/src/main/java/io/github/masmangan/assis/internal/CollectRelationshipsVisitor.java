@@ -5,6 +5,8 @@
 
 package io.github.masmangan.assis.internal;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -18,11 +20,9 @@ import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 
-import io.github.masmangan.assis.io.PlantUMLWriter;
-
 /**
- * Emits PlantUML relationship edges for all declared types in a
- * {@link DeclaredIndex}.
+ * Collects the structural relationships of all declared types in a
+ * {@link DeclaredIndex}, in drawing order.
  *
  * <p>
  * This visitor is responsible only for relationships (edges). Type declarations
@@ -45,28 +45,33 @@ import io.github.masmangan.assis.io.PlantUMLWriter;
  * decision is made by resolving the declared type name using
  * {@link DeclaredIndex#resolveTypeName(String, String)}.
  *
+ * <p>
+ * Relationships are returned as {@link Relation}s rather than written, so they
+ * can be put in a {@link TypeGraph} before drawing. Associations are registered
+ * in the {@link EdgeRegistry} as they are found.
+ *
  * @author Marco Mangan
  */
 class CollectRelationshipsVisitor {
 
-	private static final String ASSIS_CHERRY_PICK_GHOST = "@assis:cherry-pick ghost";
-
 	private static final Logger logger = Logger.getLogger(CollectRelationshipsVisitor.class.getName());
 
 	private final DeclaredIndex idx;
 
-	private final PlantUMLWriter pw;
+	private final TypeUses uses;
 
 	private final EdgeRegistry er;
 
-	CollectRelationshipsVisitor(final DeclaredIndex idx, final PlantUMLWriter pw, EdgeRegistry er) {
+	private final List<Relation> relations = new ArrayList<>();
+
+	CollectRelationshipsVisitor(final DeclaredIndex idx, final TypeUses uses, EdgeRegistry er) {
 		this.idx = idx;
-		this.pw = pw;
+		this.uses = uses;
 		this.er = er;
 	}
 
 	/**
-	 * Emits all relationship edges in three passes:
+	 * Collects all relationship edges in three passes:
 	 * <ol>
 	 * <li>extends/implements edges</li>
 	 * <li>nesting edges for inner/nested types</li>
@@ -75,13 +80,17 @@ class CollectRelationshipsVisitor {
 	 *
 	 * <p>
 	 * Ordering is chosen to keep the output stable and readable.
+	 *
+	 * @return relationships in drawing order
 	 */
-	void emitAll() {
+	List<Relation> emitAll() {
 		emitInheritanceRelations();
 
 		emitInnerClassRelations();
 
 		emitAssociationRelations();
+
+		return relations;
 	}
 
 	private void emitAssociationRelations() {
@@ -101,7 +110,7 @@ class CollectRelationshipsVisitor {
 	private void emitInnerTypes(String fqn) {
 		String ownerFqn = DeclaredIndex.ownerFqnOf(fqn);
 		if (ownerFqn != null && idx.containsFqn(ownerFqn)) {
-			pw.connectInnerType(ownerFqn, fqn);
+			relations.add(Relation.of(RelationKind.INNER, ownerFqn, fqn, false));
 		}
 	}
 
@@ -133,8 +142,11 @@ class CollectRelationshipsVisitor {
 
 	private void emitImplements(TypeDeclaration<?> td, ClassOrInterfaceType impl) {
 		String subFqn = DeclaredIndex.deriveFqnDollar(td);
+		if (uses.isDropped(impl)) {
+			return;
+		}
 
-		Optional<TypeRef> tr = idx.resolveTarget(impl);
+		Optional<TypeRef> tr = uses.target(impl);
 		logger.log(Level.INFO, () -> "Trying to resolve implements type: " + tr);
 
 		if (tr.isPresent()) {
@@ -142,26 +154,29 @@ class CollectRelationshipsVisitor {
 
 			if (ref instanceof DeclaredTypeRef dtr) {
 				String target = DeclaredIndex.deriveFqnDollar(dtr.declaration());
-				pw.connectImplements(subFqn, target);
+				relations.add(Relation.of(RelationKind.IMPLEMENTS, subFqn, target, false));
 				return;
 			}
 
 			if (ref instanceof ExternalTypeRef etr) {
-				pw.connectImplements(subFqn, etr.fqn());
+				relations.add(Relation.of(RelationKind.IMPLEMENTS, subFqn, etr.fqn(), false));
 				return;
 			}
 
-			pw.withBeforeTag(ASSIS_CHERRY_PICK_GHOST, () -> pw.connectImplements(subFqn, ref.displayName()));
+			relations.add(Relation.of(RelationKind.IMPLEMENTS, subFqn, ref.displayName(), true));
 			return;
 		}
 
-		pw.withBeforeTag(ASSIS_CHERRY_PICK_GHOST, () -> pw.connectImplements(subFqn, impl.getNameWithScope()));
+		relations.add(Relation.of(RelationKind.IMPLEMENTS, subFqn, impl.getNameWithScope(), true));
 	}
 
 	private void emitExtends(ClassOrInterfaceDeclaration cid, ClassOrInterfaceType ext) {
 		String subFqn = DeclaredIndex.deriveFqnDollar(cid);
+		if (uses.isDropped(ext)) {
+			return;
+		}
 
-		Optional<TypeRef> tr = idx.resolveTarget(ext);
+		Optional<TypeRef> tr = uses.target(ext);
 		logger.log(Level.INFO, () -> "Trying to resolve extends type: " + tr);
 
 		if (tr.isPresent()) {
@@ -172,29 +187,29 @@ class CollectRelationshipsVisitor {
 				logger.log(Level.INFO, () -> "DeclaredTypeRef: " + dtr);
 
 				String target = DeclaredIndex.deriveFqnDollar(dtr.declaration());
-				pw.connectExtends(subFqn, target);
+				relations.add(Relation.of(RelationKind.EXTENDS, subFqn, target, false));
 				return;
 			}
 
 			if (ref instanceof ExternalTypeRef etr) {
 				logger.log(Level.INFO, () -> "ExternalTypeRef: " + etr);
-				pw.connectExtends(subFqn, etr.fqn());
+				relations.add(Relation.of(RelationKind.EXTENDS, subFqn, etr.fqn(), false));
 				return;
 			}
 			logger.log(Level.INFO, () -> "Unresolved: " + ref.displayName());
 
 			// Unresolved (or other TypeRef): ghost
-			pw.withBeforeTag(ASSIS_CHERRY_PICK_GHOST, () -> pw.connectExtends(subFqn, ref.displayName()));
+			relations.add(Relation.of(RelationKind.EXTENDS, subFqn, ref.displayName(), true));
 			return;
 		}
 		logger.log(Level.INFO, () -> "Fallback: " + ext.getNameWithScope());
 
 		// Fallback (should be rare for extends)
-		pw.withBeforeTag(ASSIS_CHERRY_PICK_GHOST, () -> pw.connectExtends(subFqn, ext.getNameWithScope()));
+		relations.add(Relation.of(RelationKind.EXTENDS, subFqn, ext.getNameWithScope(), true));
 	}
 
 	/**
-	 * Emits an association edge in PlantUML "has-a" form:
+	 * Collects an association edge, drawn in PlantUML "has-a" form:
 	 * {@code "Owner" --> "Target" : role <<Stereo>>}.
 	 *
 	 * @param ownerFqn    owner type FQN
@@ -203,7 +218,7 @@ class CollectRelationshipsVisitor {
 	 * @param stereotypes already rendered stereotype block (may be {@code null})
 	 */
 	private void emitAssociation(String ownerFqn, String targetFqn, String role, String stereotypes) {
-		pw.connectAssociation(ownerFqn, targetFqn, role, stereotypes);
+		relations.add(Relation.association(ownerFqn, targetFqn, role, stereotypes));
 		er.registerAssociation(ownerFqn, targetFqn);
 	}
 
@@ -241,7 +256,7 @@ class CollectRelationshipsVisitor {
 		for (VariableDeclarator vd : fd.getVariables()) {
 			String target = null;
 
-			Optional<TypeRef> tr = idx.resolveTarget(vd.getType()); // usageSite can be vd or fd
+			Optional<TypeRef> tr = uses.target(vd.getType()); // usageSite can be vd or fd
 			logger.log(Level.INFO, () -> "Trying to resolve type: " + tr);
 
 			if (tr.isPresent()) {
@@ -8,6 +8,7 @@ package io.github.masmangan.assis.internal;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -56,6 +57,12 @@ import io.github.masmangan.assis.io.PlantUMLWriter;
  * declared type, the member line is suppressed here so that
  * {@link CollectRelationshipsVisitor} can render the association edge.
  *
+ * <h2>Size budget</h2>
+ * <p>
+ * A visitor may be given a maximum number of members per type block. Members
+ * past it, in drawing order, are left out, and their number is written as a
+ * comment at the end of the block.
+ *
  * <p>
  * This class performs no PlantUML validation; it relies on
  * {@link PlantUMLWriter} for block emission and on upstream logic for indexing
@@ -83,9 +90,9 @@ class CollectTypesVisitor {
 	private static final String FINAL_MODIFIER = "<<final>>";
 
 	/**
-	 * Index of declared types and name-resolution helpers.
+	 * Field and record component types, resolved once for all emitters.
 	 */
-	private final DeclaredIndex idx;
+	private final TypeUses uses;
 
 	/**
 	 * Package context used to resolve simple type names.
@@ -102,21 +109,81 @@ class CollectTypesVisitor {
 	 */
 	private final PlantUMLWriter pw;
 
+	/**
+	 * FQNs of the types drawn with the {@link CycleReport#STEREOTYPE}.
+	 */
+	private final Set<String> inCycles;
+
+	/**
+	 * Maximum number of members drawn in each type block; {@code 0} for no
+	 * limit.
+	 */
+	private final int maxMembers;
+
+	/**
+	 * Members drawn in the current type block.
+	 */
+	private int drawnMembers;
+
+	/**
+	 * Members of the current type block left out by {@link #maxMembers}.
+	 */
+	private int elidedMembers;
+
 	/**
 	 * Creates a visitor that emits PlantUML type blocks for a given package
 	 * context.
 	 *
-	 * @param idx index used for declared type lookup and name resolution; must not
-	 *            be {@code null}
-	 * @param pkg package of the owner type being emitted; may be {@code null}
-	 *            (treated as empty)
-	 * @param pw  PlantUML writer to receive emitted lines; must not be {@code null}
-	 * @throws NullPointerException if {@code idx} or {@code pw} is {@code null}
+	 * @param uses type uses resolved before emission; must not be {@code null}
+	 * @param pkg  package of the owner type being emitted; may be {@code null}
+	 *             (treated as empty)
+	 * @param pw   PlantUML writer to receive emitted lines; must not be
+	 *             {@code null}
+	 * @throws NullPointerException if {@code uses} or {@code pw} is {@code null}
+	 */
+	CollectTypesVisitor(final TypeUses uses, final String pkg, final PlantUMLWriter pw) {
+		this(uses, pkg, pw, Set.of());
+	}
+
+	/**
+	 * Creates a visitor that emits PlantUML type blocks for a given package
+	 * context, marking some types with the {@link CycleReport#STEREOTYPE}.
+	 *
+	 * @param uses     type uses resolved before emission; must not be
+	 *                 {@code null}
+	 * @param pkg      package of the owner type being emitted; may be
+	 *                 {@code null} (treated as empty)
+	 * @param pw       PlantUML writer to receive emitted lines; must not be
+	 *                 {@code null}
+	 * @param inCycles FQNs of the types in a dependency cycle; must not be
+	 *                 {@code null}
 	 */
-	CollectTypesVisitor(final DeclaredIndex idx, final String pkg, final PlantUMLWriter pw) {
-		this.idx = idx;
+	CollectTypesVisitor(final TypeUses uses, final String pkg, final PlantUMLWriter pw, final Set<String> inCycles) {
+		this(uses, pkg, pw, inCycles, 0);
+	}
+
+	/**
+	 * Creates a visitor that emits PlantUML type blocks for a given package
+	 * context, drawing at most {@code maxMembers} members in each block.
+	 *
+	 * @param uses       type uses resolved before emission; must not be
+	 *                   {@code null}
+	 * @param pkg        package of the owner type being emitted; may be
+	 *                   {@code null} (treated as empty)
+	 * @param pw         PlantUML writer to receive emitted lines; must not be
+	 *                   {@code null}
+	 * @param inCycles   FQNs of the types in a dependency cycle; must not be
+	 *                   {@code null}
+	 * @param maxMembers maximum number of members per type block; {@code 0} for no
+	 *                   limit
+	 */
+	CollectTypesVisitor(final TypeUses uses, final String pkg, final PlantUMLWriter pw, final Set<String> inCycles,
+			final int maxMembers) {
+		this.uses = uses;
 		this.pkg = (pkg == null) ? EMPTY_STRING : pkg;
 		this.pw = pw;
+		this.inCycles = inCycles;
+		this.maxMembers = maxMembers;
 	}
 
 	/**
@@ -142,6 +209,9 @@ class CollectTypesVisitor {
 		String stereotypes = typeStereotypes(td);
 		String vis = DeclaredIndex.visibility(td);
 
+		drawnMembers = 0;
+		elidedMembers = 0;
+
 		pw.println();
 
 		if (td instanceof ClassOrInterfaceDeclaration cid) {
@@ -161,6 +231,7 @@ class CollectTypesVisitor {
 			emitFields(td, extraFields);
 			emitConstructors(rd.getConstructors());
 			emitMethods(rd.getMethods());
+			writeElidedMembers();
 			pw.endRecord(fqn);
 			return;
 		}
@@ -171,6 +242,7 @@ class CollectTypesVisitor {
 			emitFields(td, ed.getFields());
 			emitConstructors(ed.getConstructors());
 			emitMethods(ed.getMethods());
+			writeElidedMembers();
 			pw.endEnum(fqn);
 			return;
 		}
@@ -178,6 +250,7 @@ class CollectTypesVisitor {
 		if (td instanceof AnnotationDeclaration ad) {
 			pw.beginAnnotation(fqn, vis, stereotypes);
 			emitAnnotationMembers(ad);
+			writeElidedMembers();
 			pw.endAnnotation(fqn);
 			return;
 		}
@@ -213,6 +286,31 @@ class CollectTypesVisitor {
 		emitFields(cid, cid.getFields());
 		emitConstructors(cid.getConstructors());
 		emitMethods(cid.getMethods());
+		writeElidedMembers();
+	}
+
+	/**
+	 * Counts a member against {@link #maxMembers}.
+	 *
+	 * @return {@code true} if the member is drawn
+	 */
+	private boolean admitMember() {
+		if (maxMembers == 0 || drawnMembers < maxMembers) {
+			drawnMembers++;
+			return true;
+		}
+		elidedMembers++;
+		return false;
+	}
+
+	/**
+	 * Writes the number of members left out of the current block, if any, as a
+	 * comment.
+	 */
+	private void writeElidedMembers() {
+		if (elidedMembers > 0) {
+			pw.println("' Size budget: %d members not drawn.".formatted(elidedMembers));
+		}
 	}
 
 	/**
@@ -220,8 +318,12 @@ class CollectTypesVisitor {
 	 * @param td
 	 * @return
 	 */
-	private static String typeStereotypes(TypeDeclaration<?> td) {
-		return DeclaredIndex.renderStereotypes(DeclaredIndex.stereotypesOf(td));
+	private String typeStereotypes(TypeDeclaration<?> td) {
+		String stereotypes = DeclaredIndex.renderStereotypes(DeclaredIndex.stereotypesOf(td));
+		if (inCycles.contains(DeclaredIndex.deriveFqnDollar(td))) {
+			return stereotypes + SPACE_STRING + CycleReport.STEREOTYPE;
+		}
+		return stereotypes;
 	}
 
 	/**
@@ -229,7 +331,7 @@ class CollectTypesVisitor {
 	 * @param td
 	 * @return
 	 */
-	private static String finalClassStereotypes(TypeDeclaration<?> td) {
+	private String finalClassStereotypes(TypeDeclaration<?> td) {
 		String stereotypes = typeStereotypes(td);
 		return FINAL_MODIFIER + (stereotypes.isBlank() ? EMPTY_STRING : SPACE_STRING + stereotypes.trim());
 	}
@@ -248,8 +350,10 @@ class CollectTypesVisitor {
 
 					String defaultValue = amd.getDefaultValue().map(v -> " = " + v).orElse(EMPTY_STRING);
 
-					pw.addAnnotationMember(name, type, defaultValue,
-							DeclaredIndex.renderStereotypes(DeclaredIndex.stereotypesOf(amd)));
+					if (admitMember()) {
+						pw.addAnnotationMember(name, type, defaultValue,
+								DeclaredIndex.renderStereotypes(DeclaredIndex.stereotypesOf(amd)));
+					}
 				});
 	}
 
@@ -261,7 +365,9 @@ class CollectTypesVisitor {
 	 */
 	private void emitEnumConstants(EnumDeclaration ed) {
 		for (EnumConstantDeclaration c : ed.getEntries()) {
-			pw.addEnumConstant(c.getNameAsString());
+			if (admitMember()) {
+				pw.addEnumConstant(c.getNameAsString());
+			}
 		}
 	}
 
@@ -280,11 +386,8 @@ class CollectTypesVisitor {
 	 */
 	private void emitRecordComponents(String ownerFqn, RecordDeclaration rd) {
 		for (Parameter p : rd.getParameters()) {
-			String raw = DeclaredIndex.rawTypeName(p.getType().asString());
-			String target = idx.resolveTypeName(pkg, raw);
-
-			boolean becomesAssociation = target != null && !target.equals(ownerFqn);
-			if (becomesAssociation) {
+			boolean becomesAssociation = uses.association(p, pkg, ownerFqn, p.getType()) != null;
+			if (becomesAssociation || !admitMember()) {
 				continue;
 			}
 
@@ -347,7 +450,7 @@ class CollectTypesVisitor {
 		// DeclaredIndex resolveAssocTarget
 
 		String assoc = assocTypeFrom(fqn, vd);
-		if (assoc != null) {
+		if (assoc != null || !admitMember()) {
 			return;
 		}
 
@@ -373,32 +476,60 @@ class CollectTypesVisitor {
 		pw.addField(vis, sp, name, type, modBlock, renderStereotypes);
 	}
 
+	/**
+	 * A constructor line, rendered once, with the key it is sorted by.
+	 */
+	private record ConstructorLine(String sortKey, String vis, String name, String params, String stereotypes) {
+
+		static ConstructorLine of(ConstructorDeclaration c) {
+			String params = c.getParameters().stream().map(p -> p.getNameAsString() + " : " + p.getType().asString())
+					.collect(Collectors.joining(", "));
+			return new ConstructorLine(c.getDeclarationAsString(false, false, false), DeclaredIndex.visibility(c),
+					c.getNameAsString(), params, DeclaredIndex.renderStereotypes(DeclaredIndex.stereotypesOf(c)));
+		}
+
+	}
+
+	/**
+	 * A method line, rendered once, with the key it is sorted by.
+	 */
+	private record MethodLine(String sortKey, String vis, String name, String params, String returnType, String flags,
+			String stereotypes) {
+
+		static MethodLine of(MethodDeclaration m) {
+			String params = m.getParameters().stream().map(p -> {
+				String anns = DeclaredIndex.renderStereotypes(DeclaredIndex.stereotypesOf(p));
+				return (anns + SPACE_STRING + p.getNameAsString() + " : " + p.getType().asString()).trim();
+			}).collect(Collectors.joining(", "));
+			return new MethodLine(m.getDeclarationAsString(false, false, false), DeclaredIndex.visibility(m),
+					m.getNameAsString(), params, m.getType().asString(), getFlags(m),
+					DeclaredIndex.renderStereotypes(DeclaredIndex.stereotypesOf(m)));
+		}
+
+	}
+
 	/**
 	 * Emits constructors as PlantUML operation lines.
 	 *
 	 * <p>
 	 * Constructors are sorted by a stable textual signature for deterministic
-	 * output.
+	 * output. Each constructor is rendered once, before sorting.
 	 *
 	 * @param ctors constructors to emit; must not be {@code null}
 	 * @throws NullPointerException if {@code ctors} is {@code null}
 	 */
 	private void emitConstructors(List<ConstructorDeclaration> ctors) {
-		List<ConstructorDeclaration> sorted = new ArrayList<>(ctors);
-		sorted.sort((a, b) -> a.getDeclarationAsString(false, false, false)
-				.compareTo(b.getDeclarationAsString(false, false, false)));
-
-		for (ConstructorDeclaration c : sorted) {
-			emitConstructor(c);
+		List<ConstructorLine> lines = new ArrayList<>(ctors.size());
+		for (ConstructorDeclaration c : ctors) {
+			lines.add(ConstructorLine.of(c));
 		}
-	}
+		lines.sort(Comparator.comparing(ConstructorLine::sortKey));
 
-	private void emitConstructor(ConstructorDeclaration c) {
-		String name = c.getNameAsString();
-		String params = c.getParameters().stream().map(p -> p.getNameAsString() + " : " + p.getType().asString())
-				.collect(Collectors.joining(", "));
-		String vis = DeclaredIndex.visibility(c);
-		pw.addConstructor(vis, name, params, DeclaredIndex.renderStereotypes(DeclaredIndex.stereotypesOf(c)));
+		for (ConstructorLine c : lines) {
+			if (admitMember()) {
+				pw.addConstructor(c.vis(), c.name(), c.params(), c.stereotypes());
+			}
+		}
 	}
 
 	/**
@@ -439,32 +570,23 @@ class CollectTypesVisitor {
 	 * <p>
 	 * Methods are sorted by a stable textual signature for deterministic output.
 	 * Parameter annotations are rendered as stereotypes preceding each parameter.
+	 * Each method is rendered once, before sorting.
 	 *
 	 * @param methods methods to emit; must not be {@code null}
 	 * @throws NullPointerException if {@code methods} is {@code null}
 	 */
 	private void emitMethods(List<MethodDeclaration> methods) {
-		List<MethodDeclaration> sorted = new ArrayList<>(methods);
-		sorted.sort((a, b) -> a.getDeclarationAsString(false, false, false)
-				.compareTo(b.getDeclarationAsString(false, false, false)));
-
-		for (MethodDeclaration m : sorted) {
-			emitMethod(m);
+		List<MethodLine> lines = new ArrayList<>(methods.size());
+		for (MethodDeclaration m : methods) {
+			lines.add(MethodLine.of(m));
 		}
-	}
+		lines.sort(Comparator.comparing(MethodLine::sortKey));
 
-	private void emitMethod(MethodDeclaration m) {
-		String returnType = m.getType().asString();
-		String name = m.getNameAsString();
-		String params = m.getParameters().stream().map(p -> {
-			String anns = DeclaredIndex.renderStereotypes(DeclaredIndex.stereotypesOf(p));
-			return (anns + SPACE_STRING + p.getNameAsString() + " : " + p.getType().asString()).trim();
-		}).collect(Collectors.joining(", "));
-		String flags = getFlags(m);
-		String vis = DeclaredIndex.visibility(m);
-
-		pw.addMethod(vis, name, params, returnType, flags,
-				DeclaredIndex.renderStereotypes(DeclaredIndex.stereotypesOf(m)));
+		for (MethodLine m : lines) {
+			if (admitMember()) {
+				pw.addMethod(m.vis(), m.name(), m.params(), m.returnType(), m.flags(), m.stereotypes());
+			}
+		}
 	}
 
 	/**
@@ -484,14 +606,7 @@ class CollectTypesVisitor {
 	 *                              {@code null}
 	 */
 	private String assocTypeFrom(String ownerFqn, VariableDeclarator vd) {
-		String raw = DeclaredIndex.rawTypeName(vd.getType().asString());
-		// FIXME: DeclaredIndex resolveAssocTarget
-
-		String resolved = idx.resolveTypeName(pkg, raw);
-		if ((resolved == null) || resolved.equals(ownerFqn)) {
-			return null;
-		}
-		return resolved;
+		return uses.association(vd, pkg, ownerFqn, vd.getType());
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Type and package dependency cycles of the drawn types.
+ *
+ * <p>
+ * A cycle is a strongly connected component with more than one member, found
+ * in linear time by {@link TypeGraph#components()} over the relationships
+ * already collected, so nothing is parsed or resolved again. Every kind of
+ * relationship counts except nesting, since a nested type using its enclosing
+ * type is not a design cycle. Package cycles are found the same way over the
+ * {@link PackageDiagram} edges.
+ *
+ * <p>
+ * Cycles are listed in the order of their first member, and members in index
+ * order, so the report is deterministic.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class CycleReport {
+
+	/**
+	 * Stereotype of the types and packages in a cycle.
+	 */
+	static final String STEREOTYPE = "<<cycle>>";
+
+	private final List<List<String>> typeCycles;
+
+	private final List<List<String>> packageCycles;
+
+	private CycleReport(List<List<String>> typeCycles, List<List<String>> packageCycles) {
+		this.typeCycles = typeCycles;
+		this.packageCycles = packageCycles;
+	}
+
+	/**
+	 * Finds the cycles among the drawn types and their packages.
+	 *
+	 * @param idx          index of declared types; must not be {@code null}
+	 * @param relations    relationships, in drawing order
+	 * @param scope        types to draw; other types and their edges are left out
+	 * @param packageDepth package depth, as in {@link PackageDiagram}
+	 * @return the cycles found
+	 */
+	static CycleReport of(DeclaredIndex idx, List<Relation> relations, DiagramScope scope, int packageDepth) {
+		List<Relation> edges = new ArrayList<>(relations.size());
+		for (Relation r : relations) {
+			if (r.kind() != RelationKind.INNER && scope.showsEdge(r.fromFqn(), r.toFqn())) {
+				edges.add(r);
+			}
+		}
+
+		TypeGraph graph = TypeGraph.of(idx, edges);
+		PackageDiagram packages = PackageDiagram.of(idx, edges, scope, packageDepth);
+		return new CycleReport(cyclesOf(graph.components(), graph::name),
+				cyclesOf(packages.components(), packages::name));
+	}
+
+	private static List<List<String>> cyclesOf(int[] component, IntFunction<String> name) {
+		int[] size = new int[component.length];
+		for (int c : component) {
+			size[c]++;
+		}
+		Map<Integer, List<String>> byComponent = new LinkedHashMap<>();
+		for (int id = 0; id < component.length; id++) {
+			if (size[component[id]] > 1) {
+				byComponent.computeIfAbsent(component[id], ignored -> new ArrayList<>()).add(name.apply(id));
+			}
+		}
+		return List.copyOf(byComponent.values());
+	}
+
+	/**
+	 * Returns the type cycles.
+	 *
+	 * @return type FQNs of each cycle
+	 */
+	List<List<String>> typeCycles() {
+		return typeCycles;
+	}
+
+	/**
+	 * Returns the package cycles.
+	 *
+	 * @return package names of each cycle
+	 */
+	List<List<String>> packageCycles() {
+		return packageCycles;
+	}
+
+	/**
+	 * Returns the types in a cycle.
+	 *
+	 * @return type FQNs
+	 */
+	Set<String> types() {
+		return flatten(typeCycles);
+	}
+
+	/**
+	 * Returns the packages in a cycle.
+	 *
+	 * @return package names
+	 */
+	Set<String> packages() {
+		return flatten(packageCycles);
+	}
+
+	private static Set<String> flatten(List<List<String>> cycles) {
+		Set<String> out = new HashSet<>();
+		cycles.forEach(out::addAll);
+		return out;
+	}
+
+	/**
+	 * Writes the report as tab-separated values, one member per line:
+	 * {@code kind}, {@code type} or {@code package}; {@code cycle}, numbered from
+	 * 1 for each kind; and {@code name}.
+	 *
+	 * @param file report file; overwritten if it exists
+	 * @throws IOException if the file cannot be written
+	 */
+	void write(Path file) throws IOException {
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+			out.println("kind\tcycle\tname");
+			write(out, "type", typeCycles);
+			write(out, "package", packageCycles);
+		}
+	}
+
+	private static void write(PrintWriter out, String kind, List<List<String>> cycles) {
+		for (int c = 0; c < cycles.size(); c++) {
+			for (String name : cycles.get(c)) {
+				out.println(kind + "\t" + (c + 1) + "\t" + name);
+			}
+		}
+	}
+
+}
@@ -12,18 +12,22 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import com.github.javaparser.ast.AccessSpecifier;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.EnumDeclaration;
@@ -42,6 +46,9 @@ import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclar
 import com.github.javaparser.resolution.types.ResolvedReferenceType;
 import com.github.javaparser.resolution.types.ResolvedType;
 
+import io.github.masmangan.assis.io.UnitSortKey;
+import io.github.masmangan.assis.util.PackageFilter;
+
 /**
  * Index of declared types (top-level and nested).
  *
@@ -88,11 +95,26 @@ public class DeclaredIndex {
 	 */
 	private Map<String, List<TypeKey>> keysByPkg = new LinkedHashMap<>();
 
+	/**
+	 * package hierarchy of {@link #keysByPkg}, for prefix and depth queries
+	 */
+	private final PackageTrie packageTrie = new PackageTrie();
+
 	/**
 	 * simple name → unique type key (only when unambiguous)
 	 */
 	private final Map<String, TypeKey> uniqueBySimple = new LinkedHashMap<>();
 
+	/**
+	 * FQNs of types known by name only (e.g. from packages filtered out)
+	 */
+	private final Set<String> declarationOnly = new HashSet<>();
+
+	/**
+	 * FQNs and simple names of declared types, for fast "not ours" rejection
+	 */
+	private NameFilter declaredNames = NameFilter.of(List.of());
+
 	private static TypeKey key(String fqn) {
 		return new TypeKey(fqn);
 	}
@@ -101,51 +123,139 @@ public class DeclaredIndex {
 		return k.text();
 	}
 
+	/**
+	 * A type found in a compilation unit, before duplicate checks.
+	 *
+	 * @param key    type key
+	 * @param td     declaration
+	 * @param pkg    declared package
+	 * @param parent position of the enclosing type in the same partial, or
+	 *               {@code -1} for top-level types
+	 */
+	private record Declared(TypeKey key, TypeDeclaration<?> td, String pkg, int parent) {
+	}
+
+	/**
+	 * Types declared by one compilation unit, in declaration (pre-)order.
+	 */
+	private record UnitPartial(UnitSortKey order, CompilationUnit unit, List<Declared> declared) {
+	}
+
 	/**
 	 * Populates index with declared types from compilation units.
 	 *
+	 * <p>
+	 * Units are indexed in list order; when a FQN is declared more than once, the
+	 * first definition is kept.
+	 *
 	 * @param units
 	 */
 	public void fill(final List<CompilationUnit> units) {
-
-		for (CompilationUnit unit : units) {
-			for (TypeDeclaration<?> td : unit.getTypes()) {
-				collectTypeRecursive(unit, td, null, PACKAGE_SEPARATOR);
-			}
+		List<UnitPartial> partials = new ArrayList<>(units.size());
+		for (int i = 0; i < units.size(); i++) {
+			partials.add(collectUnit(units.get(i), i));
 		}
+		merge(partials);
+	}
 
-		for (Map.Entry<TypeKey, String> e : pkgByKey.entrySet()) {
-			TypeKey key = e.getKey();
-			String pkg = e.getValue();
-			keysByPkg.computeIfAbsent(pkg, ignored -> new ArrayList<>()).add(key);
-		}
+	/**
+	 * Starts a fill that accepts compilation units from several threads, as soon
+	 * as they are parsed.
+	 *
+	 * @return a concurrent fill for this index
+	 */
+	public ConcurrentFill concurrentFill() {
+		return new ConcurrentFill();
+	}
 
-		keysByPkg = sortPackagesByNameFqn(keysByPkg);
-		keysByPkg.values().forEach(list -> list.sort(Comparator.comparing(TypeKey::text)));
+	/**
+	 * Populates the index from compilation units produced concurrently.
+	 *
+	 * <p>
+	 * Each accepted unit is turned into a partial index by the calling thread;
+	 * partials are kept in a concurrent map. {@link #complete()} merges them in
+	 * {@link UnitSortKey} order, so the resulting index is the same as
+	 * {@link DeclaredIndex#fill(List)} over the sorted units, including the "keep
+	 * first definition" rule for duplicate FQNs.
+	 */
+	public final class ConcurrentFill {
 
-		Map<String, TypeKey> seen = new LinkedHashMap<>();
-		Set<String> ambiguous = new LinkedHashSet<>();
+		private final Map<Long, UnitPartial> partials = new ConcurrentHashMap<>();
 
-		for (TypeKey k : byKey.keySet()) {
-			String simple = DeclaredIndex.simpleName(text(k));
-			TypeKey prior = seen.putIfAbsent(simple, k);
-			if (prior != null) {
-				ambiguous.add(simple);
+		private ConcurrentFill() {
+		}
+
+		/**
+		 * Accepts a compilation unit. Safe to call from several threads.
+		 *
+		 * @param sequence discovery order of the unit; must be unique
+		 * @param unit     parsed compilation unit
+		 */
+		public void accept(final long sequence, final CompilationUnit unit) {
+			if (partials.putIfAbsent(sequence, collectUnit(unit, sequence)) != null) {
+				throw new IllegalArgumentException("Duplicate unit sequence: " + sequence);
 			}
 		}
 
-		for (var e : seen.entrySet()) {
-			if (!ambiguous.contains(e.getKey())) {
-				uniqueBySimple.put(e.getKey(), e.getValue());
+		/**
+		 * Merges all accepted units into the index. Call once, after all
+		 * {@link #accept(long, CompilationUnit)} calls have returned.
+		 */
+		public void complete() {
+			List<UnitPartial> ordered = new ArrayList<>(partials.values());
+			ordered.sort(Comparator.comparing(UnitPartial::order));
+			merge(ordered);
+		}
+
+		/**
+		 * Merges all accepted units into the index, in the order of {@code units}.
+		 * Call once, after all {@link #accept(long, CompilationUnit)} calls have
+		 * returned.
+		 *
+		 * <p>
+		 * Use this variant when the caller already holds the units in their final
+		 * order; the result is the same as {@link DeclaredIndex#fill(List)} over
+		 * {@code units}.
+		 *
+		 * @param units exactly the accepted units, in merge order
+		 * @throws IllegalArgumentException if {@code units} and the accepted units
+		 *                                  differ
+		 */
+		public void complete(final List<CompilationUnit> units) {
+			Map<CompilationUnit, UnitPartial> byUnit = new IdentityHashMap<>();
+			for (UnitPartial partial : partials.values()) {
+				byUnit.put(partial.unit(), partial);
+			}
+
+			List<UnitPartial> ordered = new ArrayList<>(units.size());
+			for (CompilationUnit unit : units) {
+				UnitPartial partial = byUnit.remove(unit);
+				if (partial == null) {
+					throw new IllegalArgumentException("Unit was not accepted or is repeated");
+				}
+				ordered.add(partial);
+			}
+			if (!byUnit.isEmpty()) {
+				throw new IllegalArgumentException("Accepted units missing from merge order: " + byUnit.size());
 			}
+			merge(ordered);
 		}
 
 	}
 
-	private void collectTypeRecursive(CompilationUnit unit, TypeDeclaration<?> td, String ownerFqn, String separator) {
+	private static UnitPartial collectUnit(CompilationUnit unit, long sequence) {
+		String pkg = unit.getPackageDeclaration().map(pd -> pd.getNameAsString()).orElse("");
+		List<Declared> declared = new ArrayList<>();
+		for (TypeDeclaration<?> td : unit.getTypes()) {
+			collectTypeRecursive(pkg, td, null, PACKAGE_SEPARATOR, -1, declared);
+		}
+		return new UnitPartial(UnitSortKey.of(unit, sequence), unit, declared);
+	}
+
+	private static void collectTypeRecursive(String pkg, TypeDeclaration<?> td, String ownerFqn, String separator,
+			int parent, List<Declared> out) {
 		String name = td.getNameAsString();
 		String fqn;
-		String pkg = unit.getPackageDeclaration().map(pd -> pd.getNameAsString()).orElse("");
 
 		if (ownerFqn == null) {
 			fqn = pkg.isEmpty() ? name : pkg + separator + name;
@@ -153,46 +263,115 @@ public class DeclaredIndex {
 			fqn = ownerFqn + separator + name;
 		}
 
-		TypeKey k = key(fqn);
-
-		fireTypeDiscovered(k);
-
-		if (byKey.containsKey(k)) {
-			logger.log(Level.WARNING, () -> "Attempt to redefine " + fqn);
-			logger.log(Level.WARNING, unit::toString);
-			logger.log(Level.WARNING, td::toString);
-			logger.log(Level.WARNING, () -> "Keeping first definition.");
-			return;
-		}
-
-		byKey.put(k, td);
-		pkgByKey.put(k, pkg);
+		int self = out.size();
+		out.add(new Declared(key(fqn), td, pkg, parent));
 
 		if (td instanceof ClassOrInterfaceDeclaration cid) {
 			cid.getMembers().forEach(m -> {
 				if (m instanceof TypeDeclaration<?> nested) {
-					collectTypeRecursive(unit, nested, fqn, "$");
+					collectTypeRecursive(pkg, nested, fqn, "$", self, out);
 				}
 			});
 		} else if (td instanceof EnumDeclaration ed) {
 			ed.getMembers().forEach(m -> {
 				if (m instanceof TypeDeclaration<?> nested) {
-					collectTypeRecursive(unit, nested, fqn, "$");
+					collectTypeRecursive(pkg, nested, fqn, "$", self, out);
 				}
 			});
 		}
 	}
 
+	/**
+	 * Merges partials in the given order, then builds the package grouping and
+	 * the simple name lookup.
+	 *
+	 * <p>
+	 * A redefined FQN keeps its first definition; types nested in a rejected
+	 * redefinition are rejected as well.
+	 */
+	private void merge(List<UnitPartial> partials) {
+		for (UnitPartial partial : partials) {
+			List<Declared> declared = partial.declared();
+			boolean[] rejected = new boolean[declared.size()];
+			for (int i = 0; i < declared.size(); i++) {
+				Declared d = declared.get(i);
+				if (d.parent() >= 0 && rejected[d.parent()]) {
+					rejected[i] = true;
+					continue;
+				}
+
+				fireTypeDiscovered(d.key());
+
+				if (byKey.containsKey(d.key())) {
+					logger.log(Level.WARNING, () -> "Attempt to redefine " + d.key());
+					logger.log(Level.WARNING, partial.unit()::toString);
+					logger.log(Level.WARNING, d.td()::toString);
+					logger.log(Level.WARNING, () -> "Keeping first definition.");
+					rejected[i] = true;
+					continue;
+				}
+
+				byKey.put(d.key(), d.td());
+				pkgByKey.put(d.key(), d.pkg());
+			}
+		}
+
+		for (Map.Entry<TypeKey, String> e : pkgByKey.entrySet()) {
+			TypeKey key = e.getKey();
+			String pkg = e.getValue();
+			keysByPkg.computeIfAbsent(pkg, ignored -> new ArrayList<>()).add(key);
+		}
+
+		keysByPkg = sortPackagesByNameFqn(keysByPkg);
+		keysByPkg.values().forEach(list -> list.sort(Comparator.comparing(TypeKey::text)));
+		keysByPkg.keySet().forEach(packageTrie::add);
+
+		Map<String, TypeKey> seen = new LinkedHashMap<>();
+		Set<String> ambiguous = new LinkedHashSet<>();
+
+		for (TypeKey k : byKey.keySet()) {
+			String simple = DeclaredIndex.simpleName(text(k));
+			TypeKey prior = seen.putIfAbsent(simple, k);
+			if (prior != null) {
+				ambiguous.add(simple);
+			}
+		}
+
+		for (var e : seen.entrySet()) {
+			if (!ambiguous.contains(e.getKey())) {
+				uniqueBySimple.put(e.getKey(), e.getValue());
+			}
+		}
+
+		List<String> names = new ArrayList<>(byKey.size() + seen.size());
+		byKey.keySet().forEach(k -> names.add(text(k)));
+		names.addAll(seen.keySet());
+		declaredNames = NameFilter.of(names);
+	}
+
+	/**
+	 * Registers types known by name only: their declarations are not indexed,
+	 * but references to them resolve to external types instead of unresolved
+	 * names.
+	 *
+	 * @param fqns fully qualified names of top-level types
+	 */
+	public void declareOnly(final Iterable<String> fqns) {
+		for (String fqn : fqns) {
+			declarationOnly.add(fqn);
+		}
+	}
+
 	public Iterable<String> fqnsInIndexOrder() {
 		return Collections.unmodifiableList(byKey.keySet().stream().map(TypeKey::text).toList());
 	}
 
 	public boolean containsFqn(String fqn) {
-		return byKey.containsKey(key(fqn));
+		return declaredNames.mightContain(fqn) && byKey.containsKey(key(fqn));
 	}
 
 	public TypeDeclaration<?> getByFqn(String fqn) {
-		return byKey.get(key(fqn));
+		return declaredNames.mightContain(fqn) ? byKey.get(key(fqn)) : null;
 	}
 
 	/**
@@ -217,6 +396,70 @@ public class DeclaredIndex {
 		return Collections.unmodifiableSet(keysByPkg.keySet());
 	}
 
+	/**
+	 * Lists the packages holding types at or under {@code pkg}, e.g. all of
+	 * {@code com.acme.billing} and its subpackages.
+	 *
+	 * @param pkg package name; {@code ""} for all packages
+	 * @return package names, each package before its subpackages, siblings
+	 *         sorted by name segment
+	 */
+	public List<String> packagesUnder(String pkg) {
+		return packageTrie.subtree(pkg);
+	}
+
+	/**
+	 * Lists the direct subpackages of {@code pkg}, including intermediate
+	 * packages that hold no types themselves.
+	 *
+	 * @param pkg package name; {@code ""} for the top-level packages
+	 * @return subpackage names, sorted by name segment
+	 */
+	public List<String> subpackagesOf(String pkg) {
+		return packageTrie.children(pkg);
+	}
+
+	/**
+	 * Lists the packages holding types that a filter selects. Subtrees the
+	 * filter cannot select from are not walked.
+	 *
+	 * @param filter package filter; must not be {@code null}
+	 * @return selected package names, each package before its subpackages
+	 */
+	public List<String> packagesSelectedBy(PackageFilter filter) {
+		if (filter.selectsAll()) {
+			return packagesUnder(EMPTY_STRING);
+		}
+		List<String> out = new ArrayList<>();
+		collectSelected(EMPTY_STRING, filter, out);
+		return out;
+	}
+
+	private void collectSelected(String pkg, PackageFilter filter, List<String> out) {
+		if (!filter.maySelectWithin(pkg)) {
+			return;
+		}
+		if (packageTrie.isDeclared(pkg) && filter.selects(pkg)) {
+			out.add(pkg);
+		}
+		for (String sub : subpackagesOf(pkg)) {
+			collectSelected(sub, filter, out);
+		}
+	}
+
+	/**
+	 * Collapses packages to at most {@code depth} name segments, e.g. depth 2
+	 * turns {@code com.acme.billing.api} into {@code com.acme}.
+	 *
+	 * @param depth maximum number of segments
+	 * @return collapsed packages holding types at or under them, each package
+	 *         before its subpackages
+	 * @throws IllegalArgumentException if {@code depth} is negative
+	 */
+	public List<String> packagesAtDepth(int depth) {
+		return packageTrie.atDepth(depth);
+	}
+
 	/** Deterministic type order inside the package (read-only). */
 	public Iterable<TypeDeclaration<?>> typesInPackageOrder(String pkg) {
 		List<TypeKey> keys = keysByPkg.get(pkg);
@@ -288,6 +531,12 @@ public class DeclaredIndex {
 				return Optional.of(new DeclaredTypeRef(td));
 			}
 
+			Optional<String> declaredOnly = findDeclarationOnly(cit);
+			if (declaredOnly.isPresent()) {
+				logger.log(Level.INFO, () -> "Declaration-only hit: " + declaredOnly.get());
+				return Optional.of(new ExternalTypeRef(declaredOnly.get()));
+			}
+
 			return Optional.of(new UnresolvedTypeRef(fallbackName));
 		}
 
@@ -300,6 +549,52 @@ public class DeclaredIndex {
 		return Optional.of(new UnresolvedTypeRef(label));
 	}
 
+	/*
+	 * Textual lookup in the declaration-only types, as the compiler would for the
+	 * outermost name: as written, single-type imports, same package, then
+	 * on-demand imports. Nested names keep their '$' form.
+	 */
+	private Optional<String> findDeclarationOnly(ClassOrInterfaceType cit) {
+		if (declarationOnly.isEmpty()) {
+			return Optional.empty();
+		}
+
+		String name = cit.getNameWithScope();
+		if (declarationOnly.contains(name)) {
+			return Optional.of(name);
+		}
+
+		int dot = name.indexOf(CHAR_PACKAGE_SEPARATOR);
+		String head = dot < 0 ? name : name.substring(0, dot);
+		String nested = dot < 0 ? "" : name.substring(dot).replace(CHAR_PACKAGE_SEPARATOR, CHAR_INNER_TYPE_SEPARATOR);
+
+		Optional<CompilationUnit> unit = cit.findCompilationUnit();
+		if (unit.isEmpty()) {
+			return Optional.empty();
+		}
+
+		List<String> candidates = new ArrayList<>();
+		String pkg = unit.get().getPackageDeclaration().map(pd -> pd.getNameAsString()).orElse("");
+		for (ImportDeclaration id : unit.get().getImports()) {
+			if (!id.isStatic() && !id.isAsterisk() && id.getName().getIdentifier().equals(head)) {
+				candidates.add(id.getNameAsString());
+			}
+		}
+		candidates.add(pkg.isEmpty() ? head : pkg + PACKAGE_SEPARATOR + head);
+		for (ImportDeclaration id : unit.get().getImports()) {
+			if (!id.isStatic() && id.isAsterisk()) {
+				candidates.add(id.getNameAsString() + PACKAGE_SEPARATOR + head);
+			}
+		}
+
+		for (String candidate : candidates) {
+			if (declarationOnly.contains(candidate)) {
+				return Optional.of(candidate + nested);
+			}
+		}
+		return Optional.empty();
+	}
+
 	private Optional<TypeRef> tryResolveWithSolver(ClassOrInterfaceType cit) {
 		// 1) Prefer SymbolSolver
 		try {
@@ -392,15 +687,18 @@ public class DeclaredIndex {
 			return null;
 		}
 
-		if (raw.contains(PACKAGE_SEPARATOR) && byKey.containsKey(key(raw))) {
-			return raw;
+		String simple = DeclaredIndex.simpleName(raw);
+		if (!declaredNames.mightContain(simple)) {
+			return null;
 		}
 
-		String simple = DeclaredIndex.simpleName(raw);
+		if (raw.contains(PACKAGE_SEPARATOR) && containsFqn(raw)) {
+			return raw;
+		}
 
 		String samePkg = (ownerPkg == null || ownerPkg.isEmpty()) ? simple : ownerPkg + PACKAGE_SEPARATOR + simple;
 
-		if (byKey.containsKey(key(samePkg))) {
+		if (containsFqn(samePkg)) {
 			return samePkg;
 		}
 
@@ -408,6 +706,17 @@ public class DeclaredIndex {
 		return unique == null ? null : unique.text();
 	}
 
+	/**
+	 * Tells whether a declared type might have the given simple name, without
+	 * touching the index maps.
+	 *
+	 * @param simpleName simple type name, e.g. {@code List}
+	 * @return {@code false} only if no declared type has that simple name
+	 */
+	boolean mightDeclareSimpleName(String simpleName) {
+		return declaredNames.mightContain(simpleName);
+	}
+
 	/**
 	 *
 	 * @param pkg
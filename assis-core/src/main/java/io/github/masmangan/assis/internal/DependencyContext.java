@@ -5,17 +5,50 @@
 
 package io.github.masmangan.assis.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
 import com.github.javaparser.ast.body.TypeDeclaration;
-import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.stmt.LocalClassDeclarationStmt;
+import com.github.javaparser.ast.stmt.LocalRecordDeclarationStmt;
+import com.github.javaparser.ast.type.ArrayType;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.Type;
-
-import io.github.masmangan.assis.io.PlantUMLWriter;
+import com.github.javaparser.ast.type.TypeParameter;
 
 /**
+ * Collects dependency edges for one or more top-level types.
+ *
+ * <p>
+ * Edges are kept in discovery order instead of being written right away, so
+ * several contexts can collect concurrently (one per top-level type) and be
+ * merged in index order later. The shared {@link EdgeRegistry} is only read
+ * while collecting; it holds the structural edges already emitted.
+ *
+ * <p>
+ * A type name written again in the same owner resolves to the same target.
+ * Each owner keeps the textual names it has resolved, with their type
+ * arguments, and the outcome; later uses of a known name reuse it instead of
+ * resolving again. Names that a type parameter or local type may shadow, and
+ * uses inside anonymous class bodies, are always resolved.
+ *
+ * <p>
+ * Every use is counted in a registry of this context, {@link #usages()}, even
+ * when its edge is already known, so the counts can be added to the shared
+ * registry once collection is over. Uses along an association are not
+ * counted: the association counts its fields, and no dependency is drawn
+ * next to it.
  *
  * @author Marco Mangan
  */
@@ -23,24 +56,176 @@ class DependencyContext {
 
 	private final DeclaredIndex idx;
 
-	private final PlantUMLWriter pw;
+	private final TypeUses uses;
 
 	private final EdgeRegistry er;
 
+	private final List<Relation> edges = new ArrayList<>();
+
+	/**
+	 * Edges used by this context, with their use counts
+	 */
+	private final EdgeRegistry usages = new EdgeRegistry();
+
+	/**
+	 * Slot of an edge that is not counted: a self use, or an association
+	 */
+	private static final int NOT_COUNTED = -1;
+
+	/**
+	 * Using type → used type FQN → slot in {@link #usages}, or
+	 * {@link #NOT_COUNTED}
+	 */
+	private final Map<TypeDeclaration<?>, Map<String, Integer>> slots = new IdentityHashMap<>();
+
+	/**
+	 * Declared type → FQN, derived once
+	 */
+	private final Map<TypeDeclaration<?>, String> fqns = new IdentityHashMap<>();
+
+	/**
+	 * Owner → textual type names already resolved in it → outcome
+	 */
+	private final Map<TypeDeclaration<?>, Map<String, Optional<TypeRef>>> knownNames = new IdentityHashMap<>();
+
+	/**
+	 * Owner → names declared inside it that may shadow an outer type
+	 */
+	private final Map<TypeDeclaration<?>, Set<String>> shadowingNames = new IdentityHashMap<>();
+
+	private final boolean reuseKnownNames;
+
+	private int skippedResolutions;
+
 	/**
 	 *
 	 * @param idx
-	 * @param pw
-	 * @param er
+	 * @param uses type uses resolved before emission
+	 * @param er   registry of already emitted edges; read-only for this context
 	 */
-	public DependencyContext(DeclaredIndex idx, PlantUMLWriter pw, EdgeRegistry er) {
+	public DependencyContext(DeclaredIndex idx, TypeUses uses, EdgeRegistry er) {
+		this(idx, uses, er, true);
+	}
+
+	/**
+	 *
+	 * @param idx
+	 * @param uses            type uses resolved before emission
+	 * @param er              registry of already emitted edges; read-only for
+	 *                        this context
+	 * @param reuseKnownNames {@code false} to resolve every use, even of a name
+	 *                        already resolved in its owner
+	 */
+	DependencyContext(DeclaredIndex idx, TypeUses uses, EdgeRegistry er, boolean reuseKnownNames) {
 		this.idx = idx;
-		this.pw = pw;
+		this.uses = uses;
 		this.er = er;
+		this.reuseKnownNames = reuseKnownNames;
 	}
 
 	public Optional<TypeRef> resolveTarget(Type typeNode) {
-		return idx.resolveTarget(typeNode);
+		return uses.target(typeNode);
+	}
+
+	/**
+	 * Returns the target of a type use, reusing the outcome when the same name
+	 * was already resolved for this owner.
+	 *
+	 * @param owner    type the use belongs to
+	 * @param typeNode type node of the use
+	 * @return the same as {@link #resolveTarget(Type)}
+	 */
+	public Optional<TypeRef> typeUseTarget(TypeDeclaration<?> owner, Type typeNode) {
+		String name = reuseKnownNames ? preKey(owner, typeNode) : null;
+		if (name == null) {
+			return resolveTarget(typeNode);
+		}
+		Map<String, Optional<TypeRef>> known = knownNames.computeIfAbsent(owner, ignored -> new HashMap<>());
+		Optional<TypeRef> target = known.get(name);
+		if (target != null) {
+			skippedResolutions++;
+			return target;
+		}
+		target = resolveTarget(typeNode);
+		known.put(name, target);
+		return target;
+	}
+
+	/**
+	 * Tells whether a field variable or record component is drawn as an
+	 * association, so its type is already counted by the association.
+	 *
+	 * <p>
+	 * The member counts as one only when its resolved target is the target of
+	 * an association already registered for the owner, so skipping its use
+	 * leaves the edges and their order as they would be otherwise. The textual
+	 * association rule alone may name a different type than the solver.
+	 *
+	 * @param owner  type the member belongs to
+	 * @param member variable declarator or record component
+	 * @param type   declared type of the member
+	 * @return {@code true} if the member becomes an association
+	 */
+	public boolean isAssociation(TypeDeclaration<?> owner, Node member, Type type) {
+		if (uses.association(member, DeclaredIndex.derivePkg(owner), fqnOf(owner), type) == null) {
+			return false;
+		}
+		Optional<TypeRef> target = resolveTarget(type);
+		return target.isPresent() && er.isRegistered(fqnOf(owner), fqnOf(target.get()));
+	}
+
+	/*
+	 * The textual name of a use, or null when it may resolve differently
+	 * elsewhere in the owner.
+	 */
+	private String preKey(TypeDeclaration<?> owner, Type typeNode) {
+		Type t = typeNode;
+		while (t instanceof ArrayType at) {
+			t = at.getComponentType();
+		}
+		if (!(t instanceof ClassOrInterfaceType cit) || inAnonymousBody(owner, cit)) {
+			return null;
+		}
+		Set<String> shadowing = shadowingNames.computeIfAbsent(owner, DependencyContext::shadowingNamesOf);
+		for (ClassOrInterfaceType named : cit.findAll(ClassOrInterfaceType.class)) {
+			String name = named.getNameWithScope();
+			int dot = name.indexOf('.');
+			if (shadowing.contains(dot < 0 ? name : name.substring(0, dot))) {
+				return null;
+			}
+		}
+		return cit.asString();
+	}
+
+	private static Set<String> shadowingNamesOf(TypeDeclaration<?> owner) {
+		Set<String> names = new HashSet<>();
+		owner.findAll(TypeParameter.class).forEach(tp -> names.add(tp.getNameAsString()));
+		owner.findAll(LocalClassDeclarationStmt.class)
+				.forEach(lc -> names.add(lc.getClassDeclaration().getNameAsString()));
+		owner.findAll(LocalRecordDeclarationStmt.class)
+				.forEach(lr -> names.add(lr.getRecordDeclaration().getNameAsString()));
+		return names;
+	}
+
+	private static boolean inAnonymousBody(TypeDeclaration<?> owner, Node site) {
+		Node cur = site;
+		while (cur != null && cur != owner) {
+			Node parent = cur.getParentNode().orElse(null);
+			if (cur instanceof BodyDeclaration<?> && parent instanceof ObjectCreationExpr) {
+				return true;
+			}
+			cur = parent;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns how many type uses skipped resolution.
+	 *
+	 * @return number of resolutions saved
+	 */
+	int skippedResolutions() {
+		return skippedResolutions;
 	}
 
 	/**
@@ -54,20 +239,45 @@ class DependencyContext {
 	}
 
 	/**
+	 * Counts one use of a type by another. Uses of a type by itself, and uses
+	 * along an association, which counts its own fields, are not counted.
 	 *
-	 * @param from
-	 * @param to
-	 * @return
+	 * <p>
+	 * The edge is looked up once per pair of types; later uses only bump its
+	 * count.
+	 *
+	 * @param from using type
+	 * @param to   used type
+	 * @return {@code true} if this is the first use of an edge that is neither
+	 *         an association nor known to this context, so it is to be added
 	 */
-	public boolean hasDependency(TypeDeclaration<?> from, TypeRef to) {
-		String fromFqn = DeclaredIndex.deriveFqnDollar(from);
-		final String toFqn;
+	public boolean countUse(TypeDeclaration<?> from, TypeRef to) {
+		Map<String, Integer> targets = slots.computeIfAbsent(from, ignored -> new HashMap<>());
+		String toFqn = fqnOf(to);
+		Integer slot = targets.get(toFqn);
+		boolean first = slot == null;
+		if (first) {
+			String fromFqn = fqnOf(from);
+			slot = fromFqn.equals(toFqn) || er.isRegistered(fromFqn, toFqn) ? NOT_COUNTED
+					: usages.slotOf(fromFqn, toFqn);
+			targets.put(toFqn, slot);
+		}
+		if (slot == NOT_COUNTED) {
+			return false;
+		}
+		usages.countUse(slot);
+		return first;
+	}
+
+	private String fqnOf(TypeDeclaration<?> td) {
+		return fqns.computeIfAbsent(td, DeclaredIndex::deriveFqnDollar);
+	}
+
+	private String fqnOf(TypeRef to) {
 		if (to instanceof DeclaredTypeRef dtr) {
-			toFqn = DeclaredIndex.deriveFqnDollar(dtr.declaration());
-		} else {
-			toFqn = to.displayName();
+			return fqnOf(dtr.declaration());
 		}
-		return er.isRegistered(fromFqn, toFqn);
+		return to.displayName();
 	}
 
 	/**
@@ -76,16 +286,12 @@ class DependencyContext {
 	 * @param to
 	 */
 	public void addDependency(TypeDeclaration<?> from, TypeRef to) {
-		String fromFqn = DeclaredIndex.deriveFqnDollar(from);
-		String toFqn = to.displayName();
-		if (to instanceof DeclaredTypeRef dtr) {
-			toFqn = DeclaredIndex.deriveFqnDollar(dtr.declaration());
-		}
+		String fromFqn = fqnOf(from);
+		String toFqn = fqnOf(to);
 		if (fromFqn.equals(toFqn)) {
 			return;
 		}
-		pw.connectDepends(fromFqn, toFqn);
-		er.registerDependency(fromFqn, toFqn);
+		add(Relation.of(RelationKind.DEPENDENCY, fromFqn, toFqn, false));
 	}
 
 	/**
@@ -94,26 +300,39 @@ class DependencyContext {
 	 * @param to
 	 */
 	public void addCherryPick(TypeDeclaration<?> from, TypeRef to) {
-		String fromFqn = DeclaredIndex.deriveFqnDollar(from);
-		final String toFqn;
-		if (to instanceof DeclaredTypeRef dtr) {
-			toFqn = DeclaredIndex.deriveFqnDollar(dtr.declaration());
-		} else {
-			toFqn = to.displayName();
-		}
+		String fromFqn = fqnOf(from);
+		String toFqn = fqnOf(to);
 		if (fromFqn.equals(toFqn)) {
 			return;
 		}
-		pw.withBeforeTag("@assis:cherry-pick ghost", () -> pw.connectDepends(fromFqn, toFqn));
-		er.registerDependency(fromFqn, toFqn);
+		add(Relation.of(RelationKind.DEPENDENCY, fromFqn, toFqn, true));
 	}
 
 	public Optional<TypeRef> resolveScope(NameExpr scopeExpr, Node usageSite) {
-	    return idx.resolveScope(scopeExpr, usageSite);
+		return uses.scope(scopeExpr, usageSite);
+	}
+
+	/**
+	 * Returns the collected edges, in discovery order.
+	 *
+	 * @return read-only list of edges
+	 */
+	List<Relation> edges() {
+		return Collections.unmodifiableList(edges);
 	}
-	
+
+	/**
+	 * Returns the use counts of every edge used by this context, including
+	 * edges already in the shared registry.
+	 *
+	 * @return registry of this context
+	 */
+	EdgeRegistry usages() {
+		return usages;
+	}
+
+	private void add(Relation edge) {
+		edges.add(edge);
+	}
+
 }
-		
-		
-		
-		
\ No newline at end of file
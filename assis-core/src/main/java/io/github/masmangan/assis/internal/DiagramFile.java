@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import io.github.masmangan.assis.AssisInfo;
+import io.github.masmangan.assis.io.PlantUMLWriter;
+
+/**
+ * Writes a PlantUML diagram file, in UTF-8, and the header shared by every
+ * diagram.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class DiagramFile {
+
+	private DiagramFile() {
+	}
+
+	/**
+	 * Writes a diagram file, between its start and end lines.
+	 *
+	 * @param file destination file
+	 * @param name diagram name
+	 * @param body writes the diagram contents
+	 */
+	static void write(Path file, String name, Consumer<PlantUMLWriter> body) {
+		try (PlantUMLWriter pw = new PlantUMLWriter(
+				new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8)));) {
+			pw.beginDiagram(name);
+
+			body.accept(pw);
+
+			pw.println();
+
+			pw.endDiagram(name);
+
+		} catch (IOException e) {
+			throw new IllegalStateException("Error writing diagram file", e);
+		}
+	}
+
+	static void writeHeader(final PlantUMLWriter pw, final String title) {
+		pw.println();
+		pw.println("mainframe " + title);
+		pw.println();
+		pw.println("hide empty members");
+		pw.println();
+		pw.println("!theme blueprint");
+		pw.println("!pragma useIntermediatePackages false");
+		pw.println();
+		pw.println("left to right direction");
+		pw.println();
+		pw.println("' Diagram generated by ASSIS (%s).".formatted(AssisInfo.versionOrDev()));
+		pw.println("' https://github.com/masmangan/assis");
+		pw.println();
+	}
+
+	/**
+	 * Writes the style of types and packages in a cycle.
+	 *
+	 * @param pw     destination writer
+	 * @param cycles cycles found; {@code null} when not looked for
+	 */
+	static void writeCycleStyle(final PlantUMLWriter pw, final CycleReport cycles) {
+		if (cycles == null) {
+			return;
+		}
+		pw.println("skinparam classBackgroundColor" + CycleReport.STEREOTYPE + " IndianRed");
+		pw.println("skinparam packageBackgroundColor" + CycleReport.STEREOTYPE + " IndianRed");
+		pw.println();
+	}
+
+}
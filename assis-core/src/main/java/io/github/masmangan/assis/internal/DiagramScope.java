@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.github.masmangan.assis.DiagramOptions;
+import io.github.masmangan.assis.util.PackageFilter;
+
+/**
+ * The declared types a diagram draws, and so the edges it keeps.
+ *
+ * <p>
+ * An edge is kept when its source is drawn and its target is either drawn or
+ * not a declared type: external and unresolved targets stay, as in a full
+ * diagram, while edges to declared types left out are dropped. Declared types
+ * left out by the package filter are targets like external types.
+ *
+ * <p>
+ * {@link #select} narrows the scope by the package filter, the subtypes of a
+ * type and the neighborhood of focus types, as set in the options.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class DiagramScope {
+
+	private static final Logger logger = Logger.getLogger(DiagramScope.class.getName());
+
+	private final DeclaredIndex idx;
+
+	/**
+	 * FQNs of drawn types, or {@code null} for all
+	 */
+	private final Set<String> shown;
+
+	/**
+	 * FQNs of declared types whose edges are kept as if they were external
+	 */
+	private final Set<String> outside;
+
+	private DiagramScope(DeclaredIndex idx, Set<String> shown, Set<String> outside) {
+		this.idx = idx;
+		this.shown = shown;
+		this.outside = outside;
+	}
+
+	/**
+	 * A scope drawing every declared type.
+	 *
+	 * @param idx index of declared types
+	 * @return the full scope
+	 */
+	static DiagramScope all(DeclaredIndex idx) {
+		return new DiagramScope(idx, null, Set.of());
+	}
+
+	/**
+	 * A scope drawing the given declared types only.
+	 *
+	 * @param idx  index of declared types
+	 * @param fqns FQNs of the types to draw; names not declared are ignored
+	 * @return the restricted scope
+	 */
+	static DiagramScope of(DeclaredIndex idx, Set<String> fqns) {
+		return of(idx, fqns, Set.of());
+	}
+
+	/**
+	 * A scope drawing the given declared types only, and keeping edges to some
+	 * declared types left out as if they were external.
+	 *
+	 * @param idx     index of declared types
+	 * @param fqns    FQNs of the types to draw; names not declared are ignored
+	 * @param outside FQNs of declared types kept as edge targets
+	 * @return the restricted scope
+	 */
+	static DiagramScope of(DeclaredIndex idx, Set<String> fqns, Set<String> outside) {
+		return new DiagramScope(idx, Set.copyOf(fqns), Set.copyOf(outside));
+	}
+
+	/**
+	 * Selects the types to draw: all of them, or those kept by
+	 * {@link DiagramOptions#getPackageFilter()}, {@link DiagramOptions#getSubtypesOf()}
+	 * and {@link DiagramOptions#getFocus()} when set.
+	 *
+	 * <p>
+	 * The package filter is normally applied during discovery already; it is
+	 * applied again here, through the package trie of the index, for sources
+	 * discovered without it.
+	 *
+	 * @param idx     index of declared types
+	 * @param options generation options
+	 * @param uses    type uses resolved before emission
+	 * @param graph   graph of the collected relationships
+	 * @return the scope
+	 */
+	static DiagramScope select(DeclaredIndex idx, DiagramOptions options, TypeUses uses, TypeGraph graph) {
+		PackageFilter packages = options.getPackageFilter();
+		String root = options.getSubtypesOf();
+		List<String> focus = options.getFocus();
+		if (packages.selectsAll() && root == null && focus.isEmpty()) {
+			return all(idx);
+		}
+
+		Set<String> shown = null;
+		Set<String> outside = Set.of();
+		if (!packages.selectsAll()) {
+			shown = new HashSet<>();
+			for (String pkg : idx.packagesSelectedBy(packages)) {
+				for (var td : idx.typesInPackageOrder(pkg)) {
+					shown.add(DeclaredIndex.deriveFqnDollar(td));
+				}
+			}
+			outside = new HashSet<>();
+			for (String fqn : idx.fqnsInIndexOrder()) {
+				if (!shown.contains(fqn)) {
+					outside.add(fqn);
+				}
+			}
+			int leftOut = outside.size();
+			logger.log(Level.INFO, () -> "Types left out by the package filter: " + leftOut);
+		}
+		if (root != null) {
+			Set<String> subtypes = new HashSet<>(InheritanceIndex.of(idx, uses).subtypesOf(root));
+			if (idx.containsFqn(root)) {
+				subtypes.add(root);
+			}
+			if (subtypes.isEmpty()) {
+				logger.log(Level.WARNING, () -> "No declared type is or extends " + root);
+			}
+			shown = retain(shown, subtypes);
+		}
+		if (!focus.isEmpty()) {
+			for (String fqn : focus) {
+				if (graph.id(fqn) < 0) {
+					logger.log(Level.WARNING, () -> "Focus type not found: " + fqn);
+				}
+			}
+			Set<String> near = new HashSet<>();
+			for (String fqn : graph.neighborhood(focus, options.getDepth())) {
+				if (idx.containsFqn(fqn)) {
+					near.add(fqn);
+				}
+			}
+			logger.log(Level.INFO, () -> "Types within " + options.getDepth() + " hops of focus: " + near.size());
+			shown = retain(shown, near);
+		}
+		return of(idx, shown, outside);
+	}
+
+	private static Set<String> retain(Set<String> shown, Set<String> kept) {
+		if (shown == null) {
+			return kept;
+		}
+		shown.retainAll(kept);
+		return shown;
+	}
+
+	/**
+	 * Tells whether a declared type is drawn.
+	 *
+	 * @param fqn type FQN
+	 * @return {@code true} if the type is drawn
+	 */
+	boolean shows(String fqn) {
+		return shown == null || shown.contains(fqn);
+	}
+
+	/**
+	 * Tells whether an edge is drawn.
+	 *
+	 * @param fromFqn source type FQN
+	 * @param toFqn   target type FQN or display name
+	 * @return {@code true} if the source is drawn and the target is drawn, not
+	 *         declared, or outside the package filter
+	 */
+	boolean showsEdge(String fromFqn, String toFqn) {
+		return shown == null || (shown.contains(fromFqn)
+				&& (shown.contains(toFqn) || !idx.containsFqn(toFqn) || outside.contains(toFqn)));
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The relationships of a diagram that fit a size budget: at most a given
+ * number of edges, and of external types (types used but not declared,
+ * including cherry-pick ghosts).
+ *
+ * <p>
+ * Edges are admitted by priority, then in drawing order: structural edges
+ * (inheritance, nesting, association) to declared types, structural edges to
+ * external types, dependencies to declared types, and dependencies to external
+ * types. An edge to an external type not yet drawn is left out once the
+ * external type budget is spent. Admitted edges keep their drawing order, so
+ * the output is deterministic.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class EdgeBudget {
+
+	private static final int PRIORITIES = 4;
+
+	private final List<Relation> kept;
+
+	private final int elidedEdges;
+
+	private final int elidedExternalTypes;
+
+	private EdgeBudget(List<Relation> kept, int elidedEdges, int elidedExternalTypes) {
+		this.kept = kept;
+		this.elidedEdges = elidedEdges;
+		this.elidedExternalTypes = elidedExternalTypes;
+	}
+
+	/**
+	 * Selects the relationships that fit the budget.
+	 *
+	 * @param idx              index of declared types; must not be {@code null}
+	 * @param relations        relationships, in drawing order
+	 * @param maxEdges         maximum number of edges; {@code 0} for no limit
+	 * @param maxExternalTypes maximum number of external types; {@code 0} for no
+	 *                         limit
+	 * @return the selection
+	 */
+	static EdgeBudget of(DeclaredIndex idx, List<Relation> relations, int maxEdges, int maxExternalTypes) {
+		int edgeLimit = maxEdges == 0 ? Integer.MAX_VALUE : maxEdges;
+		int externalLimit = maxExternalTypes == 0 ? Integer.MAX_VALUE : maxExternalTypes;
+
+		// bucket edges by priority; each bucket keeps drawing order
+		List<List<Integer>> byPriority = new ArrayList<>(PRIORITIES);
+		for (int p = 0; p < PRIORITIES; p++) {
+			byPriority.add(new ArrayList<>());
+		}
+		for (int i = 0; i < relations.size(); i++) {
+			Relation r = relations.get(i);
+			int priority = (r.kind() == RelationKind.DEPENDENCY ? 2 : 0) + (idx.containsFqn(r.toFqn()) ? 0 : 1);
+			byPriority.get(priority).add(i);
+		}
+
+		BitSet admitted = new BitSet(relations.size());
+		Set<String> externalTypes = new HashSet<>();
+		Set<String> elidedTypes = new HashSet<>();
+		int count = 0;
+		for (List<Integer> bucket : byPriority) {
+			for (int i : bucket) {
+				String target = relations.get(i).toFqn();
+				boolean external = !idx.containsFqn(target);
+				if (external && !externalTypes.contains(target) && externalTypes.size() >= externalLimit) {
+					elidedTypes.add(target);
+					continue;
+				}
+				if (count >= edgeLimit) {
+					continue;
+				}
+				if (external) {
+					externalTypes.add(target);
+				}
+				admitted.set(i);
+				count++;
+			}
+		}
+
+		List<Relation> kept = new ArrayList<>(count);
+		for (int i = admitted.nextSetBit(0); i >= 0; i = admitted.nextSetBit(i + 1)) {
+			kept.add(relations.get(i));
+		}
+		return new EdgeBudget(kept, relations.size() - count, elidedTypes.size());
+	}
+
+	/**
+	 * Returns the relationships that fit the budget.
+	 *
+	 * @return relationships, in drawing order
+	 */
+	List<Relation> relations() {
+		return kept;
+	}
+
+	/**
+	 * Returns the number of relationships left out.
+	 *
+	 * @return edge count
+	 */
+	int elidedEdges() {
+		return elidedEdges;
+	}
+
+	/**
+	 * Returns the number of external types left out by the external type budget.
+	 *
+	 * @return type count
+	 */
+	int elidedExternalTypes() {
+		return elidedExternalTypes;
+	}
+
+}
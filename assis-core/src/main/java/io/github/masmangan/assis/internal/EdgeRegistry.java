@@ -5,35 +5,121 @@
 
 package io.github.masmangan.assis.internal;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 record RelKey(String fromFqn, String toFqn) {
 }
 
 /**
+ * Edges already found, with how many uses produce each one: the fields of an
+ * association, and the fields, parameters, casts, calls and other type uses of
+ * a dependency.
+ *
+ * <p>
+ * Each edge gets a slot when first registered; use counts are kept in a
+ * primitive array indexed by slot, so counting a use by slot does not
+ * allocate. Callers look a slot up once per edge and keep it.
  *
  * @since 0.9.5
  * @author Marco Mangan
  */
 public class EdgeRegistry {
 
-	private final Set<RelKey> seen = new HashSet<>();
+	private static final int INITIAL_SLOTS = 16;
+
+	/**
+	 * Edge → slot in {@link #uses}, in registration order
+	 */
+	private final Map<RelKey, Integer> slots = new HashMap<>();
+
+	private int[] uses = new int[INITIAL_SLOTS];
 
+	/**
+	 * Registers an association, counting the field or record component that
+	 * produces it.
+	 *
+	 * @param from owner type FQN
+	 * @param to   target type FQN
+	 */
 	public void registerAssociation(String from, String to) {
-		register(from, to);
+		int slot = slotOf(from, to);
+		uses[slot]++;
 	}
 
 	public boolean isRegistered(String from, String to) {
-		return seen.contains(new RelKey(from, to));
+		return slots.containsKey(new RelKey(from, to));
 	}
 
+	/**
+	 * Registers a dependency; its uses are counted with {@link #countUse(int)}
+	 * where they are found.
+	 *
+	 * @param from source type FQN
+	 * @param to   target type FQN
+	 */
 	public void registerDependency(String from, String to) {
-		register(from, to);
+		slotOf(from, to);
+	}
+
+	/**
+	 * Returns the slot of an edge, registering the edge if needed. Uses are then
+	 * counted by slot with {@link #countUse(int)}.
+	 *
+	 * @param from using type FQN
+	 * @param to   used type FQN
+	 * @return slot of the edge
+	 */
+	int slotOf(String from, String to) {
+		return slotOf(new RelKey(from, to));
+	}
+
+	/**
+	 * Counts one use of an edge.
+	 *
+	 * @param slot slot returned by {@link #slotOf(String, String)}
+	 */
+	void countUse(int slot) {
+		uses[slot]++;
+	}
+
+	/**
+	 * Adds the use counts of another registry to this one, registering its edges.
+	 *
+	 * @param other registry to add; left unchanged
+	 */
+	public void addUses(EdgeRegistry other) {
+		for (var e : other.slots.entrySet()) {
+			// slotOf may grow the array, so it runs before the array is read
+			int slot = slotOf(e.getKey());
+			uses[slot] += other.uses[e.getValue()];
+		}
+	}
+
+	/**
+	 * Returns how many uses produce an edge.
+	 *
+	 * @param from source type FQN
+	 * @param to   target type FQN
+	 * @return use count; {@code 0} if the edge is not registered
+	 */
+	public int usesOf(String from, String to) {
+		Integer slot = slots.get(new RelKey(from, to));
+		return slot == null ? 0 : uses[slot];
 	}
 
-	private void register(String from, String to) {
-		seen.add(new RelKey(from, to));
+	private int slotOf(RelKey key) {
+		Integer slot = slots.get(key);
+		if (slot != null) {
+			return slot;
+		}
+		int next = slots.size();
+		if (next == uses.length) {
+			uses = Arrays.copyOf(uses, next * 2);
+		}
+		slots.put(key, next);
+		return next;
 	}
 
 }
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.type.ArrayType;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+
+import io.github.masmangan.assis.DiagramOptions;
+import io.github.masmangan.assis.util.PackageFilter;
+
+/**
+ * Which external types (types used but not declared in the sources) are left
+ * out of the diagram: JDK types, and types whose package is not selected by a
+ * {@link PackageFilter}.
+ *
+ * <p>
+ * A use is classified before resolution when its name can be read from the
+ * compilation unit alone: a qualified name as written, a single-type import, an
+ * implicit {@code java.lang} type, or a JDK type on an on-demand import. Such a
+ * use is neither resolved nor drawn. A name whose first or last segment a
+ * declared type might have is never classified this way, so declared types are
+ * always resolved and never dropped, even when written fully qualified. Other
+ * uses are resolved as usual, and the outcome is dropped if the policy says so.
+ *
+ * <p>
+ * The package of an external name is made of its leading lower case segments,
+ * so {@code java.util.Map.Entry} is in {@code java.util}; an unresolved simple
+ * name is in the default package. JDK types are those in the packages of the
+ * {@code java.*} and {@code jdk.*} modules of the running JVM. The policy is
+ * read-only, so it may be used concurrently.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class ExternalTypePolicy {
+
+	/**
+	 * Keeps every external type.
+	 */
+	static final ExternalTypePolicy KEEP_ALL = new ExternalTypePolicy(false, PackageFilter.ALL);
+
+	private static final String JAVA_LANG = "java.lang.";
+
+	/**
+	 * What a use is found to be before resolution.
+	 */
+	enum Use {
+
+		/**
+		 * An external type left out; not to be resolved.
+		 */
+		DROPPED,
+
+		/**
+		 * An external type drawn; the solver outcome is kept as is.
+		 */
+		KEPT,
+
+		/**
+		 * Not known without the solver; the outcome decides.
+		 */
+		UNCLASSIFIED
+
+	}
+
+	private final boolean dropJdk;
+
+	private final PackageFilter packages;
+
+	private ExternalTypePolicy(boolean dropJdk, PackageFilter packages) {
+		this.dropJdk = dropJdk;
+		this.packages = packages;
+	}
+
+	/**
+	 * Creates the policy set by the options.
+	 *
+	 * @param options generation options; must not be {@code null}
+	 * @return the policy
+	 */
+	static ExternalTypePolicy of(DiagramOptions options) {
+		if (!options.isDropJdkTypes() && options.getExternalTypeFilter().selectsAll()) {
+			return KEEP_ALL;
+		}
+		return new ExternalTypePolicy(options.isDropJdkTypes(), options.getExternalTypeFilter());
+	}
+
+	/**
+	 * Tells whether this policy keeps every external type.
+	 *
+	 * @return {@code true} if nothing is dropped
+	 */
+	boolean keepsAll() {
+		return this == KEEP_ALL;
+	}
+
+	/**
+	 * Tells whether an external type is dropped.
+	 *
+	 * @param name FQN, nested types in {@code .} or {@code $} form, or an
+	 *             unresolved name
+	 * @return {@code true} if the type is left out
+	 */
+	boolean drops(String name) {
+		String pkg = packageOf(name);
+		return (dropJdk && JdkTypes.isPackage(pkg)) || !packages.selects(pkg);
+	}
+
+	/**
+	 * Classifies a type use before resolution, from its name and the imports of
+	 * its compilation unit.
+	 *
+	 * @param idx      index of declared types; must not be {@code null}
+	 * @param typeNode type node of the use
+	 * @return what the use is found to be
+	 */
+	Use classifyUse(DeclaredIndex idx, Type typeNode) {
+		if (keepsAll()) {
+			return Use.UNCLASSIFIED;
+		}
+		Type t = typeNode;
+		while (t instanceof ArrayType at) {
+			t = at.getComponentType();
+		}
+		if (!(t instanceof ClassOrInterfaceType cit)) {
+			return Use.UNCLASSIFIED;
+		}
+		return verdict(classify(idx, cit.getNameWithScope(), cit));
+	}
+
+	/**
+	 * Classifies the scope of a method call before resolution, when it names a
+	 * type, as in {@code Objects.requireNonNull(x)}. Scopes that may be variables
+	 * are not classified.
+	 *
+	 * @param idx       index of declared types; must not be {@code null}
+	 * @param scopeExpr scope of the call
+	 * @return what the scope is found to be
+	 */
+	Use classifyScope(DeclaredIndex idx, NameExpr scopeExpr) {
+		String name = scopeExpr.getNameAsString();
+		if (keepsAll() || !Character.isUpperCase(name.charAt(0))) {
+			return Use.UNCLASSIFIED;
+		}
+		return verdict(classify(idx, name, scopeExpr));
+	}
+
+	private Use verdict(Optional<String> fqn) {
+		if (fqn.isEmpty()) {
+			return Use.UNCLASSIFIED;
+		}
+		return drops(fqn.get()) ? Use.DROPPED : Use.KEPT;
+	}
+
+	/**
+	 * Tells whether the outcome of an unclassified use is dropped. Declared types
+	 * never are.
+	 *
+	 * @param ref resolution outcome
+	 * @return {@code true} if the target is left out
+	 */
+	boolean dropsResolved(TypeRef ref) {
+		if (keepsAll() || ref instanceof DeclaredTypeRef) {
+			return false;
+		}
+		return drops(ref.displayName());
+	}
+
+	/*
+	 * The FQN a name stands for, read from the unit it is written in, or empty
+	 * when it needs the solver.
+	 */
+	private static Optional<String> classify(DeclaredIndex idx, String name, Node site) {
+		int dot = name.indexOf('.');
+		String head = dot < 0 ? name : name.substring(0, dot);
+		String rest = dot < 0 ? "" : name.substring(dot);
+		if (head.isEmpty() || idx.mightDeclareSimpleName(head)
+				|| idx.mightDeclareSimpleName(DeclaredIndex.simpleName(name))) {
+			return Optional.empty();
+		}
+		if (dot > 0 && Character.isLowerCase(head.charAt(0))) {
+			return Optional.of(name);
+		}
+
+		Optional<CompilationUnit> unit = site.findCompilationUnit();
+		if (unit.isEmpty()) {
+			return Optional.empty();
+		}
+		for (ImportDeclaration id : unit.get().getImports()) {
+			if (!id.isStatic() && !id.isAsterisk() && id.getName().getIdentifier().equals(head)) {
+				return Optional.of(id.getNameAsString() + rest);
+			}
+		}
+		if (JdkTypes.exists(JAVA_LANG + head)) {
+			return Optional.of(JAVA_LANG + name);
+		}
+		for (ImportDeclaration id : unit.get().getImports()) {
+			if (!id.isStatic() && id.isAsterisk() && JdkTypes.exists(id.getNameAsString() + "." + head)) {
+				return Optional.of(id.getNameAsString() + "." + name);
+			}
+		}
+		return Optional.empty();
+	}
+
+	private static String packageOf(String name) {
+		String[] segments = name.split("[.$]");
+		StringBuilder pkg = new StringBuilder();
+		for (int i = 0; i < segments.length - 1; i++) {
+			if (segments[i].isEmpty() || !Character.isLowerCase(segments[i].charAt(0))) {
+				break;
+			}
+			if (i > 0) {
+				pkg.append('.');
+			}
+			pkg.append(segments[i]);
+		}
+		return pkg.toString();
+	}
+
+	/**
+	 * Types of the running JDK, looked up once per name.
+	 */
+	private static final class JdkTypes {
+
+		private static final Set<String> PACKAGES = packages();
+
+		private static final Map<String, Boolean> EXISTS = new ConcurrentHashMap<>();
+
+		private static Set<String> packages() {
+			Set<String> out = new HashSet<>();
+			for (Module m : ModuleLayer.boot().modules()) {
+				if (m.getName().startsWith("java.") || m.getName().startsWith("jdk.")) {
+					out.addAll(m.getPackages());
+				}
+			}
+			return out;
+		}
+
+		static boolean isPackage(String pkg) {
+			return PACKAGES.contains(pkg);
+		}
+
+		static boolean exists(String fqn) {
+			int dot = fqn.lastIndexOf('.');
+			if (dot < 0 || !isPackage(fqn.substring(0, dot))) {
+				return false;
+			}
+			return EXISTS.computeIfAbsent(fqn, JdkTypes::load);
+		}
+
+		private static boolean load(String fqn) {
+			try {
+				Class.forName(fqn, false, ClassLoader.getPlatformClassLoader());
+				return true;
+			} catch (ClassNotFoundException | LinkageError e) {
+				return false;
+			}
+		}
+
+	}
+
+}
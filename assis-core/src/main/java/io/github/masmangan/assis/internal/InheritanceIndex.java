@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+/**
+ * Reverse inheritance index: supertype → direct subtypes, with the transitive
+ * closure computed on demand.
+ *
+ * <p>
+ * Supertypes are the resolved {@code extends} and {@code implements} targets
+ * recorded by {@link TypeUses}: declared types by their FQN, external types by
+ * their qualified name. Unresolved supertypes are left out. Subtypes are always
+ * declared types, listed in index order.
+ *
+ * <p>
+ * The closure of a type is computed the first time it is asked for, in time
+ * proportional to its size, and kept. Inheritance cycles in broken sources are
+ * tolerated.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class InheritanceIndex {
+
+	private final Map<String, List<String>> directSubtypes = new HashMap<>();
+
+	private final Map<String, List<String>> subtypes = new HashMap<>();
+
+	private InheritanceIndex() {
+	}
+
+	/**
+	 * Builds the index from the supertypes of every indexed type.
+	 *
+	 * @param idx  index of declared types; must not be {@code null}
+	 * @param uses resolved type uses; must not be {@code null}
+	 * @return the reverse inheritance index
+	 */
+	static InheritanceIndex of(DeclaredIndex idx, TypeUses uses) {
+		InheritanceIndex index = new InheritanceIndex();
+		for (var td : idx.typesInIndexOrder()) {
+			String subFqn = DeclaredIndex.deriveFqnDollar(td);
+			for (ClassOrInterfaceType supertype : supertypesOf(td)) {
+				targetFqn(uses.target(supertype)).ifPresent(superFqn -> index.directSubtypes
+						.computeIfAbsent(superFqn, ignored -> new ArrayList<>()).add(subFqn));
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the {@code extends} types, then the {@code implements} types, of a
+	 * declaration.
+	 *
+	 * @param td type declaration
+	 * @return supertype nodes in source order
+	 */
+	static List<ClassOrInterfaceType> supertypesOf(TypeDeclaration<?> td) {
+		List<ClassOrInterfaceType> out = new ArrayList<>();
+		if (td instanceof ClassOrInterfaceDeclaration cid) {
+			out.addAll(cid.getExtendedTypes());
+			out.addAll(cid.getImplementedTypes());
+		} else if (td instanceof EnumDeclaration ed) {
+			out.addAll(ed.getImplementedTypes());
+		} else if (td instanceof RecordDeclaration rd) {
+			out.addAll(rd.getImplementedTypes());
+		}
+		return out;
+	}
+
+	private static Optional<String> targetFqn(Optional<TypeRef> target) {
+		if (target.isPresent() && target.get() instanceof DeclaredTypeRef dtr) {
+			return Optional.of(DeclaredIndex.deriveFqnDollar(dtr.declaration()));
+		}
+		if (target.isPresent() && target.get() instanceof ExternalTypeRef etr) {
+			return Optional.of(etr.fqn());
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns every type that extends or implements a type, directly or not.
+	 *
+	 * @param fqn FQN of a declared or external type
+	 * @return subtypes, breadth first, each level in index order; never includes
+	 *         {@code fqn} itself
+	 */
+	List<String> subtypesOf(String fqn) {
+		return subtypes.computeIfAbsent(fqn, this::closureOf);
+	}
+
+	private List<String> closureOf(String fqn) {
+		Set<String> seen = new LinkedHashSet<>();
+		Deque<String> pending = new ArrayDeque<>();
+		pending.add(fqn);
+		while (!pending.isEmpty()) {
+			for (String sub : directSubtypes.getOrDefault(pending.poll(), List.of())) {
+				if (!sub.equals(fqn) && seen.add(sub)) {
+					pending.add(sub);
+				}
+			}
+		}
+		return List.copyOf(seen);
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.Collection;
+
+/**
+ * Bloom filter of names, answering "surely absent" without touching the index
+ * maps.
+ *
+ * <p>
+ * {@link #mightContain(String)} never returns {@code false} for an added name;
+ * it returns {@code true} for an absent one with a small probability (about
+ * 0.3% with the default sizing). The filter is built once and read-only after,
+ * so concurrent reads are safe.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class NameFilter {
+
+	/**
+	 * Bits per name; with {@link #PROBES} probes, about 0.3% false positives.
+	 */
+	private static final int BITS_PER_NAME = 16;
+
+	private static final int PROBES = 4;
+
+	private static final int MIN_BITS = 64;
+
+	private final long[] bits;
+
+	private final int mask;
+
+	private NameFilter(int names) {
+		int wanted = Math.max(MIN_BITS, names * BITS_PER_NAME);
+		int size = Integer.highestOneBit(wanted - 1) << 1;
+		this.bits = new long[size >>> 6];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Builds a filter holding the given names.
+	 *
+	 * @param names names to add; must not contain {@code null}
+	 * @return a filter that might contain exactly those names
+	 */
+	static NameFilter of(Collection<String> names) {
+		NameFilter filter = new NameFilter(names.size());
+		for (String name : names) {
+			filter.add(name);
+		}
+		return filter;
+	}
+
+	private void add(String name) {
+		int h1 = name.hashCode();
+		int h2 = mix(h1);
+		for (int i = 0; i < PROBES; i++) {
+			int bit = (h1 + i * h2) & mask;
+			bits[bit >>> 6] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * Tells whether a name might have been added.
+	 *
+	 * @param name name to test; must not be {@code null}
+	 * @return {@code false} only if {@code name} was surely not added
+	 */
+	boolean mightContain(String name) {
+		int h1 = name.hashCode();
+		int h2 = mix(h1);
+		for (int i = 0; i < PROBES; i++) {
+			int bit = (h1 + i * h2) & mask;
+			if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of bits of the filter.
+	 *
+	 * @return a power of two, at least {@value #MIN_BITS}
+	 */
+	int bitCount() {
+		return mask + 1;
+	}
+
+	/*
+	 * Second hash for double hashing (MurmurHash3 finalizer); odd, so probes
+	 * differ.
+	 */
+	private static int mix(int h) {
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h | 1;
+	}
+
+}
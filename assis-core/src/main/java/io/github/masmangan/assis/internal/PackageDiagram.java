@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import io.github.masmangan.assis.io.PlantUMLWriter;
+
+/**
+ * Package to package dependencies, aggregated from type relationships.
+ *
+ * <p>
+ * Every relationship between declared types in different packages adds one to
+ * the weight of the edge between their packages; nesting edges never cross
+ * packages and relationships to external types or unresolved names are not
+ * counted. Packages may be collapsed to their first name segments, so
+ * {@code com.acme.billing.api} and {@code com.acme.billing.impl} both count as
+ * {@code com.acme.billing} at depth 3.
+ *
+ * <p>
+ * Packages are collapsed with the package trie of the index, so depth means
+ * the same here as in {@link DeclaredIndex#packagesAtDepth(int)}. Packages have
+ * dense int ids in {@link DeclaredIndex#packagesInIndexOrder()} order, a
+ * collapsed package taking the position of its first member. The
+ * relationships are aggregated in a single pass; edges are drawn by source,
+ * then target, in package order.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class PackageDiagram {
+
+	private final List<String> packages;
+
+	/**
+	 * (source id &lt;&lt; 32 | target id) → weight, sorted by source, then target
+	 */
+	private final Map<Long, int[]> weights;
+
+	private PackageDiagram(List<String> packages, Map<Long, int[]> weights) {
+		this.packages = packages;
+		this.weights = weights;
+	}
+
+	/**
+	 * Aggregates the relationships of the drawn types into package edges.
+	 *
+	 * @param idx       index of declared types; must not be {@code null}
+	 * @param relations relationships, in drawing order
+	 * @param scope     types to draw; other types and their edges are left out
+	 * @param depth     maximum number of package name segments; {@code 0} keeps
+	 *                  full package names
+	 * @return the package diagram
+	 */
+	static PackageDiagram of(DeclaredIndex idx, List<Relation> relations, DiagramScope scope, int depth) {
+		Map<String, String> collapsed = collapsed(idx, depth);
+		Map<String, Integer> ids = new LinkedHashMap<>();
+		Map<String, Integer> idByFqn = new HashMap<>();
+		for (String pkg : idx.packagesInIndexOrder()) {
+			for (var td : idx.typesInPackageOrder(pkg)) {
+				String fqn = DeclaredIndex.deriveFqnDollar(td);
+				if (scope.shows(fqn)) {
+					idByFqn.put(fqn, ids.computeIfAbsent(collapsed.getOrDefault(pkg, pkg), ignored -> ids.size()));
+				}
+			}
+		}
+
+		Map<Long, int[]> weights = new TreeMap<>();
+		for (Relation r : relations) {
+			Integer from = idByFqn.get(r.fromFqn());
+			Integer to = idByFqn.get(r.toFqn());
+			if (from != null && to != null && !from.equals(to)) {
+				weights.computeIfAbsent((long) from << 32 | to, ignored -> new int[1])[0]++;
+			}
+		}
+		return new PackageDiagram(new ArrayList<>(ids.keySet()), weights);
+	}
+
+	/**
+	 * Maps each declared package to the package it is drawn as, from the package
+	 * trie: the deepest of {@link DeclaredIndex#packagesAtDepth(int)} at or above
+	 * it.
+	 *
+	 * @param idx   index of declared types
+	 * @param depth maximum number of segments; {@code 0} for all of them
+	 * @return declared package → collapsed package; empty when nothing collapses
+	 */
+	private static Map<String, String> collapsed(DeclaredIndex idx, int depth) {
+		Map<String, String> out = new HashMap<>();
+		if (depth == 0) {
+			return out;
+		}
+		// parents come first, so deeper collapsed packages win
+		for (String top : idx.packagesAtDepth(depth)) {
+			for (String pkg : idx.packagesUnder(top)) {
+				out.put(pkg, top);
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Returns the number of packages drawn.
+	 *
+	 * @return package count, after collapsing
+	 */
+	int packageCount() {
+		return packages.size();
+	}
+
+	/**
+	 * Returns the number of package edges drawn.
+	 *
+	 * @return edge count
+	 */
+	int edgeCount() {
+		return weights.size();
+	}
+
+	/**
+	 * Finds the strongly connected components of the package edges.
+	 *
+	 * @return the component of each package, indexed by package id
+	 * @see TypeGraph#components()
+	 */
+	int[] components() {
+		int nodes = packages.size();
+		int[] offsets = new int[nodes + 1];
+		int[] targets = new int[weights.size()];
+		int e = 0;
+		// keys are sorted by source id
+		for (long key : weights.keySet()) {
+			offsets[(int) (key >>> 32) + 1]++;
+			targets[e++] = (int) key;
+		}
+		for (int n = 0; n < nodes; n++) {
+			offsets[n + 1] += offsets[n];
+		}
+		return TypeGraph.components(nodes, offsets, targets);
+	}
+
+	/**
+	 * Writes the packages, then the weighted edges between them.
+	 *
+	 * @param pw     destination writer
+	 * @param marked names of the packages drawn with the
+	 *               {@link CycleReport#STEREOTYPE}
+	 */
+	void write(PlantUMLWriter pw, Set<String> marked) {
+		for (int id = 0; id < packages.size(); id++) {
+			pw.beginPackage(name(id), marked.contains(name(id)) ? CycleReport.STEREOTYPE : "");
+			pw.endPackage(name(id));
+		}
+
+		pw.println();
+
+		for (var e : weights.entrySet()) {
+			long key = e.getKey();
+			pw.connectWeightedDepends(name((int) (key >>> 32)), name((int) key), e.getValue()[0]);
+		}
+	}
+
+	/**
+	 * Returns the name of a package, as drawn.
+	 *
+	 * @param id package id
+	 * @return package name; {@code (default)} for the default package, since
+	 *         PlantUML needs a name
+	 */
+	String name(int id) {
+		String pkg = packages.get(id);
+		return pkg.isEmpty() ? "(default)" : pkg;
+	}
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Trie of package names, one node per name segment.
+ *
+ * <p>
+ * Packages that hold types are marked as declared; the other nodes are
+ * intermediate packages. Children are kept sorted by segment, so every query
+ * lists packages in the same deterministic order: a package first, then its
+ * subpackages. Queries walk only the part of the trie they report on. The
+ * default package is the root.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class PackageTrie {
+
+	private static final char CHAR_PACKAGE_SEPARATOR = '.';
+
+	private static final class Node {
+
+		private final String pkg;
+
+		private final int depth;
+
+		private final Map<String, Node> children = new TreeMap<>();
+
+		private boolean declared;
+
+		private Node(String pkg, int depth) {
+			this.pkg = pkg;
+			this.depth = depth;
+		}
+
+	}
+
+	private final Node root = new Node("", 0);
+
+	/**
+	 * Marks a package as declared, adding any missing intermediate packages.
+	 * Adding a package twice has no effect.
+	 *
+	 * @param pkg package name; {@code ""} for the default package
+	 */
+	void add(String pkg) {
+		Node node = root;
+		for (String segment : segments(pkg)) {
+			Node parent = node;
+			node = parent.children.computeIfAbsent(segment, s -> new Node(
+					parent.pkg.isEmpty() ? s : parent.pkg + CHAR_PACKAGE_SEPARATOR + s, parent.depth + 1));
+		}
+		node.declared = true;
+	}
+
+	/**
+	 * Tells whether a package was added.
+	 *
+	 * @param pkg package name
+	 * @return {@code true} if {@code pkg} holds types
+	 */
+	boolean isDeclared(String pkg) {
+		Node node = find(pkg);
+		return node != null && node.declared;
+	}
+
+	/**
+	 * Lists the declared packages at or under {@code pkg}.
+	 *
+	 * @param pkg package name; {@code ""} for all packages
+	 * @return declared packages, parents before subpackages
+	 */
+	List<String> subtree(String pkg) {
+		List<String> out = new ArrayList<>();
+		Node start = find(pkg);
+		if (start != null) {
+			collectSubtree(start, out);
+		}
+		return out;
+	}
+
+	private static void collectSubtree(Node node, List<String> out) {
+		if (node.declared) {
+			out.add(node.pkg);
+		}
+		for (Node child : node.children.values()) {
+			collectSubtree(child, out);
+		}
+	}
+
+	/**
+	 * Lists the direct subpackages of {@code pkg}, declared or intermediate.
+	 *
+	 * @param pkg package name; {@code ""} for the top-level packages
+	 * @return subpackage names, sorted by last segment
+	 */
+	List<String> children(String pkg) {
+		Node node = find(pkg);
+		if (node == null) {
+			return List.of();
+		}
+		return node.children.values().stream().map(n -> n.pkg).toList();
+	}
+
+	/**
+	 * Collapses the packages to at most {@code depth} segments.
+	 *
+	 * <p>
+	 * A declared package shallower than {@code depth} is kept as is; deeper ones
+	 * are represented by their ancestor at {@code depth}.
+	 *
+	 * @param depth maximum number of segments; {@code 0} keeps only the default
+	 *              package
+	 * @return packages at most {@code depth} segments deep that hold types at or
+	 *         under them, parents before subpackages
+	 * @throws IllegalArgumentException if {@code depth} is negative
+	 */
+	List<String> atDepth(int depth) {
+		if (depth < 0) {
+			throw new IllegalArgumentException("Negative depth: " + depth);
+		}
+		List<String> out = new ArrayList<>();
+		collectAtDepth(root, depth, out);
+		return out;
+	}
+
+	private static void collectAtDepth(Node node, int depth, List<String> out) {
+		if (node.depth == depth) {
+			// every leaf is declared, so a child means types below
+			if (node.declared || !node.children.isEmpty()) {
+				out.add(node.pkg);
+			}
+			return;
+		}
+		if (node.declared) {
+			out.add(node.pkg);
+		}
+		for (Node child : node.children.values()) {
+			collectAtDepth(child, depth, out);
+		}
+	}
+
+	private Node find(String pkg) {
+		Node node = root;
+		for (String segment : segments(pkg)) {
+			node = node.children.get(segment);
+			if (node == null) {
+				return null;
+			}
+		}
+		return node;
+	}
+
+	private static List<String> segments(String pkg) {
+		List<String> out = new ArrayList<>();
+		if (pkg == null || pkg.isEmpty()) {
+			return out;
+		}
+		int start = 0;
+		int dot;
+		while ((dot = pkg.indexOf(CHAR_PACKAGE_SEPARATOR, start)) >= 0) {
+			out.add(pkg.substring(start, dot));
+			start = dot + 1;
+		}
+		out.add(pkg.substring(start));
+		return out;
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Writes the parts of a {@link Partitioning} as class diagrams of their own,
+ * {@code class-diagram-1.puml} and so on, and an index diagram of the parts in
+ * the output file itself.
+ *
+ * <p>
+ * Part files left by an earlier run with more parts are deleted.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class PartitionedDiagram {
+
+	private static final Logger logger = Logger.getLogger(PartitionedDiagram.class.getName());
+
+	private final Path outFile;
+
+	private final String base;
+
+	private PartitionedDiagram(Path outFile) {
+		this.outFile = outFile;
+		this.base = outFile.getFileName().toString().replaceFirst("\\.puml$", "");
+	}
+
+	/**
+	 * Writes the parts and the index.
+	 *
+	 * @param outFile  index file; parts are written next to it
+	 * @param idx      index of declared types
+	 * @param parts    the partitioning
+	 * @param diagram  writer of each part
+	 * @param parallel {@code true} to write the parts concurrently
+	 */
+	static void write(Path outFile, DeclaredIndex idx, Partitioning parts, ClassDiagramWriter diagram,
+			boolean parallel) {
+		new PartitionedDiagram(outFile).write(idx, parts, diagram, parallel);
+	}
+
+	private void write(DeclaredIndex idx, Partitioning parts, ClassDiagramWriter diagram, boolean parallel) {
+		IntFunction<String> partName = p -> base + "-" + (p + 1);
+		deleteStaleParts(parts.size());
+
+		IntStream numbers = IntStream.range(0, parts.size());
+		(parallel ? numbers.parallel() : numbers).forEach(p -> {
+			DiagramScope partScope = DiagramScope.of(idx, new HashSet<>(parts.types(p)));
+			DiagramFile.write(outFile.resolveSibling(partName.apply(p) + ".puml"), partName.apply(p),
+					pw -> diagram.write(pw, partScope));
+		});
+
+		DiagramFile.write(outFile, base, pw -> {
+			DiagramFile.writeHeader(pw, "class diagram index");
+			// part names are not nested by their dots
+			pw.println("set separator none");
+			pw.println();
+
+			parts.writeIndex(pw, partName);
+		});
+		logger.log(Level.INFO, () -> "Partitioned diagram: " + parts.size() + " parts");
+	}
+
+	/**
+	 * Deletes the part files of an earlier run that this run does not write, so
+	 * a diagram with fewer parts leaves no outdated part next to its index.
+	 */
+	private void deleteStaleParts(int partCount) {
+		Pattern partFile = Pattern.compile(Pattern.quote(base) + "-(\\d{1,9})\\.puml");
+		Path dir = outFile.toAbsolutePath().getParent();
+		try (DirectoryStream<Path> siblings = Files.newDirectoryStream(dir,
+				f -> partFile.matcher(f.getFileName().toString()).matches())) {
+			for (Path sibling : siblings) {
+				Matcher m = partFile.matcher(sibling.getFileName().toString());
+				if (m.matches() && Integer.parseInt(m.group(1)) > partCount) {
+					Files.delete(sibling);
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Error deleting outdated diagram parts", e);
+		}
+	}
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.TypeDeclaration;
+
+import io.github.masmangan.assis.io.PlantUMLWriter;
+
+/**
+ * A split of the drawn types into parts small enough to render quickly.
+ *
+ * <p>
+ * Each part holds at most a given number of types and of outgoing edges. Parts
+ * follow package boundaries: packages are taken in
+ * {@link DeclaredIndex#packagesInIndexOrder()} order, so sibling packages end
+ * up together, and a package joins the current part when it fits. A package too
+ * large for any part is clustered first: its types are grown into chunks
+ * breadth first along their relationships, so types that use each other stay
+ * together. A top-level type and its nested types are never split, so the
+ * nesting edges stay in their part; a top-level type that, with its nested
+ * types, is larger than the budget gets a part of its own.
+ *
+ * <p>
+ * The edge budget counts every drawn edge leaving a type of the part, so it is
+ * an upper bound: edges to types of other parts are not drawn in the part, but
+ * summed up between parts in the index diagram instead.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class Partitioning {
+
+	private final List<Part> parts;
+
+	/**
+	 * (source part &lt;&lt; 32 | target part) → edges, sorted by source, then
+	 * target
+	 */
+	private final Map<Long, int[]> weights;
+
+	private Partitioning(List<Part> parts, Map<Long, int[]> weights) {
+		this.parts = parts;
+		this.weights = weights;
+	}
+
+	/**
+	 * Splits the drawn types into parts.
+	 *
+	 * @param idx       index of declared types; must not be {@code null}
+	 * @param relations relationships, in drawing order
+	 * @param scope     types to draw; other types and their edges are left out
+	 * @param maxTypes  maximum number of types per part; {@code 0} for no limit
+	 * @param maxEdges  maximum number of edges per part; {@code 0} for no limit
+	 * @return the partitioning
+	 */
+	static Partitioning of(DeclaredIndex idx, List<Relation> relations, DiagramScope scope, int maxTypes,
+			int maxEdges) {
+		Budget budget = new Budget(maxTypes == 0 ? Integer.MAX_VALUE : maxTypes,
+				maxEdges == 0 ? Integer.MAX_VALUE : maxEdges);
+
+		Map<String, int[]> outDegree = new HashMap<>();
+		Map<String, List<String>> neighbors = new HashMap<>();
+		for (Relation r : relations) {
+			if (!scope.showsEdge(r.fromFqn(), r.toFqn())) {
+				continue;
+			}
+			outDegree.computeIfAbsent(r.fromFqn(), ignored -> new int[1])[0]++;
+			if (idx.containsFqn(r.toFqn()) && !r.fromFqn().equals(r.toFqn())) {
+				neighbors.computeIfAbsent(r.fromFqn(), ignored -> new ArrayList<>()).add(r.toFqn());
+				neighbors.computeIfAbsent(r.toFqn(), ignored -> new ArrayList<>()).add(r.fromFqn());
+			}
+		}
+
+		List<Part> parts = new ArrayList<>();
+		Part current = new Part();
+		for (String pkg : idx.packagesInIndexOrder()) {
+			// top-level type FQN → it and its nested types
+			Map<String, List<String>> units = new LinkedHashMap<>();
+			for (var td : idx.typesInPackageOrder(pkg)) {
+				String fqn = DeclaredIndex.deriveFqnDollar(td);
+				if (scope.shows(fqn)) {
+					units.computeIfAbsent(DeclaredIndex.deriveFqnDollar(topLevelOf(td)), ignored -> new ArrayList<>())
+							.add(fqn);
+				}
+			}
+			for (Part chunk : cluster(pkg, List.copyOf(units.values()), outDegree, neighbors, budget)) {
+				if (!current.isEmpty() && !budget.fits(current, chunk)) {
+					parts.add(current);
+					current = new Part();
+				}
+				current.addAll(chunk);
+			}
+		}
+		if (!current.isEmpty()) {
+			parts.add(current);
+		}
+
+		Map<String, Integer> partOf = new HashMap<>();
+		for (int p = 0; p < parts.size(); p++) {
+			for (String fqn : parts.get(p).types) {
+				partOf.put(fqn, p);
+			}
+		}
+		Map<Long, int[]> weights = new TreeMap<>();
+		for (Relation r : relations) {
+			Integer from = partOf.get(r.fromFqn());
+			Integer to = partOf.get(r.toFqn());
+			if (from != null && to != null && !from.equals(to)) {
+				weights.computeIfAbsent((long) from << 32 | to, ignored -> new int[1])[0]++;
+			}
+		}
+		return new Partitioning(parts, weights);
+	}
+
+	private record Budget(int types, int edges) {
+
+		boolean fits(Part part, Part more) {
+			return part.types.size() + more.types.size() <= types && part.edges + more.edges <= edges;
+		}
+
+	}
+
+	private static final class Part {
+
+		private final List<String> types = new ArrayList<>();
+
+		private final Set<String> packages = new LinkedHashSet<>();
+
+		private int edges;
+
+		boolean isEmpty() {
+			return types.isEmpty();
+		}
+
+		void add(String pkg, String fqn, int outDegree) {
+			packages.add(pkg);
+			types.add(fqn);
+			edges += outDegree;
+		}
+
+		void addAll(Part other) {
+			packages.addAll(other.packages);
+			types.addAll(other.types);
+			edges += other.edges;
+		}
+
+	}
+
+	private static TypeDeclaration<?> topLevelOf(TypeDeclaration<?> td) {
+		TypeDeclaration<?> top = td;
+		for (Node n = td; n != null; n = n.getParentNode().orElse(null)) {
+			if (n instanceof TypeDeclaration<?> outer) {
+				top = outer;
+			}
+		}
+		return top;
+	}
+
+	/**
+	 * Splits the types of one package into chunks within the budget, growing each
+	 * chunk breadth first along relationships inside the package. Each unit, a
+	 * top-level type and its nested types, goes whole into one chunk.
+	 */
+	private static List<Part> cluster(String pkg, List<List<String>> units, Map<String, int[]> outDegree,
+			Map<String, List<String>> neighbors, Budget budget) {
+		Part whole = new Part();
+		for (List<String> unit : units) {
+			whole.addAll(partOf(pkg, unit, outDegree));
+		}
+		if (budget.fits(whole, new Part())) {
+			return whole.isEmpty() ? List.of() : List.of(whole);
+		}
+
+		Map<String, List<String>> unitOf = new HashMap<>();
+		for (List<String> unit : units) {
+			for (String fqn : unit) {
+				unitOf.put(fqn, unit);
+			}
+		}
+		Set<List<String>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<Part> chunks = new ArrayList<>();
+		Part chunk = new Part();
+		for (List<String> start : units) {
+			if (!seen.add(start)) {
+				continue;
+			}
+			ArrayDeque<List<String>> queue = new ArrayDeque<>();
+			queue.add(start);
+			while (!queue.isEmpty()) {
+				List<String> unit = queue.poll();
+				Part one = partOf(pkg, unit, outDegree);
+				if (!chunk.isEmpty() && !budget.fits(chunk, one)) {
+					chunks.add(chunk);
+					chunk = new Part();
+				}
+				chunk.addAll(one);
+				for (String fqn : unit) {
+					for (String next : neighbors.getOrDefault(fqn, List.of())) {
+						List<String> nextUnit = unitOf.get(next);
+						if (nextUnit != null && seen.add(nextUnit)) {
+							queue.add(nextUnit);
+						}
+					}
+				}
+			}
+		}
+		if (!chunk.isEmpty()) {
+			chunks.add(chunk);
+		}
+		return chunks;
+	}
+
+	private static Part partOf(String pkg, List<String> unit, Map<String, int[]> outDegree) {
+		Part part = new Part();
+		for (String fqn : unit) {
+			part.add(pkg, fqn, degree(outDegree, fqn));
+		}
+		return part;
+	}
+
+	private static int degree(Map<String, int[]> outDegree, String fqn) {
+		int[] degree = outDegree.get(fqn);
+		return degree == null ? 0 : degree[0];
+	}
+
+	/**
+	 * Returns the number of parts.
+	 *
+	 * @return part count
+	 */
+	int size() {
+		return parts.size();
+	}
+
+	/**
+	 * Returns the types of a part.
+	 *
+	 * @param part part number, from {@code 0}
+	 * @return type FQNs, package by package
+	 */
+	List<String> types(int part) {
+		return parts.get(part).types;
+	}
+
+	/**
+	 * Writes the index diagram: one package per part, with the Java packages it
+	 * holds as a comment, then the number of edges between parts.
+	 *
+	 * @param pw       destination writer
+	 * @param partName name of each part, e.g. its file name
+	 */
+	void writeIndex(PlantUMLWriter pw, IntFunction<String> partName) {
+		for (int p = 0; p < parts.size(); p++) {
+			Part part = parts.get(p);
+			pw.println("' %s: %d types in %s".formatted(partName.apply(p), part.types.size(),
+					String.join(", ", part.packages.stream().map(pkg -> pkg.isEmpty() ? "(default)" : pkg).toList())));
+			pw.beginPackage(partName.apply(p));
+			pw.endPackage(partName.apply(p));
+		}
+
+		pw.println();
+
+		for (var e : weights.entrySet()) {
+			long key = e.getKey();
+			pw.connectWeightedDepends(partName.apply((int) (key >>> 32)), partName.apply((int) key),
+					e.getValue()[0]);
+		}
+	}
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+/**
+ * A relationship between two types, as it will be drawn.
+ *
+ * @param kind        relationship kind
+ * @param fromFqn     source type FQN; always a declared type
+ * @param toFqn       target type FQN, or display name when not resolved
+ * @param role        association role (field or component name); {@code null}
+ *                    for other kinds
+ * @param stereotypes rendered association stereotypes; may be {@code null}
+ * @param ghost       {@code true} when the target is drawn as a cherry-pick
+ *                    ghost
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+record Relation(RelationKind kind, String fromFqn, String toFqn, String role, String stereotypes, boolean ghost) {
+
+	static Relation of(RelationKind kind, String fromFqn, String toFqn, boolean ghost) {
+		return new Relation(kind, fromFqn, toFqn, null, null, ghost);
+	}
+
+	static Relation association(String ownerFqn, String targetFqn, String role, String stereotypes) {
+		return new Relation(RelationKind.ASSOCIATION, ownerFqn, targetFqn, role, stereotypes, false);
+	}
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.TypeDeclaration;
+
+import io.github.masmangan.assis.DiagramOptions;
+
+/**
+ * Collects every relationship to draw: structural ones first, then dependencies
+ * not already covered by a structural edge.
+ *
+ * <p>
+ * Dependencies are collected per top-level type, concurrently when
+ * {@link DiagramOptions#isParallel()} is set, and merged in index order. When
+ * {@link DiagramOptions#getMinEdgeWeight()} is set, dependencies with fewer
+ * uses, as counted by the {@link EdgeRegistry}, are left out.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class RelationCollection {
+
+	private static final Logger logger = Logger.getLogger(RelationCollection.class.getName());
+
+	private final DeclaredIndex idx;
+
+	private final DiagramOptions options;
+
+	private final boolean reuseKnownNames;
+
+	private final AtomicInteger skippedResolutions = new AtomicInteger();
+
+	/**
+	 *
+	 * @param idx             index of declared types
+	 * @param options         generation options
+	 * @param reuseKnownNames {@code false} to resolve every use, even of a name
+	 *                        already resolved in its owner
+	 */
+	RelationCollection(DeclaredIndex idx, DiagramOptions options, boolean reuseKnownNames) {
+		this.idx = idx;
+		this.options = options;
+		this.reuseKnownNames = reuseKnownNames;
+	}
+
+	/**
+	 * Collects the relationships.
+	 *
+	 * @param uses type uses resolved before emission
+	 * @return relationships in drawing order
+	 */
+	List<Relation> collect(TypeUses uses) {
+		EdgeRegistry er = new EdgeRegistry();
+
+		List<Relation> relations = new ArrayList<>(new CollectRelationshipsVisitor(idx, uses, er).emitAll());
+
+		if (!options.isStructureOnly()) {
+			collectDependencies(relations, er, uses);
+		}
+		if (options.getMinEdgeWeight() > 1) {
+			return dropWeakDependencies(relations, er);
+		}
+		return relations;
+	}
+
+	/**
+	 * Returns how many type uses skipped resolution.
+	 *
+	 * @return number of resolutions saved
+	 */
+	int skippedResolutions() {
+		return skippedResolutions.get();
+	}
+
+	private List<Relation> dropWeakDependencies(List<Relation> relations, EdgeRegistry er) {
+		int min = options.getMinEdgeWeight();
+		List<Relation> kept = new ArrayList<>(relations.size());
+		for (Relation r : relations) {
+			if (r.kind() != RelationKind.DEPENDENCY || er.usesOf(r.fromFqn(), r.toFqn()) >= min) {
+				kept.add(r);
+			}
+		}
+		int dropped = relations.size() - kept.size();
+		logger.log(Level.INFO, () -> "Dependencies used fewer than " + min + " times left out: " + dropped);
+		return kept;
+	}
+
+	private void collectDependencies(List<Relation> relations, EdgeRegistry er, TypeUses uses) {
+		List<TypeDeclaration<?>> topLevelTypes = new ArrayList<>();
+		for (var td : idx.typesInIndexOrder()) {
+			if (DeclaredIndex.isTopLevel(td)) {
+				topLevelTypes.add(td);
+			}
+		}
+
+		List<DependencyContext> contexts = options.isParallel()
+				? collectDependenciesInParallel(topLevelTypes, er, uses)
+				: topLevelTypes.stream().map(td -> collectDependencies(td, er, uses)).toList();
+
+		for (DependencyContext context : contexts) {
+			for (Relation edge : context.edges()) {
+				if (!er.isRegistered(edge.fromFqn(), edge.toFqn())) {
+					relations.add(edge);
+					er.registerDependency(edge.fromFqn(), edge.toFqn());
+				}
+			}
+		}
+		for (DependencyContext context : contexts) {
+			er.addUses(context.usages());
+		}
+		logger.log(Level.INFO, () -> "Type use resolutions skipped: " + skippedResolutions);
+		logger.log(Level.INFO, () -> "External type uses left out: " + uses.droppedUses());
+	}
+
+	/**
+	 * Collects dependency edges of each top-level type concurrently.
+	 *
+	 * <p>
+	 * Types sharing a compilation unit are handled by the same worker, so AST
+	 * nodes are never visited by two threads at once.
+	 *
+	 * @param topLevelTypes top-level types, in index order
+	 * @param er            registry of structural edges; read-only here
+	 * @param uses          type uses resolved before emission
+	 * @return context of each type, in the same order as {@code topLevelTypes}
+	 */
+	private List<DependencyContext> collectDependenciesInParallel(List<TypeDeclaration<?>> topLevelTypes,
+			EdgeRegistry er, TypeUses uses) {
+		Map<CompilationUnit, List<Integer>> byUnit = new IdentityHashMap<>();
+		for (int i = 0; i < topLevelTypes.size(); i++) {
+			CompilationUnit unit = topLevelTypes.get(i).findCompilationUnit().orElse(null);
+			byUnit.computeIfAbsent(unit, ignored -> new ArrayList<>()).add(i);
+		}
+
+		List<DependencyContext> contexts = new ArrayList<>(
+				Collections.nCopies(topLevelTypes.size(), (DependencyContext) null));
+		List<List<Integer>> jobs = new ArrayList<>(byUnit.values());
+		List<Map.Entry<Integer, DependencyContext>> collected = jobs.parallelStream()
+				.flatMap(job -> job.stream().map(i -> Map.entry(i, collectDependencies(topLevelTypes.get(i), er, uses))))
+				.toList();
+		for (var e : collected) {
+			contexts.set(e.getKey(), e.getValue());
+		}
+		return contexts;
+	}
+
+	private DependencyContext collectDependencies(TypeDeclaration<?> td, EdgeRegistry er, TypeUses uses) {
+		DependencyContext context = new DependencyContext(idx, uses, er, reuseKnownNames);
+		td.accept(new CollectDependenciesVisitor(), context);
+		skippedResolutions.addAndGet(context.skippedResolutions());
+		return context;
+	}
+
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+/**
+ * Kinds of relationships drawn between types.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+enum RelationKind {
+
+	/** {@code "Sub" --|> "Super"} */
+	EXTENDS,
+
+	/** {@code "Sub" ..|> "Interface"} */
+	IMPLEMENTS,
+
+	/** {@code "Outer" +-- "Outer$Inner"} */
+	INNER,
+
+	/** {@code "Owner" --> "Target" : role} */
+	ASSOCIATION,
+
+	/** {@code "User" ..> "Used"} */
+	DEPENDENCY
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Drops dependency edges already implied by other paths between types.
+ *
+ * <p>
+ * A dependency {@code A ..> C} is implied when {@code C} can be reached from
+ * {@code A} through another declared type, e.g. {@code A ---> B ..> C}. Every
+ * kind of relationship may form the path, but only dependencies are dropped:
+ * structural edges always stay.
+ *
+ * <p>
+ * The graph may have cycles. Its strongly connected components, found with
+ * {@link TypeGraph#components()}, are reduced as a directed acyclic graph:
+ * components are visited sinks first, and the components reachable from each
+ * one are kept in a bitset. Edges inside a component are all kept, since every
+ * member already reaches every other one. Of several dependencies from one
+ * component to the same other component, only the first is kept, and none when
+ * a structural edge joins the two.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class TransitiveReduction {
+
+	private TransitiveReduction() {
+	}
+
+	/**
+	 * Returns the relationships without implied dependencies.
+	 *
+	 * @param idx       index of declared types; must not be {@code null}
+	 * @param relations relationships, in drawing order
+	 * @return the relationships kept, in the same order
+	 */
+	static List<Relation> reduce(DeclaredIndex idx, List<Relation> relations) {
+		TypeGraph graph = TypeGraph.of(idx, relations);
+		int[] component = graph.components();
+		int count = 0;
+		for (int c : component) {
+			count = Math.max(count, c + 1);
+		}
+
+		int edges = relations.size();
+		int[] from = new int[edges];
+		int[] to = new int[edges];
+		int[] offsets = new int[count + 1];
+		for (int e = 0; e < edges; e++) {
+			Relation r = relations.get(e);
+			from[e] = component[graph.id(r.fromFqn())];
+			to[e] = component[graph.id(r.toFqn())];
+			if (from[e] != to[e]) {
+				offsets[from[e] + 1]++;
+			}
+		}
+		for (int c = 0; c < count; c++) {
+			offsets[c + 1] += offsets[c];
+		}
+		int[] next = new int[count];
+		System.arraycopy(offsets, 0, next, 0, count);
+		int[] crossing = new int[offsets[count]];
+		for (int e = 0; e < edges; e++) {
+			if (from[e] != to[e]) {
+				crossing[next[from[e]]++] = e;
+			}
+		}
+
+		boolean[] dropped = new boolean[edges];
+		BitSet[] reach = new BitSet[count];
+		// stamps: c + 1 while component c is visited
+		int[] structural = new int[count];
+		int[] kept = new int[count];
+		for (int c = 0; c < count; c++) {
+			if (offsets[c] == offsets[c + 1]) {
+				continue;
+			}
+			BitSet direct = new BitSet();
+			BitSet indirect = new BitSet();
+			for (int k = offsets[c]; k < offsets[c + 1]; k++) {
+				int e = crossing[k];
+				if (!direct.get(to[e])) {
+					direct.set(to[e]);
+					if (reach[to[e]] != null) {
+						indirect.or(reach[to[e]]);
+					}
+				}
+				if (relations.get(e).kind() != RelationKind.DEPENDENCY) {
+					structural[to[e]] = c + 1;
+				}
+			}
+			for (int k = offsets[c]; k < offsets[c + 1]; k++) {
+				int e = crossing[k];
+				if (relations.get(e).kind() != RelationKind.DEPENDENCY) {
+					continue;
+				}
+				if (indirect.get(to[e]) || structural[to[e]] == c + 1 || kept[to[e]] == c + 1) {
+					dropped[e] = true;
+				} else {
+					kept[to[e]] = c + 1;
+				}
+			}
+			direct.or(indirect);
+			reach[c] = direct;
+		}
+
+		List<Relation> out = new ArrayList<>(edges);
+		for (int e = 0; e < edges; e++) {
+			if (!dropped[e]) {
+				out.add(relations.get(e));
+			}
+		}
+		return out;
+	}
+
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Directed graph of types, built once from the collected {@link Relation}s.
+ *
+ * <p>
+ * Nodes have dense int ids: declared types first, in index order, then the
+ * other targets (external types and unresolved names), in the order they are
+ * first met. Edges of each {@link RelationKind} are kept in compressed sparse
+ * row form, forward and reverse: an offsets array indexed by node and a
+ * targets array, so visiting the neighbors of a node allocates nothing and a
+ * whole traversal is linear in the number of edges. Parallel edges (e.g. two
+ * associations to the same type) are kept, in collection order.
+ *
+ * <p>
+ * The graph is immutable and safe to read from several threads.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class TypeGraph {
+
+	/**
+	 * Adjacency of one kind and direction: the neighbors of node {@code n} are
+	 * {@code targets[offsets[n]]} to {@code targets[offsets[n + 1] - 1]}.
+	 */
+	private record Csr(int[] offsets, int[] targets) {
+
+		static Csr of(int nodes, int[] from, int[] to, int edges) {
+			int[] offsets = new int[nodes + 1];
+			for (int e = 0; e < edges; e++) {
+				offsets[from[e] + 1]++;
+			}
+			for (int n = 0; n < nodes; n++) {
+				offsets[n + 1] += offsets[n];
+			}
+			int[] next = new int[nodes];
+			System.arraycopy(offsets, 0, next, 0, nodes);
+			int[] targets = new int[edges];
+			for (int e = 0; e < edges; e++) {
+				targets[next[from[e]]++] = to[e];
+			}
+			return new Csr(offsets, targets);
+		}
+
+	}
+
+	private static final RelationKind[] KINDS = RelationKind.values();
+
+	private final String[] names;
+
+	private final int declaredCount;
+
+	private final Map<String, Integer> ids;
+
+	private final Map<RelationKind, Csr> forward = new EnumMap<>(RelationKind.class);
+
+	private final Map<RelationKind, Csr> reverse = new EnumMap<>(RelationKind.class);
+
+	private TypeGraph(List<String> names, int declaredCount, Map<String, Integer> ids) {
+		this.names = names.toArray(String[]::new);
+		this.declaredCount = declaredCount;
+		this.ids = ids;
+	}
+
+	/**
+	 * Builds the graph of the declared types and their relationships.
+	 *
+	 * @param idx       index of declared types; must not be {@code null}
+	 * @param relations relationships, in drawing order
+	 * @return the type graph
+	 */
+	static TypeGraph of(DeclaredIndex idx, List<Relation> relations) {
+		List<String> names = new ArrayList<>();
+		Map<String, Integer> ids = new HashMap<>();
+		for (String fqn : idx.fqnsInIndexOrder()) {
+			ids.put(fqn, names.size());
+			names.add(fqn);
+		}
+		int declaredCount = names.size();
+
+		Map<RelationKind, int[]> counts = new EnumMap<>(RelationKind.class);
+		int[] from = new int[relations.size()];
+		int[] to = new int[relations.size()];
+		for (int e = 0; e < relations.size(); e++) {
+			Relation r = relations.get(e);
+			from[e] = idOf(r.fromFqn(), names, ids);
+			to[e] = idOf(r.toFqn(), names, ids);
+			counts.computeIfAbsent(r.kind(), ignored -> new int[1])[0]++;
+		}
+
+		TypeGraph graph = new TypeGraph(names, declaredCount, ids);
+		int nodes = names.size();
+		for (RelationKind kind : KINDS) {
+			int edges = counts.getOrDefault(kind, new int[1])[0];
+			int[] kindFrom = new int[edges];
+			int[] kindTo = new int[edges];
+			int k = 0;
+			for (int e = 0; e < relations.size(); e++) {
+				if (relations.get(e).kind() == kind) {
+					kindFrom[k] = from[e];
+					kindTo[k] = to[e];
+					k++;
+				}
+			}
+			graph.forward.put(kind, Csr.of(nodes, kindFrom, kindTo, edges));
+			graph.reverse.put(kind, Csr.of(nodes, kindTo, kindFrom, edges));
+		}
+		return graph;
+	}
+
+	private static int idOf(String name, List<String> names, Map<String, Integer> ids) {
+		return ids.computeIfAbsent(name, ignored -> {
+			names.add(name);
+			return names.size() - 1;
+		});
+	}
+
+	/**
+	 * Returns the number of nodes.
+	 *
+	 * @return declared and other nodes
+	 */
+	int nodeCount() {
+		return names.length;
+	}
+
+	/**
+	 * Returns the id of a node.
+	 *
+	 * @param name type FQN or unresolved name
+	 * @return node id, or {@code -1} if the graph has no such node
+	 */
+	int id(String name) {
+		Integer id = ids.get(name);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Returns the name of a node.
+	 *
+	 * @param id node id
+	 * @return type FQN or unresolved name
+	 */
+	String name(int id) {
+		return names[id];
+	}
+
+	/**
+	 * Tells whether a node is a declared type.
+	 *
+	 * @param id node id
+	 * @return {@code true} for declared types; {@code false} for external types
+	 *         and unresolved names
+	 */
+	boolean isDeclared(int id) {
+		return id < declaredCount;
+	}
+
+	/**
+	 * Returns the nodes at most {@code depth} edges away from the seeds,
+	 * following edges of every kind in either direction.
+	 *
+	 * <p>
+	 * Paths only go on through declared types and seeds, so an external type or
+	 * unresolved name shared by many declared types does not join them. This is
+	 * a breadth-first search, linear in the edges it visits.
+	 *
+	 * @param seeds names of the start nodes; names not in the graph are ignored
+	 * @param depth maximum number of edges from a seed
+	 * @return node names, breadth first, seeds first
+	 */
+	List<String> neighborhood(Collection<String> seeds, int depth) {
+		int[] distance = new int[names.length];
+		Arrays.fill(distance, -1);
+		int[] queue = new int[names.length];
+		int tail = 0;
+		for (String seed : seeds) {
+			int id = id(seed);
+			if (id >= 0 && distance[id] < 0) {
+				distance[id] = 0;
+				queue[tail++] = id;
+			}
+		}
+		int seedCount = tail;
+
+		for (int head = 0; head < tail; head++) {
+			int node = queue[head];
+			if (distance[node] == depth || (head >= seedCount && !isDeclared(node))) {
+				continue;
+			}
+			for (RelationKind kind : KINDS) {
+				tail = visit(forward.get(kind), node, distance, queue, tail);
+				tail = visit(reverse.get(kind), node, distance, queue, tail);
+			}
+		}
+
+		List<String> out = new ArrayList<>(tail);
+		for (int k = 0; k < tail; k++) {
+			out.add(names[queue[k]]);
+		}
+		return out;
+	}
+
+	/*
+	 * Queues the unvisited neighbors of a node in one adjacency; returns the new
+	 * queue tail.
+	 */
+	private static int visit(Csr csr, int node, int[] distance, int[] queue, int tail) {
+		int[] targets = csr.targets();
+		for (int e = csr.offsets()[node], end = csr.offsets()[node + 1]; e < end; e++) {
+			int next = targets[e];
+			if (distance[next] < 0) {
+				distance[next] = distance[node] + 1;
+				queue[tail++] = next;
+			}
+		}
+		return tail;
+	}
+
+	/**
+	 * Finds the strongly connected components, following edges of every kind.
+	 *
+	 * <p>
+	 * This is Tarjan's algorithm, run with explicit stacks so deep graphs do not
+	 * overflow the call stack; it is linear in nodes and edges. Components are
+	 * numbered in reverse topological order: an edge between two components always
+	 * goes from a higher number to a lower one.
+	 *
+	 * @return the component of each node, indexed by node id; numbers go from
+	 *         {@code 0} to the component count minus one
+	 */
+	int[] components() {
+		int nodes = names.length;
+		int[] offsets = new int[nodes + 1];
+		for (Csr csr : forward.values()) {
+			for (int n = 0; n < nodes; n++) {
+				offsets[n + 1] += csr.offsets()[n + 1] - csr.offsets()[n];
+			}
+		}
+		for (int n = 0; n < nodes; n++) {
+			offsets[n + 1] += offsets[n];
+		}
+		int[] targets = new int[offsets[nodes]];
+		int[] next = Arrays.copyOf(offsets, nodes);
+		for (Csr csr : forward.values()) {
+			for (int n = 0; n < nodes; n++) {
+				for (int e = csr.offsets()[n], end = csr.offsets()[n + 1]; e < end; e++) {
+					targets[next[n]++] = csr.targets()[e];
+				}
+			}
+		}
+		return components(nodes, offsets, targets);
+	}
+
+	/**
+	 * Finds the strongly connected components of a graph in compressed sparse row
+	 * form, as {@link #components()} does.
+	 *
+	 * @param nodes   number of nodes
+	 * @param offsets the successors of node {@code n} are {@code targets[offsets[n]]}
+	 *                to {@code targets[offsets[n + 1] - 1]}
+	 * @param targets successor ids
+	 * @return the component of each node, in reverse topological order
+	 */
+	static int[] components(int nodes, int[] offsets, int[] targets) {
+		int[] index = new int[nodes];
+		Arrays.fill(index, -1);
+		int[] low = new int[nodes];
+		int[] component = new int[nodes];
+		Arrays.fill(component, -1);
+		int[] stack = new int[nodes];
+		int[] path = new int[nodes];
+		int[] cursor = new int[nodes];
+		int sp = 0;
+		int visited = 0;
+		int count = 0;
+
+		for (int start = 0; start < nodes; start++) {
+			if (index[start] >= 0) {
+				continue;
+			}
+			int depth = 0;
+			index[start] = low[start] = visited++;
+			stack[sp++] = start;
+			path[depth++] = start;
+			cursor[start] = offsets[start];
+			while (depth > 0) {
+				int node = path[depth - 1];
+				if (cursor[node] < offsets[node + 1]) {
+					int succ = targets[cursor[node]++];
+					if (index[succ] < 0) {
+						index[succ] = low[succ] = visited++;
+						stack[sp++] = succ;
+						path[depth++] = succ;
+						cursor[succ] = offsets[succ];
+					} else if (component[succ] < 0) {
+						// still on the stack
+						low[node] = Math.min(low[node], index[succ]);
+					}
+					continue;
+				}
+				depth--;
+				if (low[node] == index[node]) {
+					int member;
+					do {
+						member = stack[--sp];
+						component[member] = count;
+					} while (member != node);
+					count++;
+				}
+				if (depth > 0) {
+					int parent = path[depth - 1];
+					low[parent] = Math.min(low[parent], low[node]);
+				}
+			}
+		}
+		return component;
+	}
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+
+/**
+ * Type uses of supertypes, fields and record components, resolved once before
+ * emission.
+ *
+ * <p>
+ * A field type is looked at by every emitter: {@link CollectTypesVisitor}
+ * decides between a member line and an association,
+ * {@link CollectRelationshipsVisitor} draws the association and
+ * {@link CollectDependenciesVisitor} records the use. This model resolves each
+ * such site once, with {@link DeclaredIndex#resolveTarget(Type)} and with the
+ * textual association rule, and all emitters read the recorded outcome.
+ * Supertypes are likewise read by the relationship emitter and by
+ * {@link InheritanceIndex}.
+ *
+ * <p>
+ * Sites that are not recorded (e.g. method signatures, only seen by the
+ * dependency pass) are resolved on demand. The model is read-only once
+ * extracted, so emitters may read it concurrently.
+ *
+ * <p>
+ * Uses of external types left out by an {@link ExternalTypePolicy} read as
+ * having no target. Where the policy can tell so from the imports, the use is
+ * not resolved at all.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class TypeUses {
+
+	private static final Logger logger = Logger.getLogger(TypeUses.class.getName());
+
+	private final DeclaredIndex idx;
+
+	private final ExternalTypePolicy policy;
+
+	/**
+	 * Uses left out by the policy, counted across partial models
+	 */
+	private final AtomicInteger dropped;
+
+	/**
+	 * Type node → solver outcome
+	 */
+	private final Map<Type, Optional<TypeRef>> targets = new IdentityHashMap<>();
+
+	/**
+	 * Variable declarator or record component → association target FQN, or
+	 * {@code null} when it stays a member line
+	 */
+	private final Map<Node, String> associations = new IdentityHashMap<>();
+
+	/**
+	 * Recorded type nodes left out by the policy
+	 */
+	private final Set<Type> droppedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private TypeUses(DeclaredIndex idx, ExternalTypePolicy policy, AtomicInteger dropped) {
+		this.idx = idx;
+		this.policy = policy;
+		this.dropped = dropped;
+	}
+
+	/**
+	 * Resolves the supertypes, fields and record components of every indexed
+	 * type.
+	 *
+	 * <p>
+	 * In parallel, types sharing a compilation unit are resolved by the same
+	 * worker, so AST nodes are never visited by two threads at once.
+	 *
+	 * @param idx      index of declared types; must not be {@code null}
+	 * @param parallel whether to resolve compilation units concurrently
+	 * @param policy   external types to leave out; must not be {@code null}
+	 * @return the recorded type uses
+	 */
+	static TypeUses extract(DeclaredIndex idx, boolean parallel, ExternalTypePolicy policy) {
+		AtomicInteger dropped = new AtomicInteger();
+		Map<CompilationUnit, List<TypeDeclaration<?>>> byUnit = new IdentityHashMap<>();
+		for (var td : idx.typesInIndexOrder()) {
+			CompilationUnit unit = td.findCompilationUnit().orElse(null);
+			byUnit.computeIfAbsent(unit, ignored -> new ArrayList<>()).add(td);
+		}
+
+		List<List<TypeDeclaration<?>>> jobs = new ArrayList<>(byUnit.values());
+		List<TypeUses> partials = (parallel ? jobs.parallelStream() : jobs.stream()).map(job -> {
+			TypeUses partial = new TypeUses(idx, policy, dropped);
+			job.forEach(partial::record);
+			return partial;
+		}).toList();
+
+		TypeUses uses = new TypeUses(idx, policy, dropped);
+		for (TypeUses partial : partials) {
+			uses.targets.putAll(partial.targets);
+			uses.associations.putAll(partial.associations);
+			uses.droppedNodes.addAll(partial.droppedNodes);
+		}
+		logger.log(Level.INFO, () -> "Type uses resolved: " + uses.targets.size());
+		return uses;
+	}
+
+	private void record(TypeDeclaration<?> td) {
+		String pkg = DeclaredIndex.derivePkg(td);
+		String ownerFqn = DeclaredIndex.deriveFqnDollar(td);
+
+		for (ClassOrInterfaceType supertype : InheritanceIndex.supertypesOf(td)) {
+			recordTarget(supertype);
+		}
+		for (FieldDeclaration fd : td.getFields()) {
+			for (VariableDeclarator vd : fd.getVariables()) {
+				recordTarget(vd.getType());
+				associations.put(vd, associationOf(pkg, ownerFqn, vd.getType()));
+			}
+		}
+		if (td instanceof RecordDeclaration rd) {
+			for (Parameter p : rd.getParameters()) {
+				recordTarget(p.getType());
+				associations.put(p, associationOf(pkg, ownerFqn, p.getType()));
+			}
+		}
+	}
+
+	private void recordTarget(Type typeNode) {
+		Optional<TypeRef> target = resolveOrDrop(typeNode);
+		if (target == null) {
+			droppedNodes.add(typeNode);
+			target = Optional.empty();
+		}
+		targets.put(typeNode, target);
+	}
+
+	/*
+	 * Resolves a use, or returns null when the policy leaves it out.
+	 */
+	private Optional<TypeRef> resolveOrDrop(Type typeNode) {
+		ExternalTypePolicy.Use use = policy.classifyUse(idx, typeNode);
+		if (use == ExternalTypePolicy.Use.DROPPED) {
+			dropped.incrementAndGet();
+			return null;
+		}
+		Optional<TypeRef> target = idx.resolveTarget(typeNode);
+		if (use == ExternalTypePolicy.Use.UNCLASSIFIED && target.isPresent() && policy.dropsResolved(target.get())) {
+			dropped.incrementAndGet();
+			return null;
+		}
+		return target;
+	}
+
+	private String associationOf(String pkg, String ownerFqn, Type type) {
+		String resolved = idx.resolveTypeName(pkg, DeclaredIndex.rawTypeName(type.asString()));
+		if (resolved == null || resolved.equals(ownerFqn)) {
+			return null;
+		}
+		return resolved;
+	}
+
+	/**
+	 * Returns the solver outcome for a type node, resolving it if not recorded.
+	 *
+	 * @param typeNode type node of a use site
+	 * @return the same as {@link DeclaredIndex#resolveTarget(Type)}, or empty when
+	 *         the policy leaves the use out
+	 */
+	Optional<TypeRef> target(Type typeNode) {
+		Optional<TypeRef> recorded = targets.get(typeNode);
+		if (recorded != null) {
+			return recorded;
+		}
+		Optional<TypeRef> target = resolveOrDrop(typeNode);
+		return target == null ? Optional.empty() : target;
+	}
+
+	/**
+	 * Tells whether the policy left out a recorded use: a supertype, field or
+	 * record component type.
+	 *
+	 * @param typeNode type node of a recorded use site
+	 * @return {@code true} if nothing should be drawn for the use
+	 */
+	boolean isDropped(Type typeNode) {
+		return droppedNodes.contains(typeNode);
+	}
+
+	/**
+	 * Returns the type the scope of a method call stands for, as
+	 * {@link DeclaredIndex#resolveScope(NameExpr, Node)} does.
+	 *
+	 * @param scopeExpr scope of the call
+	 * @param usageSite call site
+	 * @return the scope type, or empty when the policy leaves it out
+	 */
+	Optional<TypeRef> scope(NameExpr scopeExpr, Node usageSite) {
+		ExternalTypePolicy.Use use = policy.classifyScope(idx, scopeExpr);
+		if (use == ExternalTypePolicy.Use.DROPPED) {
+			dropped.incrementAndGet();
+			return Optional.empty();
+		}
+		Optional<TypeRef> target = idx.resolveScope(scopeExpr, usageSite);
+		if (use == ExternalTypePolicy.Use.UNCLASSIFIED && target.isPresent() && policy.dropsResolved(target.get())) {
+			dropped.incrementAndGet();
+			return Optional.empty();
+		}
+		return target;
+	}
+
+	/**
+	 * Returns how many uses the policy left out so far.
+	 *
+	 * @return number of uses left out
+	 */
+	int droppedUses() {
+		return dropped.get();
+	}
+
+	/**
+	 * Returns the association target of a field variable or record component.
+	 *
+	 * @param member   variable declarator or record component
+	 * @param pkg      package of the owner type
+	 * @param ownerFqn owner type FQN
+	 * @param type     declared type of the member
+	 * @return target FQN when the member becomes an association; otherwise
+	 *         {@code null}
+	 */
+	String association(Node member, String pkg, String ownerFqn, Type type) {
+		if (associations.containsKey(member)) {
+			return associations.get(member);
+		}
+		return associationOf(pkg, ownerFqn, type);
+	}
+
+}
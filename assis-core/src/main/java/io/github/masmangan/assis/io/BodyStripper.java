@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.io;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Empties method, constructor and initializer bodies of Java source text, so
+ * the parser skips them.
+ *
+ * <p>
+ * This is a brace-matching pass over the text, aware of comments, string,
+ * character and text block literals. A block is emptied only when it is a
+ * member of a named type and is neither a field initializer, an annotation
+ * default nor an enum constant body; anything else is kept. Line breaks inside
+ * an emptied body are kept, so line numbers do not change.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class BodyStripper {
+
+	/*
+	 * What a pair of braces holds.
+	 */
+	private enum Block {
+		TYPE, ENUM_CONSTANTS, OTHER
+	}
+
+	private final char[] c;
+
+	private final StringBuilder out;
+
+	private final Deque<Block> blocks = new ArrayDeque<>();
+
+	/*
+	 * Tokens since the last ';', '{' or '}': the head of the next member.
+	 */
+	private final List<String> head = new ArrayList<>();
+
+	private int parens;
+
+	private boolean assigns;
+
+	private BodyStripper(String source) {
+		this.c = source.toCharArray();
+		this.out = new StringBuilder(c.length);
+	}
+
+	/**
+	 * Returns the source with member bodies emptied.
+	 *
+	 * @param source Java source text
+	 * @return the same declarations with empty bodies
+	 */
+	static String strip(String source) {
+		return new BodyStripper(source).run();
+	}
+
+	private String run() {
+		int i = 0;
+		while (i < c.length) {
+			int end = skipCommentOrLiteral(i);
+			if (end > i) {
+				out.append(c, i, end - i);
+				i = end;
+				continue;
+			}
+
+			char ch = c[i];
+			if (Character.isJavaIdentifierStart(ch)) {
+				end = i + 1;
+				while (end < c.length && Character.isJavaIdentifierPart(c[end])) {
+					end++;
+				}
+				head.add(new String(c, i, end - i));
+				out.append(c, i, end - i);
+				i = end;
+				continue;
+			}
+
+			switch (ch) {
+			case '{' -> {
+				if (opensBody()) {
+					i = emptyBody(i);
+					resetHead();
+					continue;
+				}
+				blocks.push(blockOpened());
+				resetHead();
+			}
+			case '}' -> {
+				blocks.poll();
+				resetHead();
+			}
+			case ';' -> {
+				if (parens == 0 && blocks.peek() == Block.ENUM_CONSTANTS) {
+					blocks.pop();
+					blocks.push(Block.TYPE);
+				}
+				resetHead();
+			}
+			case '(' -> {
+				parens++;
+				head.add("(");
+			}
+			case ')' -> {
+				parens--;
+				head.add(")");
+			}
+			case '=' -> assigns |= parens == 0;
+			default -> {
+				if (!Character.isWhitespace(ch)) {
+					head.add(String.valueOf(ch));
+				}
+			}
+			}
+			out.append(ch);
+			i++;
+		}
+		return out.toString();
+	}
+
+	private boolean opensBody() {
+		Block enclosing = blocks.peek();
+		return enclosing == Block.TYPE && parens == 0 && !assigns && declaredType() == null
+				&& !(!head.isEmpty() && "default".equals(head.get(head.size() - 1)));
+	}
+
+	private Block blockOpened() {
+		Block enclosing = blocks.peek();
+		if (enclosing == Block.OTHER || parens > 0) {
+			return Block.OTHER;
+		}
+		String type = declaredType();
+		if (type == null) {
+			return Block.OTHER;
+		}
+		return "enum".equals(type) ? Block.ENUM_CONSTANTS : Block.TYPE;
+	}
+
+	/*
+	 * The keyword of a type declared by the head, or null.
+	 */
+	private String declaredType() {
+		for (int k = 0; k < head.size(); k++) {
+			String t = head.get(k);
+			boolean qualified = k > 0 && ".".equals(head.get(k - 1));
+			switch (t) {
+			case "class", "interface", "enum" -> {
+				if (!qualified) {
+					return t;
+				}
+			}
+			case "record" -> {
+				if (!qualified && k + 2 < head.size() && Character.isJavaIdentifierStart(head.get(k + 1).charAt(0))
+						&& ("(".equals(head.get(k + 2)) || "<".equals(head.get(k + 2)))) {
+					return t;
+				}
+			}
+			default -> {
+				// not a type keyword
+			}
+			}
+		}
+		return null;
+	}
+
+	private void resetHead() {
+		head.clear();
+		parens = 0;
+		assigns = false;
+	}
+
+	/*
+	 * Writes "{}" for the block opening at c[open], keeping its line breaks, and
+	 * returns the index after its closing brace.
+	 */
+	private int emptyBody(int open) {
+		out.append('{');
+		int depth = 0;
+		int i = open;
+		while (i < c.length) {
+			int end = skipCommentOrLiteral(i);
+			if (end > i) {
+				appendLineBreaks(i, end);
+				i = end;
+				continue;
+			}
+			char ch = c[i++];
+			if (ch == '{') {
+				depth++;
+			} else if (ch == '}' && --depth == 0) {
+				break;
+			} else if (ch == '\n') {
+				out.append('\n');
+			}
+		}
+		out.append('}');
+		return i;
+	}
+
+	private void appendLineBreaks(int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (c[i] == '\n') {
+				out.append('\n');
+			}
+		}
+	}
+
+	/*
+	 * Returns the index after the comment or literal starting at c[i], or i if
+	 * none starts there.
+	 */
+	private int skipCommentOrLiteral(int i) {
+		char ch = c[i];
+		if (ch == '/' && i + 1 < c.length) {
+			if (c[i + 1] == '/') {
+				int end = i + 2;
+				while (end < c.length && c[end] != '\n' && c[end] != '\r') {
+					end++;
+				}
+				return end;
+			}
+			if (c[i + 1] == '*') {
+				int end = i + 2;
+				while (end + 1 < c.length && !(c[end] == '*' && c[end + 1] == '/')) {
+					end++;
+				}
+				return Math.min(end + 2, c.length);
+			}
+		}
+		if (ch == '"' && i + 2 < c.length && c[i + 1] == '"' && c[i + 2] == '"') {
+			int end = i + 3;
+			while (end < c.length && !(c[end] == '"' && end + 2 < c.length && c[end + 1] == '"' && c[end + 2] == '"')) {
+				end += c[end] == '\\' ? 2 : 1;
+			}
+			return Math.min(end + 3, c.length);
+		}
+		if (ch == '"' || ch == '\'') {
+			int end = i + 1;
+			while (end < c.length && c[end] != ch && c[end] != '\n') {
+				end += c[end] == '\\' ? 2 : 1;
+			}
+			return Math.min(end + 1, c.length);
+		}
+		return i;
+	}
+
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.io;
+
+import java.beans.PropertyChangeSupport;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.github.masmangan.assis.internal.Dashboard;
+import io.github.masmangan.assis.util.DeterministicFileTreeWalker;
+import io.github.masmangan.assis.util.DeterministicPathList;
+import io.github.masmangan.assis.util.PackageFilter;
+
+/**
+ * The Java files found under a set of source roots by a single discovery pass.
+ *
+ * <p>
+ * Discovery uses the same traversal as {@link SmartSourceRoot}: deterministic
+ * order, hidden directories and {@link SmartSourceRoot#SKIP_DIR_NAMES} pruned.
+ * It can also honor {@code .gitignore} files or read tracked files from the Git
+ * index (see {@link DiscoveryMode}), and keep only files of selected packages
+ * (see {@link PackageFilter}).
+ * A discovery result can be checked (for example, to validate user input) and
+ * then handed to the generator, so no source tree is walked twice.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+public final class DiscoveredSources {
+
+	private static final Logger logger = Logger.getLogger(DiscoveredSources.class.getName());
+
+	private final DeterministicPathList roots;
+
+	private final Map<Path, DeterministicPathList> filesByRoot;
+
+	private final List<String> declarationOnlyTypes;
+
+	private DiscoveredSources(final DeterministicPathList roots, final Map<Path, DeterministicPathList> filesByRoot,
+			final List<String> declarationOnlyTypes) {
+		this.roots = roots;
+		this.filesByRoot = filesByRoot;
+		this.declarationOnlyTypes = declarationOnlyTypes;
+	}
+
+	/**
+	 * Discovers the Java files under each of the given source roots. Missing
+	 * roots yield no files.
+	 *
+	 * @param sourceRoots one or more source root directories; must not be
+	 *                    {@code null} or empty
+	 * @return the discovered files, grouped by normalized root
+	 * @throws IOException if an I/O error occurs while traversing
+	 */
+	public static DiscoveredSources discover(final Set<Path> sourceRoots) throws IOException {
+		return discover(sourceRoots, DiscoveryMode.WALK);
+	}
+
+	/**
+	 * Discovers the Java files under each of the given source roots, using the
+	 * given mode. Missing roots yield no files.
+	 *
+	 * <p>
+	 * Every mode lists files in the same order; {@link DiscoveryMode#GIT_INDEX}
+	 * lists tracked files only, and skips tracked files missing from the work
+	 * tree.
+	 *
+	 * @param sourceRoots one or more source root directories; must not be
+	 *                    {@code null} or empty
+	 * @param mode        how files are found; must not be {@code null}
+	 * @return the discovered files, grouped by normalized root
+	 * @throws IOException if an I/O error occurs while traversing or reading the
+	 *                     Git index
+	 * @since 0.9.5
+	 */
+	public static DiscoveredSources discover(final Set<Path> sourceRoots, final DiscoveryMode mode)
+			throws IOException {
+		return discover(sourceRoots, mode, PackageFilter.ALL);
+	}
+
+	/**
+	 * Discovers the Java files of selected packages under each of the given
+	 * source roots, using the given mode. Missing roots yield no files.
+	 *
+	 * <p>
+	 * The package of a file is read from its {@code package} declaration, without
+	 * parsing the file. A directory whose path names a package that cannot be
+	 * selected, and whose own Java files declare that package, is not walked.
+	 * Top-level types of files read but not selected are listed by
+	 * {@link #declarationOnlyTypes()}.
+	 *
+	 * @param sourceRoots one or more source root directories; must not be
+	 *                    {@code null} or empty
+	 * @param mode        how files are found; must not be {@code null}
+	 * @param filter      which packages to keep; must not be {@code null}
+	 * @return the discovered files, grouped by normalized root
+	 * @throws IOException if an I/O error occurs while traversing or reading the
+	 *                     Git index
+	 * @since 0.9.5
+	 */
+	public static DiscoveredSources discover(final Set<Path> sourceRoots, final DiscoveryMode mode,
+			final PackageFilter filter) throws IOException {
+		Objects.requireNonNull(mode, "mode");
+		Objects.requireNonNull(filter, "filter");
+		DeterministicPathList roots = DeterministicPathList.fromSourceRoots(sourceRoots);
+
+		DeterministicFileTreeWalker dftw = new DeterministicFileTreeWalker();
+		dftw.addPropertyChangeListener(Dashboard.getDashboard());
+
+		// Files listed from a Git index are reported like walked files
+		PropertyChangeSupport pcs = new PropertyChangeSupport(DiscoveredSources.class);
+		pcs.addPropertyChangeListener(Dashboard.getDashboard());
+
+		Map<Path, List<String>> indexes = new HashMap<>();
+		Map<Path, DeterministicPathList> filesByRoot = new LinkedHashMap<>();
+		List<String> declarationOnly = new ArrayList<>();
+		for (Path root : roots) {
+			List<Path> files = new ArrayList<>();
+			if (Files.isDirectory(root)) {
+				PackageSelection selection = new PackageSelection(root, filter, declarationOnly);
+				switch (mode) {
+				case WALK -> dftw.walkJavaFiles(Set.of(root),
+						dir -> SmartSourceRoot.shouldVisitDirectory(dir, root) && selection.mayHoldSelected(dir),
+						selection::selects, files::add);
+				case GITIGNORE -> walkHonoringGitIgnore(dftw, root, selection, files);
+				case GIT_INDEX -> listFromGitIndex(dftw, pcs, root, selection, indexes, files);
+				}
+			}
+			filesByRoot.put(root, DeterministicPathList.of(files));
+		}
+		return new DiscoveredSources(roots, filesByRoot, List.copyOf(declarationOnly));
+	}
+
+	private static void walkHonoringGitIgnore(DeterministicFileTreeWalker dftw, Path root,
+			PackageSelection selection, List<Path> files) throws IOException {
+		GitIgnoreRules rules = GitIgnoreRules.forTree(root);
+		dftw.walkJavaFiles(Set.of(root),
+				dir -> SmartSourceRoot.shouldVisitDirectory(dir, root) && !rules.isIgnored(dir, true)
+						&& selection.mayHoldSelected(dir),
+				file -> !rules.isIgnored(file, false) && selection.selects(file), files::add);
+	}
+
+	/*
+	 * Lists the tracked Java files under root, pruned like a walk, in walk order.
+	 * Each Git index is read once, even when several roots share a work tree.
+	 */
+	private static void listFromGitIndex(DeterministicFileTreeWalker dftw, PropertyChangeSupport pcs, Path root,
+			PackageSelection selection, Map<Path, List<String>> indexes, List<Path> files) throws IOException {
+		Optional<GitWorkTree> workTree = GitWorkTree.find(root);
+		if (workTree.isEmpty() || !Files.isRegularFile(workTree.get().indexFile())) {
+			logger.log(Level.WARNING, () -> "No Git index found for " + root + "; walking the directory instead");
+			dftw.walkJavaFiles(Set.of(root),
+					dir -> SmartSourceRoot.shouldVisitDirectory(dir, root) && selection.mayHoldSelected(dir),
+					selection::selects, files::add);
+			return;
+		}
+
+		Path workTreeRoot = workTree.get().root();
+		List<String> tracked = indexes.get(workTreeRoot);
+		if (tracked == null) {
+			tracked = GitIndexReader.readPaths(workTree.get().indexFile());
+			indexes.put(workTreeRoot, tracked);
+		}
+
+		String prefix = workTreeRoot.equals(root) ? ""
+				: workTreeRoot.relativize(root).toString().replace(File.separatorChar, '/') + "/";
+
+		List<List<String>> selected = new ArrayList<>();
+		for (String path : tracked) {
+			if (path.startsWith(prefix) && path.endsWith(".java")) {
+				List<String> segments = List.of(path.substring(prefix.length()).split("/"));
+				if (isVisible(segments)) {
+					selected.add(segments);
+				}
+			}
+		}
+		selected.sort(DiscoveredSources::compareInWalkOrder);
+
+		for (List<String> segments : selected) {
+			Path file = root.resolve(String.join(File.separator, segments));
+			if (Files.isRegularFile(file) && selection.mayHoldSelected(file.getParent()) && selection.selects(file)) {
+				files.add(file);
+				pcs.firePropertyChange("newPath", null, file);
+			}
+		}
+	}
+
+	/*
+	 * Same pruning as a walk: no hidden or skipped directory on the way.
+	 */
+	private static boolean isVisible(List<String> segments) {
+		for (int i = 0; i < segments.size() - 1; i++) {
+			String dir = segments.get(i);
+			if (dir.startsWith(".") || SmartSourceRoot.SKIP_DIR_NAMES.contains(dir)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Walk order: at the first differing segment, a directory comes before a
+	 * file, then names are compared.
+	 */
+	private static int compareInWalkOrder(List<String> a, List<String> b) {
+		int n = Math.min(a.size(), b.size());
+		for (int i = 0; i < n; i++) {
+			String x = a.get(i);
+			String y = b.get(i);
+			if (!x.equals(y)) {
+				boolean xIsDir = i < a.size() - 1;
+				boolean yIsDir = i < b.size() - 1;
+				if (xIsDir != yIsDir) {
+					return xIsDir ? -1 : 1;
+				}
+				return x.compareTo(y);
+			}
+		}
+		return Integer.compare(a.size(), b.size());
+	}
+
+	/*
+	 * Package selection for the files of one root. A directory whose path names
+	 * a package the filter cannot select is pruned only once the layout of that
+	 * directory is proven: a Java file directly inside it declares that package.
+	 * Other directories are entered, and their files selected by the package they
+	 * declare, so sources outside the conventional paths are never lost.
+	 */
+	private static final class PackageSelection {
+
+		private final Path root;
+
+		private final PackageFilter filter;
+
+		private final List<String> declarationOnly;
+
+		/**
+		 * Directory → whether its Java files are in the package its path names
+		 */
+		private final Map<Path, Boolean> conventional = new HashMap<>();
+
+		PackageSelection(Path root, PackageFilter filter, List<String> declarationOnly) {
+			this.root = root;
+			this.filter = filter;
+			this.declarationOnly = declarationOnly;
+		}
+
+		boolean mayHoldSelected(Path dir) {
+			if (filter.selectsAll()) {
+				return true;
+			}
+			String pkg = packageOf(dir);
+			if (pkg == null || filter.maySelectWithin(pkg)) {
+				return true;
+			}
+			return !conventional.computeIfAbsent(dir, d -> declaresOwnPackage(d, pkg));
+		}
+
+		boolean selects(Path file) {
+			if (filter.selectsAll()) {
+				return true;
+			}
+
+			String pkg;
+			try {
+				pkg = PackageSniffer.sniff(file, SmartSourceRoot.SOURCE_ENCODING);
+			} catch (IOException e) {
+				// Leave it to the parser to report
+				return true;
+			}
+
+			if (filter.selects(pkg)) {
+				return true;
+			}
+			String name = file.getFileName().toString();
+			String simpleName = name.substring(0, name.length() - ".java".length());
+			if (isIdentifier(simpleName)) {
+				declarationOnly.add(pkg.isEmpty() ? simpleName : pkg + "." + simpleName);
+			}
+			return false;
+		}
+
+		/*
+		 * Whether the first Java file directly in dir, in name order, declares pkg.
+		 * A directory without Java files of its own proves nothing.
+		 */
+		private static boolean declaresOwnPackage(Path dir, String pkg) {
+			List<Path> javaFiles = new ArrayList<>();
+			try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir, "*.java")) {
+				for (Path entry : entries) {
+					if (Files.isRegularFile(entry)) {
+						javaFiles.add(entry);
+					}
+				}
+				if (javaFiles.isEmpty()) {
+					return false;
+				}
+				javaFiles.sort(null);
+				return pkg.equals(PackageSniffer.sniff(javaFiles.get(0), SmartSourceRoot.SOURCE_ENCODING));
+			} catch (IOException e) {
+				return false;
+			}
+		}
+
+		/*
+		 * The package a directory holds in a conventional layout, or null if its
+		 * path is not a package name.
+		 */
+		private String packageOf(Path dir) {
+			if (!dir.startsWith(root)) {
+				return null;
+			}
+			StringBuilder pkg = new StringBuilder();
+			for (Path segment : root.relativize(dir)) {
+				String name = segment.toString();
+				if (name.isEmpty()) {
+					continue;
+				}
+				if (!isIdentifier(name)) {
+					return null;
+				}
+				if (!pkg.isEmpty()) {
+					pkg.append('.');
+				}
+				pkg.append(name);
+			}
+			return pkg.toString();
+		}
+
+		private static boolean isIdentifier(String name) {
+			if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+				return false;
+			}
+			return name.chars().skip(1).allMatch(Character::isJavaIdentifierPart);
+		}
+
+	}
+
+	/**
+	 * Returns the top-level types of files that were read but not selected by the
+	 * package filter, in discovery order. They are still valid targets for
+	 * relationships of selected types.
+	 *
+	 * @return fully qualified names; empty when every package is selected
+	 * @since 0.9.5
+	 */
+	public List<String> declarationOnlyTypes() {
+		return declarationOnlyTypes;
+	}
+
+	/**
+	 * Returns whether any Java file was discovered under a root.
+	 *
+	 * @param root one of {@link #roots()}
+	 * @return {@code true} if at least one Java file was found
+	 * @throws IllegalArgumentException if {@code root} is not a discovered root
+	 */
+	public boolean containsJava(final Path root) {
+		return javaFiles(root).iterator().hasNext();
+	}
+
+	/**
+	 * Returns the source roots, normalized and in deterministic order.
+	 *
+	 * @return the source roots
+	 */
+	public DeterministicPathList roots() {
+		return roots;
+	}
+
+	/**
+	 * Returns the Java files discovered under a root, in walk order.
+	 *
+	 * @param root one of {@link #roots()}
+	 * @return the files under {@code root}; empty if the root does not exist
+	 * @throws IllegalArgumentException if {@code root} is not a discovered root
+	 */
+	public DeterministicPathList javaFiles(final Path root) {
+		DeterministicPathList files = filesByRoot.get(Objects.requireNonNull(root, "root"));
+		if (files == null) {
+			throw new IllegalArgumentException("Not a discovered source root: " + root);
+		}
+		return files;
+	}
+
+	@Override
+	public String toString() {
+		return "DiscoveredSources" + filesByRoot.keySet();
+	}
+
+}
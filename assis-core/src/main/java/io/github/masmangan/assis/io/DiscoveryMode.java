@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.io;
+
+/**
+ * How Java files are found under a source root.
+ *
+ * <p>
+ * All modes skip hidden directories and {@link SmartSourceRoot#SKIP_DIR_NAMES},
+ * and list files in the same deterministic order.
+ *
+ * @see DiscoveredSources
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+public enum DiscoveryMode {
+
+	/**
+	 * Walk the directory tree.
+	 */
+	WALK,
+
+	/**
+	 * Walk the directory tree, skipping paths ignored by {@code .gitignore} files
+	 * and by {@code .git/info/exclude}.
+	 */
+	GITIGNORE,
+
+	/**
+	 * Read the tracked files from the Git index ({@code .git/index}) instead of
+	 * walking. Falls back to {@link #WALK} outside a Git work tree.
+	 */
+	GIT_INDEX
+
+}
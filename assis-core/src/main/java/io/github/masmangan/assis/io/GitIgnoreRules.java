@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * {@code .gitignore} rules for one directory tree.
+ *
+ * <p>
+ * Rules come from {@code .git/info/exclude} and from every {@code .gitignore}
+ * between the work tree root and the directory being checked; a deeper file
+ * takes precedence, and within a file the last matching rule wins. Supported
+ * syntax: comments, negation ({@code !}), anchoring ({@code /}), directory-only
+ * rules (trailing {@code /}), {@code *}, {@code ?}, {@code **} and bracket
+ * expressions. Global excludes ({@code core.excludesFile}) are not read.
+ *
+ * <p>
+ * Rules of each directory are loaded once, on first use. Not thread-safe.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class GitIgnoreRules {
+
+	private static final Logger logger = Logger.getLogger(GitIgnoreRules.class.getName());
+
+	private static final String GITIGNORE = ".gitignore";
+
+	/*
+	 * A single pattern line. Name rules (no slash in the pattern) match the last
+	 * path segment at any depth below base; other rules match the path relative
+	 * to base.
+	 */
+	private record Rule(Path base, Pattern pattern, boolean negated, boolean dirOnly, boolean nameOnly) {
+
+		boolean matches(Path path, boolean isDir) {
+			if ((dirOnly && !isDir) || !path.startsWith(base) || path.equals(base)) {
+				return false;
+			}
+			String subject = nameOnly ? path.getFileName().toString() : slashed(base.relativize(path));
+			return pattern.matcher(subject).matches();
+		}
+
+	}
+
+	private final Path start;
+
+	private final Map<Path, List<Rule>> rulesByDir = new HashMap<>();
+
+	private GitIgnoreRules(Path start, List<Rule> inherited) {
+		this.start = start;
+		rulesByDir.put(start, inherited);
+	}
+
+	/**
+	 * Loads the rules that apply at {@code start}: the exclude file and the
+	 * {@code .gitignore} files of its ancestors within the enclosing work tree, if
+	 * any, and {@code start/.gitignore}.
+	 *
+	 * @param start an absolute, normalized directory
+	 * @return rules for the tree rooted at {@code start}
+	 * @throws IOException if the enclosing work tree cannot be determined
+	 */
+	static GitIgnoreRules forTree(Path start) throws IOException {
+		List<Rule> rules = new ArrayList<>();
+
+		Optional<GitWorkTree> workTree = GitWorkTree.find(start);
+		if (workTree.isPresent()) {
+			Path root = workTree.get().root();
+			load(workTree.get().excludeFile(), root, rules);
+			for (Path dir : start.startsWith(root) ? ancestorsFrom(root, start) : List.<Path>of()) {
+				load(dir.resolve(GITIGNORE), dir, rules);
+			}
+		}
+		load(start.resolve(GITIGNORE), start, rules);
+
+		return new GitIgnoreRules(start, List.copyOf(rules));
+	}
+
+	/**
+	 * Returns whether {@code path} is ignored.
+	 *
+	 * @param path  an absolute, normalized path below the start directory
+	 * @param isDir whether {@code path} is a directory
+	 * @return {@code true} if the last matching rule ignores {@code path}
+	 */
+	boolean isIgnored(Path path, boolean isDir) {
+		Path parent = path.getParent();
+		if (parent == null || !parent.startsWith(start)) {
+			return false;
+		}
+
+		boolean ignored = false;
+		for (Rule rule : rulesFor(parent)) {
+			if (rule.matches(path, isDir)) {
+				ignored = !rule.negated();
+			}
+		}
+		return ignored;
+	}
+
+	private List<Rule> rulesFor(Path dir) {
+		List<Rule> rules = rulesByDir.get(dir);
+		if (rules == null) {
+			List<Rule> merged = new ArrayList<>(rulesFor(dir.getParent()));
+			load(dir.resolve(GITIGNORE), dir, merged);
+			rules = List.copyOf(merged);
+			rulesByDir.put(dir, rules);
+		}
+		return rules;
+	}
+
+	/*
+	 * Directories from root (inclusive) to end (exclusive), outermost first.
+	 */
+	private static List<Path> ancestorsFrom(Path root, Path end) {
+		List<Path> dirs = new ArrayList<>();
+		for (Path dir = end.getParent(); dir != null && dir.startsWith(root); dir = dir.getParent()) {
+			dirs.add(0, dir);
+		}
+		return dirs;
+	}
+
+	private static void load(Path file, Path base, List<Rule> out) {
+		if (!Files.isRegularFile(file)) {
+			return;
+		}
+		try {
+			for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+				Rule rule = parse(line, base);
+				if (rule != null) {
+					out.add(rule);
+				}
+			}
+		} catch (IOException e) {
+			logger.log(Level.WARNING, () -> "Cannot read " + file + "; its rules are ignored: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Parses one line of a {@code .gitignore} file.
+	 *
+	 * @param line the raw line
+	 * @param base directory holding the file
+	 * @return the rule, or {@code null} for blank lines and comments
+	 */
+	private static Rule parse(String line, Path base) {
+		String p = stripTrailingSpaces(line);
+		if (p.isEmpty() || p.startsWith("#")) {
+			return null;
+		}
+
+		boolean negated = p.startsWith("!");
+		if (negated) {
+			p = p.substring(1);
+		}
+
+		boolean dirOnly = p.endsWith("/");
+		if (dirOnly) {
+			p = p.substring(0, p.length() - 1);
+		}
+
+		boolean nameOnly = p.indexOf('/') < 0;
+		if (p.startsWith("/")) {
+			p = p.substring(1);
+		}
+		if (p.isEmpty()) {
+			return null;
+		}
+
+		return new Rule(base, Pattern.compile(globToRegex(p)), negated, dirOnly, nameOnly);
+	}
+
+	private static String stripTrailingSpaces(String line) {
+		int end = line.length();
+		while (end > 0 && line.charAt(end - 1) == ' ' && (end < 2 || line.charAt(end - 2) != '\\')) {
+			end--;
+		}
+		return line.substring(0, end);
+	}
+
+	/**
+	 * Translates a gitignore glob into a regular expression over
+	 * {@code '/'}-separated paths.
+	 *
+	 * @param glob pattern without negation, anchoring and trailing slash
+	 * @return an equivalent regular expression
+	 */
+	static String globToRegex(String glob) {
+		StringBuilder re = new StringBuilder();
+		int n = glob.length();
+		for (int i = 0; i < n; i++) {
+			char c = glob.charAt(i);
+			switch (c) {
+			case '*' -> {
+				boolean twoStars = i + 1 < n && glob.charAt(i + 1) == '*';
+				boolean segmentStart = i == 0 || glob.charAt(i - 1) == '/';
+				if (twoStars && segmentStart && i + 2 == n) {
+					re.append(".*");
+					i++;
+				} else if (twoStars && segmentStart && glob.charAt(i + 2) == '/') {
+					re.append("(?:.*/)?");
+					i += 2;
+				} else {
+					re.append("[^/]*");
+					while (i + 1 < n && glob.charAt(i + 1) == '*') {
+						i++;
+					}
+				}
+			}
+			case '?' -> re.append("[^/]");
+			case '[' -> i = appendBracket(glob, i, re);
+			case '\\' -> {
+				if (i + 1 < n) {
+					re.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+				}
+			}
+			default -> re.append(Pattern.quote(String.valueOf(c)));
+			}
+		}
+		return re.toString();
+	}
+
+	/*
+	 * Appends a bracket expression starting at glob[open] and returns the index
+	 * of its closing bracket; an unclosed bracket is a literal.
+	 */
+	private static int appendBracket(String glob, int open, StringBuilder re) {
+		int i = open + 1;
+		if (i < glob.length() && (glob.charAt(i) == '!' || glob.charAt(i) == '^')) {
+			i++;
+		}
+		if (i < glob.length() && glob.charAt(i) == ']') {
+			i++;
+		}
+		int close = glob.indexOf(']', i);
+		if (close < 0) {
+			re.append("\\[");
+			return open;
+		}
+
+		re.append('[');
+		int j = open + 1;
+		if (glob.charAt(j) == '!' || glob.charAt(j) == '^') {
+			re.append('^');
+			j++;
+		}
+		for (; j < close; j++) {
+			char c = glob.charAt(j);
+			if (c == '\\' || c == '[' || c == ']' || c == '&' || c == '^') {
+				re.append('\\');
+			}
+			re.append(c);
+		}
+		re.append(']');
+		return close;
+	}
+
+	private static String slashed(Path relative) {
+		return relative.toString().replace(File.separatorChar, '/');
+	}
+
+}
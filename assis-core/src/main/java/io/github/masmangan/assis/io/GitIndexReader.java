@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the paths of tracked files from a Git index file ({@code .git/index}),
+ * versions 2, 3 and 4, without running {@code git}.
+ *
+ * <p>
+ * Only regular files are listed (symbolic links, submodules and sparse
+ * directory entries are skipped); a path with several merge stages is listed
+ * once. Split indexes are not supported.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class GitIndexReader {
+
+	private static final int SIGNATURE = 0x44495243; // "DIRC"
+
+	private static final int SPLIT_INDEX_EXTENSION = 0x6c696e6b; // "link"
+
+	private static final int ENTRY_NAME_OFFSET = 62;
+
+	private static final int FLAG_EXTENDED = 0x4000;
+
+	private static final int MODE_TYPE_MASK = 0170000;
+
+	private static final int MODE_REGULAR_FILE = 0100000;
+
+	/*
+	 * No constructor available.
+	 */
+	private GitIndexReader() {
+	}
+
+	/**
+	 * Reads the tracked file paths, in index order (byte order of paths).
+	 *
+	 * @param indexFile the index file
+	 * @return {@code '/'}-separated paths relative to the work tree root
+	 * @throws IOException if the file cannot be read, is not a Git index, or uses
+	 *                     an unsupported format
+	 */
+	static List<String> readPaths(Path indexFile) throws IOException {
+		ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+		try {
+			return readPaths(buf, indexFile);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IOException("Truncated Git index: " + indexFile, e);
+		}
+	}
+
+	private static List<String> readPaths(ByteBuffer buf, Path indexFile) throws IOException {
+		if (buf.remaining() < 12 || buf.getInt() != SIGNATURE) {
+			throw new IOException("Not a Git index: " + indexFile);
+		}
+		int version = buf.getInt();
+		if (version < 2 || version > 4) {
+			throw new IOException("Unsupported Git index version " + version + ": " + indexFile);
+		}
+		int count = buf.getInt();
+
+		List<String> paths = new ArrayList<>(count);
+		byte[] previous = new byte[0];
+		String last = null;
+		for (int i = 0; i < count; i++) {
+			int start = buf.position();
+			int mode = buf.getInt(start + 24);
+			int flags = buf.getShort(start + 60) & 0xFFFF;
+
+			int nameOffset = ENTRY_NAME_OFFSET;
+			if ((flags & FLAG_EXTENDED) != 0) {
+				if (version < 3) {
+					throw new IOException("Extended entry flags in a version 2 Git index: " + indexFile);
+				}
+				nameOffset += 2;
+			}
+			buf.position(start + nameOffset);
+
+			byte[] name;
+			if (version == 4) {
+				int strip = readOffsetVarint(buf);
+				byte[] suffix = readNulTerminated(buf);
+				int keep = previous.length - strip;
+				if (keep < 0) {
+					throw new IOException("Corrupt path compression in Git index: " + indexFile);
+				}
+				name = Arrays.copyOf(previous, keep + suffix.length);
+				System.arraycopy(suffix, 0, name, keep, suffix.length);
+				previous = name;
+			} else {
+				name = readNulTerminated(buf);
+				buf.position(start + ((nameOffset + name.length + 8) & ~7));
+			}
+
+			if ((mode & MODE_TYPE_MASK) == MODE_REGULAR_FILE) {
+				String path = new String(name, StandardCharsets.UTF_8);
+				if (!path.equals(last)) {
+					paths.add(path);
+					last = path;
+				}
+			}
+		}
+
+		rejectSplitIndex(buf, indexFile);
+		return paths;
+	}
+
+	/*
+	 * Extensions follow the entries; a split index keeps most entries in a shared
+	 * file, so this index alone would be incomplete.
+	 */
+	private static void rejectSplitIndex(ByteBuffer buf, Path indexFile) throws IOException {
+		while (buf.remaining() > 8 + 20) {
+			int signature = buf.getInt();
+			int size = buf.getInt();
+			if (signature == SPLIT_INDEX_EXTENSION) {
+				throw new IOException("Split Git index is not supported: " + indexFile);
+			}
+			if (size < 0 || size > buf.remaining()) {
+				return;
+			}
+			buf.position(buf.position() + size);
+		}
+	}
+
+	/*
+	 * Git's offset encoding: each continuation adds one before shifting, so every
+	 * value has a single representation.
+	 */
+	private static int readOffsetVarint(ByteBuffer buf) {
+		int c = buf.get() & 0xFF;
+		int value = c & 0x7F;
+		while ((c & 0x80) != 0) {
+			c = buf.get() & 0xFF;
+			value = ((value + 1) << 7) | (c & 0x7F);
+		}
+		return value;
+	}
+
+	private static byte[] readNulTerminated(ByteBuffer buf) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (byte b = buf.get(); b != 0; b = buf.get()) {
+			out.write(b);
+		}
+		return out.toByteArray();
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * A Git work tree and its repository directory.
+ *
+ * @param root   work tree root (the directory holding {@code .git})
+ * @param gitDir repository directory; differs from {@code root/.git} for linked
+ *               work trees and submodules, where {@code .git} is a file
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+record GitWorkTree(Path root, Path gitDir) {
+
+	private static final String GITDIR_PREFIX = "gitdir:";
+
+	/**
+	 * Finds the work tree enclosing {@code start}, looking at {@code start} and
+	 * its ancestors.
+	 *
+	 * @param start an absolute, normalized directory
+	 * @return the enclosing work tree, if any
+	 * @throws IOException if a {@code .git} file cannot be read
+	 */
+	static Optional<GitWorkTree> find(Path start) throws IOException {
+		for (Path dir = start; dir != null; dir = dir.getParent()) {
+			Path dotGit = dir.resolve(".git");
+			if (Files.isDirectory(dotGit)) {
+				return Optional.of(new GitWorkTree(dir, dotGit));
+			}
+			if (Files.isRegularFile(dotGit)) {
+				String content = Files.readString(dotGit, StandardCharsets.UTF_8).strip();
+				if (content.startsWith(GITDIR_PREFIX)) {
+					Path gitDir = dir.resolve(content.substring(GITDIR_PREFIX.length()).strip()).normalize();
+					return Optional.of(new GitWorkTree(dir, gitDir));
+				}
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 *
+	 * @return the index file of this work tree
+	 */
+	Path indexFile() {
+		return gitDir.resolve("index");
+	}
+
+	/**
+	 *
+	 * @return the repository-wide exclude file
+	 */
+	Path excludeFile() {
+		return gitDir.resolve("info").resolve("exclude");
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads the package name of a Java file without parsing it.
+ *
+ * <p>
+ * Only the head of the file is read: comments and annotations are skipped
+ * until the {@code package} keyword, or until anything else, which means the
+ * default package.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class PackageSniffer {
+
+	private static final int EOF = -1;
+
+	private final Reader in;
+
+	private int next;
+
+	private PackageSniffer(Reader in) throws IOException {
+		this.in = in;
+		this.next = in.read();
+	}
+
+	/**
+	 * Returns the declared package of a Java file.
+	 *
+	 * @param file     a Java source file
+	 * @param encoding encoding of the file, as the parser reads it
+	 * @return the package name; empty for the default package
+	 * @throws IOException if the file cannot be read
+	 */
+	static String sniff(Path file, Charset encoding) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(file, encoding)) {
+			return new PackageSniffer(reader).packageName();
+		}
+	}
+
+	/**
+	 * Returns the declared package of Java source text.
+	 *
+	 * @param source Java source, or at least its head
+	 * @return the package name; empty for the default package
+	 * @throws IOException if the reader fails
+	 */
+	static String sniff(Reader source) throws IOException {
+		return new PackageSniffer(source).packageName();
+	}
+
+	private String packageName() throws IOException {
+		while (true) {
+			skipWhitespaceAndComments();
+			if (next == '@') {
+				advance();
+				skipAnnotation();
+			} else if (Character.isJavaIdentifierStart(next)) {
+				if (!"package".equals(identifier())) {
+					return "";
+				}
+				return qualifiedName();
+			} else {
+				return "";
+			}
+		}
+	}
+
+	private String qualifiedName() throws IOException {
+		StringBuilder name = new StringBuilder();
+		while (true) {
+			skipWhitespaceAndComments();
+			if (Character.isJavaIdentifierStart(next)) {
+				name.append(identifier());
+			} else if (next == '.') {
+				name.append('.');
+				advance();
+			} else {
+				return name.toString();
+			}
+		}
+	}
+
+	/*
+	 * Skips the rest of an annotation after '@': its name and any
+	 * parenthesized arguments.
+	 */
+	private void skipAnnotation() throws IOException {
+		qualifiedName();
+		skipWhitespaceAndComments();
+		if (next != '(') {
+			return;
+		}
+		int depth = 0;
+		while (next != EOF) {
+			int c = next;
+			advance();
+			if (c == '(') {
+				depth++;
+			} else if (c == ')' && --depth == 0) {
+				return;
+			} else if (c == '"' || c == '\'') {
+				skipLiteral(c);
+			} else if (c == '/' && (next == '/' || next == '*')) {
+				skipComment();
+			}
+		}
+	}
+
+	private void skipLiteral(int quote) throws IOException {
+		while (next != EOF && next != quote) {
+			if (next == '\\') {
+				advance();
+			}
+			advance();
+		}
+		advance();
+	}
+
+	private void skipWhitespaceAndComments() throws IOException {
+		while (true) {
+			if (Character.isWhitespace(next) || next == '\uFEFF') {
+				advance();
+			} else if (next == '/') {
+				advance();
+				if (next != '/' && next != '*') {
+					// Not a comment; nothing valid starts with '/' here
+					next = EOF;
+					return;
+				}
+				skipComment();
+			} else {
+				return;
+			}
+		}
+	}
+
+	/*
+	 * Called with the reader just past the first '/' and positioned on the second
+	 * comment character.
+	 */
+	private void skipComment() throws IOException {
+		if (next == '/') {
+			while (next != EOF && next != '\n' && next != '\r') {
+				advance();
+			}
+			return;
+		}
+		advance();
+		int prev = 0;
+		while (next != EOF && !(prev == '*' && next == '/')) {
+			prev = next;
+			advance();
+		}
+		advance();
+	}
+
+	private String identifier() throws IOException {
+		StringBuilder id = new StringBuilder();
+		while (next != EOF && Character.isJavaIdentifierPart(next)) {
+			id.append((char) next);
+			advance();
+		}
+		return id.toString();
+	}
+
+	private void advance() throws IOException {
+		if (next != EOF) {
+			next = in.read();
+		}
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjLongConsumer;
+
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ast.CompilationUnit;
+
+/**
+ * Overlaps discovery, parsing and indexing of Java files.
+ *
+ * <p>
+ * The calling thread walks the source roots and feeds a bounded queue; worker
+ * threads take files from the queue, parse them and hand each compilation unit
+ * to a sink. When the queue is full, discovery blocks until a worker catches up
+ * (backpressure).
+ *
+ * <p>
+ * Each file gets a sequence number in discovery order. Units reach the sink in
+ * any order, from any worker; the sink must be thread-safe.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class ParsePipeline {
+
+	private record Job(long sequence, SmartSourceRoot root, Path file) {
+	}
+
+	private static final Job END = new Job(-1, null, null);
+
+	private final int workers;
+
+	private final BlockingQueue<Job> queue;
+
+	private final ObjLongConsumer<CompilationUnit> sink;
+
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	/**
+	 *
+	 * @param workers  number of parse threads; at least one
+	 * @param capacity queue capacity; at least one
+	 * @param sink     receives each parsed unit with its discovery sequence
+	 */
+	ParsePipeline(final int workers, final int capacity, final ObjLongConsumer<CompilationUnit> sink) {
+		if (workers < 1 || capacity < 1) {
+			throw new IllegalArgumentException("workers and capacity must be positive");
+		}
+		this.workers = workers;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.sink = Objects.requireNonNull(sink, "sink");
+	}
+
+	/**
+	 * Discovers, parses and sinks all Java files of the given roots. Returns when
+	 * every file has been parsed; parse results are also cached by each root.
+	 *
+	 * @param roots source roots, in scan order
+	 * @throws IOException if discovery or parsing fails
+	 */
+	void run(final List<SmartSourceRoot> roots) throws IOException {
+		List<Thread> threads = new ArrayList<>(workers);
+		for (int i = 0; i < workers; i++) {
+			Thread t = new Thread(this::drain, "assis-parse-" + i);
+			t.setDaemon(true);
+			t.start();
+			threads.add(t);
+		}
+
+		long[] next = { 0 };
+		try {
+			for (SmartSourceRoot root : roots) {
+				root.discoverJavaFiles(file -> put(new Job(next[0]++, root, file)));
+			}
+		} catch (UncheckedIOException e) {
+			failure.compareAndSet(null, e.getCause());
+		} catch (IOException | RuntimeException e) {
+			failure.compareAndSet(null, e);
+		} finally {
+			finish(threads);
+		}
+
+		Throwable t = failure.get();
+		if (t instanceof IOException ioe) {
+			throw ioe;
+		}
+		if (t instanceof RuntimeException re) {
+			throw re;
+		}
+		if (t instanceof Error err) {
+			throw err;
+		}
+	}
+
+	/*
+	 * Worker loop. After a failure, workers keep draining the queue without
+	 * parsing, so discovery never blocks on a dead pipeline.
+	 */
+	private void drain() {
+		try {
+			for (Job job = queue.take(); job != END; job = queue.take()) {
+				if (failure.get() == null) {
+					parse(job);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void parse(final Job job) {
+		try {
+			ParseResult<CompilationUnit> r = job.root().tryToParseDiscovered(job.file());
+			r.getResult().ifPresent(unit -> sink.accept(unit, job.sequence()));
+		} catch (IOException | RuntimeException | Error e) {
+			failure.compareAndSet(null, e);
+		}
+	}
+
+	private void put(final Job job) {
+		if (failure.get() != null) {
+			return;
+		}
+		try {
+			queue.put(job);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new UncheckedIOException(new InterruptedIOException("Interrupted while scanning " + job.file()));
+		}
+	}
+
+	private void finish(final List<Thread> threads) {
+		boolean interrupted = Thread.interrupted();
+		for (int i = 0; i < threads.size(); i++) {
+			while (true) {
+				try {
+					queue.put(END);
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		for (Thread t : threads) {
+			while (true) {
+				try {
+					t.join();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
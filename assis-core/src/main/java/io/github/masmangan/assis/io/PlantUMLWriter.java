@@ -179,6 +179,22 @@ public final class PlantUMLWriter implements AutoCloseable {
 		out.println();
 	}
 
+	/**
+	 * Writes already rendered PlantUML text verbatim.
+	 *
+	 * <p>
+	 * The text is expected to come from another {@code PlantUMLWriter}; it is
+	 * neither indented nor tagged again.
+	 *
+	 * @param rendered rendered lines, including line terminators; must not be
+	 *                 {@code null}
+	 * @throws NullPointerException if {@code rendered} is {@code null}
+	 */
+	public void appendRendered(final String rendered) {
+		Objects.requireNonNull(rendered, "rendered");
+		out.print(rendered);
+	}
+
 	/**
 	 * Writes an empty line.
 	 */
@@ -270,8 +286,27 @@ public final class PlantUMLWriter implements AutoCloseable {
 	 *                                  {@code "\n"}, or {@code "\r"}
 	 */
 	public void beginPackage(final String name) {
+		beginPackage(name, EMPTY_STRING);
+	}
+
+	/**
+	 * Begins a {@code package} block with stereotypes and increases indentation.
+	 *
+	 * @param name        package name to quote in the emitted statement; must not
+	 *                    be {@code null}
+	 * @param stereotypes optional stereotypes (e.g., {@code <<cycle>>}); may be
+	 *                    blank
+	 * @throws NullPointerException     if {@code name} is {@code null}
+	 * @throws IllegalArgumentException if {@code name} or {@code stereotypes}
+	 *                                  contains {@code "}, {@code "\n"}, or
+	 *                                  {@code "\r"}
+	 * @since 0.9.5
+	 */
+	public void beginPackage(final String name, final String stereotypes) {
 		checkName(name);
-		println("package \"%s\" { /' @assis:begin package \"%s\" '/".formatted(name.strip(), name.strip()));
+		checkStereotypes(stereotypes);
+		println("package \"%s\"%s { /' @assis:begin package \"%s\" '/".formatted(name.strip(),
+				prefixIfPresent(" ", stereotypes.strip()), name.strip()));
 		indent();
 	}
 
@@ -532,6 +567,26 @@ public final class PlantUMLWriter implements AutoCloseable {
 		out.println();
 	}
 
+	/**
+	 * Connects two elements with a dependency labeled with its weight, e.g. the
+	 * number of type relationships between two packages.
+	 *
+	 * @param source element to quote in the emitted statement; must not be
+	 *               {@code null}
+	 * @param target element to quote in the emitted statement; must not be
+	 *               {@code null}
+	 * @param weight edge weight
+	 * @throws IllegalArgumentException if {@code source} or {@code target}
+	 *                                  contains {@code "}, {@code "\n"}, or
+	 *                                  {@code "\r"}
+	 * @since 0.9.5
+	 */
+	public void connectWeightedDepends(String source, String target, int weight) {
+		checkName(source);
+		checkName(target);
+		println("%s %s %s %s %d".formatted(quote(source), USES, quote(target), COLON_SEPARATOR, weight));
+	}
+
 	/**
 	 *
 	 * @param subType
@@ -9,11 +9,14 @@ import static com.github.javaparser.utils.CodeGenerationUtils.packageAbsolutePat
 import static com.github.javaparser.utils.Utils.assertNotNull;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
+import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseResult;
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.ast.CompilationUnit;
@@ -39,9 +42,11 @@ import io.github.masmangan.assis.util.DeterministicPathList;
  *
  * <p>
  * This source root installs a fixed {@link JavaSymbolSolver} backed by a
- * {@link JavaParserTypeSolver} rooted at {@code rootPath}. The configuration is
- * locked after construction because other parts of the system rely on a stable
- * "unparsed types remain unresolved" rule (i.e., no
+ * {@link JavaParserTypeSolver} rooted at {@code rootPath}; each thread gets its
+ * own solver instance (see {@link ThreadConfinedSymbolResolver}), until
+ * {@link #releaseSymbolSolvers()}. The
+ * configuration is locked after construction because other parts of the system
+ * rely on a stable "unparsed types remain unresolved" rule (i.e., no
  * {@code ReflectionTypeSolver}).
  *
  * @author Marco Mangan
@@ -50,6 +55,12 @@ public class SmartSourceRoot extends SourceRoot {
 
 	private final Path rootPath;
 
+	private final DeterministicPathList discovered;
+
+	private final boolean skipBodies;
+
+	private final ThreadConfinedSymbolResolver resolver;
+
 	private boolean locked = false;
 
 	/**
@@ -59,22 +70,53 @@ public class SmartSourceRoot extends SourceRoot {
 	public static final Set<String> SKIP_DIR_NAMES = Set.of(".git", ".idea", ".gradle", ".mvn", "target", "build",
 			"out", "node_modules");
 
-	public SmartSourceRoot(Path root) {
-		super(root);
-		this.rootPath = root;
+	/**
+	 * Encoding of the source files, as set in the parser configuration; files
+	 * read without the parser use it too.
+	 */
+	static final Charset SOURCE_ENCODING = new ParserConfiguration().getCharacterEncoding();
 
-		CombinedTypeSolver ts = new CombinedTypeSolver();
+	public SmartSourceRoot(Path root) {
+		this(root, null);
+	}
 
-		ts.add(new ReflectionTypeSolver());
+	/**
+	 * Creates a source root whose Java files were already discovered, so they are
+	 * parsed without walking the directory again.
+	 *
+	 * @param root      source root directory
+	 * @param javaFiles files under {@code root}, in walk order (see
+	 *                  {@link DiscoveredSources}); {@code null} to walk on demand
+	 * @since 0.9.5
+	 */
+	public SmartSourceRoot(Path root, DeterministicPathList javaFiles) {
+		this(root, javaFiles, false);
+	}
 
-		ts.add(new JavaParserTypeSolver(root));
+	/**
+	 * Creates a source root that may parse declarations only: method,
+	 * constructor and initializer bodies are emptied before parsing (see
+	 * {@link BodyStripper}). A file that no longer parses is parsed whole.
+	 *
+	 * @param root       source root directory
+	 * @param javaFiles  files under {@code root}, in walk order; {@code null} to
+	 *                   walk on demand
+	 * @param skipBodies {@code true} to parse declarations only
+	 * @since 0.9.5
+	 */
+	public SmartSourceRoot(Path root, DeterministicPathList javaFiles, boolean skipBodies) {
+		super(root);
+		this.rootPath = root;
+		this.discovered = javaFiles;
+		this.skipBodies = skipBodies;
 
-		JavaSymbolSolver jss = new JavaSymbolSolver(ts);
+		this.resolver = new ThreadConfinedSymbolResolver(() -> newSymbolSolver(root));
 
 		//@formatter:off
 		ParserConfiguration cfg = new ParserConfiguration()
 				.setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
-				.setSymbolResolver(jss)
+				.setCharacterEncoding(SOURCE_ENCODING)
+				.setSymbolResolver(resolver)
 				.setLexicalPreservationEnabled(false)
 				.setAttributeComments(false)
 				.setDoNotAssignCommentsPrecedingEmptyLines(true)
@@ -87,6 +129,35 @@ public class SmartSourceRoot extends SourceRoot {
 		locked = true;
 	}
 
+	/**
+	 * Creates the symbol solver used by a single thread.
+	 *
+	 * @param root source root directory
+	 * @return a new solver backed by reflection and by {@code root}
+	 */
+	private static JavaSymbolSolver newSymbolSolver(Path root) {
+		CombinedTypeSolver ts = new CombinedTypeSolver();
+
+		ts.add(new ReflectionTypeSolver());
+
+		ts.add(new JavaParserTypeSolver(root));
+
+		return new JavaSymbolSolver(ts);
+	}
+
+	/**
+	 * Drops the symbol solver of every thread, with its caches. Units parsed from
+	 * this root still resolve afterwards; solvers are created again on demand.
+	 *
+	 * <p>
+	 * Not to be called while units of this root are being resolved.
+	 *
+	 * @since 0.9.5
+	 */
+	public void releaseSymbolSolvers() {
+		resolver.release();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -96,6 +167,7 @@ public class SmartSourceRoot extends SourceRoot {
 	 * {@link DeterministicFileTreeWalker}
 	 * <li>Traversing directories whose names are not valid Java identifiers
 	 * <li>Skipping hidden directories and common tool directories
+	 * <li>Reusing files discovered beforehand, if given at construction
 	 * </ul>
 	 */
 	@Override
@@ -110,29 +182,96 @@ public class SmartSourceRoot extends SourceRoot {
 
 		// D1: deterministic discovery order within this source root.
 
-		DeterministicFileTreeWalker dftw = new DeterministicFileTreeWalker();
-		dftw.addPropertyChangeListener(Dashboard.getDashboard());
+		if (discovered != null) {
+			for (Path file : discovered) {
+				if (file.startsWith(startPath)) {
+					tryToParseDiscovered(file);
+				}
+			}
+			return getCache();
+		}
 
-		DeterministicPathList javaFiles = dftw.discoverJavaFiles(Set.of(startPath),
+		DeterministicPathList javaFiles = newWalker().discoverJavaFiles(Set.of(startPath),
 				dir -> shouldVisitDirectory(dir, startPath));
 
 		for (Path file : javaFiles) {
-			Path parent = file.getParent();
-			Path relative = (parent == null) ? rootPath : rootPath.relativize(parent);
-			String pkgPath = relative.toString().replace('\\', '/');
-			tryToParse(pkgPath, file.getFileName().toString());
+			tryToParseDiscovered(file);
 		}
 
 		return getCache();
 	}
 
+	/**
+	 * Streams the Java files of this source root to {@code sink}, in the same
+	 * deterministic order used by {@link #tryToParse(String)}.
+	 *
+	 * <p>
+	 * Directories are listed ahead of the walk on a few threads of the walker;
+	 * {@code sink} is called on the calling thread, with each file as soon as the
+	 * directories before it are listed, so parsing can start right away. Files
+	 * already discovered at construction are replayed instead.
+	 * Files are not parsed; see {@link #tryToParseDiscovered(Path)}.
+	 *
+	 * @param sink receives each discovered file
+	 * @throws IOException if an I/O error occurs while traversing
+	 * @since 0.9.5
+	 */
+	public void discoverJavaFiles(Consumer<Path> sink) throws IOException {
+		if (discovered != null) {
+			discovered.forEach(sink);
+		} else if (Files.exists(rootPath)) {
+			newWalker().walkJavaFilesInParallel(Set.of(rootPath), dir -> shouldVisitDirectory(dir, rootPath), sink);
+		}
+	}
+
+	/**
+	 * Parses a file discovered under this source root and caches the result.
+	 *
+	 * <p>
+	 * Safe to call from several threads: the cache is concurrent and symbol
+	 * resolution is thread-confined.
+	 *
+	 * @param file a Java file under this source root
+	 * @return the parse result
+	 * @throws IOException if the file cannot be read
+	 * @since 0.9.5
+	 */
+	public ParseResult<CompilationUnit> tryToParseDiscovered(Path file) throws IOException {
+		Path parent = file.getParent();
+		Path relative = (parent == null) ? rootPath : rootPath.relativize(parent);
+		String pkgPath = relative.toString().replace('\\', '/');
+		String filename = file.getFileName().toString();
+		if (skipBodies) {
+			ParseResult<CompilationUnit> declarations = tryToParseDeclarations(file);
+			if (declarations.isSuccessful()) {
+				add(pkgPath, filename, declarations.getResult().orElseThrow());
+				return declarations;
+			}
+		}
+		return tryToParse(pkgPath, filename);
+	}
+
+	private ParseResult<CompilationUnit> tryToParseDeclarations(Path file) throws IOException {
+		ParserConfiguration cfg = getParserConfiguration();
+		String source = Files.readString(file, cfg.getCharacterEncoding());
+		ParseResult<CompilationUnit> result = new JavaParser(cfg).parse(BodyStripper.strip(source));
+		result.getResult().ifPresent(cu -> cu.setStorage(file, cfg.getCharacterEncoding()));
+		return result;
+	}
+
+	private static DeterministicFileTreeWalker newWalker() {
+		DeterministicFileTreeWalker dftw = new DeterministicFileTreeWalker();
+		dftw.addPropertyChangeListener(Dashboard.getDashboard());
+		return dftw;
+	}
+
 	/**
 	 * Directory filter used during traversal.
 	 *
 	 * @param dir       directory being considered
 	 * @param startPath directory where traversal started for this call
 	 */
-	private boolean shouldVisitDirectory(Path dir, Path startPath) {
+	static boolean shouldVisitDirectory(Path dir, Path startPath) {
 		String name = (dir.getFileName() == null) ? "" : dir.getFileName().toString();
 
 		try {
@@ -11,12 +11,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.ObjLongConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -52,9 +54,31 @@ public class SmartSourceRootManager {
 		pcs.firePropertyChange("newUnit", null, unit); // optional, useful for “live”
 	}
 
+	private static final int QUEUE_CAPACITY_PER_WORKER = 64;
+
 	private static final Logger logger = Logger.getLogger(SmartSourceRootManager.class.getName());
 
+	private final boolean skipBodies;
+
+	/**
+	 * Source roots opened by the scans of this manager
+	 */
+	private final List<SmartSourceRoot> opened = new ArrayList<>();
+
 	public SmartSourceRootManager() {
+		this(false);
+	}
+
+	/**
+	 * Creates a manager whose source roots may parse declarations only.
+	 *
+	 * @param skipBodies {@code true} to skip method, constructor and initializer
+	 *                   bodies (see {@link SmartSourceRoot#SmartSourceRoot(Path,
+	 *                   DeterministicPathList, boolean)})
+	 * @since 0.9.5
+	 */
+	public SmartSourceRootManager(boolean skipBodies) {
+		this.skipBodies = skipBodies;
 	}
 
 	/**
@@ -80,45 +104,163 @@ public class SmartSourceRootManager {
 	 */
 	public List<CompilationUnit> autoscan(DeterministicPathList sortedSourceRoots) throws IOException {
 		Objects.requireNonNull(sortedSourceRoots);
+		return scan(sortedSourceRoots, null);
+	}
+
+	/**
+	 * Parses all {@code .java} files of a previous discovery pass, without walking
+	 * the source roots again.
+	 *
+	 * <p>
+	 * The returned list, events and warnings are the same as
+	 * {@link #autoscan(DeterministicPathList)} over {@code sources.roots()}.
+	 *
+	 * @param sources discovered source roots and files; must not be {@code null}
+	 * @return compilation units successfully parsed from all roots
+	 * @throws IOException if an I/O error occurs while parsing
+	 * @since 0.9.5
+	 */
+	public List<CompilationUnit> autoscan(DiscoveredSources sources) throws IOException {
+		Objects.requireNonNull(sources);
+		return scan(sources.roots(), sources);
+	}
+
+	/**
+	 * Scans the given Java source root directories as a pipeline: discovery,
+	 * parsing and {@code sink} run concurrently, connected by a bounded queue.
+	 *
+	 * <p>
+	 * {@code sink} receives each parsed unit together with its discovery
+	 * sequence, from several worker threads and in no particular order; it must
+	 * be thread-safe. The returned list, events and warnings are the same as
+	 * {@link #autoscan(DeterministicPathList)}.
+	 *
+	 * @param sortedSourceRoots one or more Java source root directories; must not
+	 *                          be {@code null} or empty
+	 * @param workers           number of parse threads; at least one
+	 * @param sink              receives each parsed unit as soon as available
+	 * @return compilation units successfully parsed from all roots
+	 * @throws IOException if an I/O error occurs while scanning or parsing
+	 * @since 0.9.5
+	 */
+	public List<CompilationUnit> autoscan(DeterministicPathList sortedSourceRoots, int workers,
+			ObjLongConsumer<CompilationUnit> sink) throws IOException {
+		Objects.requireNonNull(sortedSourceRoots);
+		return scanPipelined(sortedSourceRoots, null, workers, sink);
+	}
+
+	/**
+	 * Parses all {@code .java} files of a previous discovery pass as a pipeline;
+	 * see {@link #autoscan(DeterministicPathList, int, ObjLongConsumer)}.
+	 *
+	 * @param sources discovered source roots and files; must not be {@code null}
+	 * @param workers number of parse threads; at least one
+	 * @param sink    receives each parsed unit as soon as available
+	 * @return compilation units successfully parsed from all roots
+	 * @throws IOException if an I/O error occurs while parsing
+	 * @since 0.9.5
+	 */
+	public List<CompilationUnit> autoscan(DiscoveredSources sources, int workers, ObjLongConsumer<CompilationUnit> sink)
+			throws IOException {
+		Objects.requireNonNull(sources);
+		return scanPipelined(sources.roots(), sources, workers, sink);
+	}
 
+	private List<CompilationUnit> scan(DeterministicPathList sortedSourceRoots, DiscoveredSources sources)
+			throws IOException {
 		List<CompilationUnit> units = new ArrayList<>();
 
 		logger.log(Level.INFO, () -> "Scanning started");
 
 		for (Path src : sortedSourceRoots) {
-
-			logger.log(Level.INFO, () -> "Scanning " + src);
-
-			if (!Files.exists(src)) {
-				logger.log(Level.WARNING, () -> "Source folder does not exist: " + src);
+			SmartSourceRoot root = openRoot(src, sources);
+			if (root == null) {
 				continue;
 			}
 
-			SmartSourceRoot root = new SmartSourceRoot(src);
+			root.tryToParse("");
 
-			List<ParseResult<CompilationUnit>> results = root.tryToParse("");
+			collectUnits(src, root, units);
+		}
 
-			int addedFromThisRoot = 0;
-			for (ParseResult<CompilationUnit> r : results) {
-				Optional<CompilationUnit> opt = r.getResult();
-				if (opt.isPresent()) {
-					units.add(opt.get());
-					fireCompilationUnitDiscovered(opt.get());
-					addedFromThisRoot++;
-				}
-			}
+		warnOnPrimaryTypeCollisions(units);
+
+		sortUnitsByPackage(units);
+		return units;
+	}
 
-			if (addedFromThisRoot == 0) {
-				logger.log(Level.WARNING, () -> "Source folder yields no compilation units: " + src);
+	private List<CompilationUnit> scanPipelined(DeterministicPathList sortedSourceRoots, DiscoveredSources sources,
+			int workers, ObjLongConsumer<CompilationUnit> sink) throws IOException {
+		logger.log(Level.INFO, () -> "Scanning started");
+
+		Map<Path, SmartSourceRoot> roots = new LinkedHashMap<>();
+		for (Path src : sortedSourceRoots) {
+			SmartSourceRoot root = openRoot(src, sources);
+			if (root != null) {
+				roots.put(src, root);
 			}
 		}
 
+		new ParsePipeline(workers, QUEUE_CAPACITY_PER_WORKER * workers, sink).run(List.copyOf(roots.values()));
+
+		List<CompilationUnit> units = new ArrayList<>();
+		for (Map.Entry<Path, SmartSourceRoot> e : roots.entrySet()) {
+			collectUnits(e.getKey(), e.getValue(), units);
+		}
+
 		warnOnPrimaryTypeCollisions(units);
 
 		sortUnitsByPackage(units);
 		return units;
 	}
 
+	/*
+	 * Returns a source root for src, reusing discovered files if any, or null if
+	 * src does not exist.
+	 */
+	private SmartSourceRoot openRoot(Path src, DiscoveredSources sources) {
+		logger.log(Level.INFO, () -> "Scanning " + src);
+
+		if (!Files.exists(src)) {
+			logger.log(Level.WARNING, () -> "Source folder does not exist: " + src);
+			return null;
+		}
+
+		SmartSourceRoot root = new SmartSourceRoot(src, sources == null ? null : sources.javaFiles(src), skipBodies);
+		opened.add(root);
+		return root;
+	}
+
+	/*
+	 * Adds the units cached by root, in cache order, and fires one event per unit.
+	 */
+	private void collectUnits(Path src, SmartSourceRoot root, List<CompilationUnit> units) {
+		int addedFromThisRoot = 0;
+		for (ParseResult<CompilationUnit> r : root.getCache()) {
+			Optional<CompilationUnit> opt = r.getResult();
+			if (opt.isPresent()) {
+				units.add(opt.get());
+				fireCompilationUnitDiscovered(opt.get());
+				addedFromThisRoot++;
+			}
+		}
+
+		if (addedFromThisRoot == 0) {
+			logger.log(Level.WARNING, () -> "Source folder yields no compilation units: " + src);
+		}
+	}
+
+	/**
+	 * Drops the symbol solvers of every source root scanned by this manager (see
+	 * {@link SmartSourceRoot#releaseSymbolSolvers()}), once the units it returned
+	 * are no longer being resolved.
+	 *
+	 * @since 0.9.5
+	 */
+	public void releaseSymbolSolvers() {
+		opened.forEach(SmartSourceRoot::releaseSymbolSolvers);
+	}
+
 	private static void warnOnPrimaryTypeCollisions(List<CompilationUnit> units) {
 		Map<String, List<String>> occurrences = new HashMap<>();
 
@@ -143,13 +285,18 @@ public class SmartSourceRootManager {
 		}
 	}
 
+	/*
+	 * Each key is computed once; its sequence (the list position) keeps equal
+	 * units in their original order.
+	 */
 	private static void sortUnitsByPackage(List<CompilationUnit> units) {
-		Comparator<CompilationUnit> bySemanticIdentity = Comparator
-				.comparing((CompilationUnit u) -> u.getPackageDeclaration().map(pd -> pd.getNameAsString()).orElse(""))
-				.thenComparing(u -> u.getPrimaryTypeName().orElse("")).thenComparing(
-						u -> u.getTypes().stream().map(t -> t.getNameAsString()).sorted().reduce("", String::concat));
+		Map<UnitSortKey, CompilationUnit> sorted = new TreeMap<>();
+		for (int i = 0; i < units.size(); i++) {
+			sorted.put(UnitSortKey.of(units.get(i), i), units.get(i));
+		}
 
-		units.sort(bySemanticIdentity);
+		units.clear();
+		units.addAll(sorted.values());
 	}
 
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.io;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.resolution.SymbolResolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.types.ResolvedType;
+
+/**
+ * A {@link SymbolResolver} that gives each thread its own delegate.
+ *
+ * <p>
+ * JavaParser type solvers keep unsynchronized caches, so a single solver must
+ * not be shared by concurrent workers. This resolver creates one delegate per
+ * thread, on first use. A single-threaded run creates exactly one delegate and
+ * behaves as the delegate itself.
+ *
+ * <p>
+ * Resolution runs on the calling thread and on the common fork-join pool, so
+ * there are at most as many delegates as pool threads plus one. Delegates are
+ * kept in a map owned by this resolver, not in thread-locals, so
+ * {@link #release()} drops all of them, with their caches, even those of pool
+ * threads that outlive the run.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+final class ThreadConfinedSymbolResolver implements SymbolResolver {
+
+	private final Supplier<SymbolResolver> factory;
+
+	private final Map<Thread, SymbolResolver> delegates = new ConcurrentHashMap<>();
+
+	/**
+	 *
+	 * @param factory creates a fresh resolver; called once per thread, and again
+	 *                after {@link #release()}
+	 */
+	ThreadConfinedSymbolResolver(final Supplier<SymbolResolver> factory) {
+		this.factory = Objects.requireNonNull(factory, "factory");
+	}
+
+	/**
+	 * Drops the delegate of every thread. A later call creates new delegates.
+	 *
+	 * <p>
+	 * Not to be called while another thread resolves.
+	 */
+	void release() {
+		delegates.clear();
+	}
+
+	/**
+	 * Returns the number of delegates created and not released.
+	 *
+	 * @return live delegates
+	 */
+	int delegateCount() {
+		return delegates.size();
+	}
+
+	private SymbolResolver delegate() {
+		return delegates.computeIfAbsent(Thread.currentThread(), ignored -> factory.get());
+	}
+
+	@Override
+	public <T> T resolveDeclaration(Node node, Class<T> resultClass) {
+		return delegate().resolveDeclaration(node, resultClass);
+	}
+
+	@Override
+	public <T> T toResolvedType(Type javaparserType, Class<T> resultClass) {
+		return delegate().toResolvedType(javaparserType, resultClass);
+	}
+
+	@Override
+	public ResolvedType calculateType(Expression expression) {
+		return delegate().calculateType(expression);
+	}
+
+	@Override
+	public ResolvedReferenceTypeDeclaration toTypeDeclaration(Node node) {
+		return delegate().toTypeDeclaration(node);
+	}
+
+}
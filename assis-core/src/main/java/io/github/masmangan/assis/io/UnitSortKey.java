@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.io;
+
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+/**
+ * Semantic sort key of a compilation unit.
+ *
+ * <p>
+ * Units are ordered by declared package, then primary type name, then the
+ * sorted names of all top-level types. File system paths are intentionally
+ * ignored. Units with equal semantic identity (duplicate declarations) keep
+ * their discovery order through {@code sequence}.
+ *
+ * @param pkg         declared package, or {@code ""}
+ * @param primaryType primary type name, or {@code ""}
+ * @param typeNames   sorted top-level type names, concatenated
+ * @param sequence    discovery order, used as tie-breaker
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+public record UnitSortKey(String pkg, String primaryType, String typeNames, long sequence)
+		implements Comparable<UnitSortKey> {
+
+	private static final Comparator<UnitSortKey> ORDER = Comparator.comparing(UnitSortKey::pkg)
+			.thenComparing(UnitSortKey::primaryType).thenComparing(UnitSortKey::typeNames)
+			.thenComparingLong(UnitSortKey::sequence);
+
+	/**
+	 * Computes the sort key of a unit.
+	 *
+	 * @param unit     compilation unit; must not be {@code null}
+	 * @param sequence discovery order of the unit
+	 * @return the sort key
+	 */
+	public static UnitSortKey of(CompilationUnit unit, long sequence) {
+		String pkg = unit.getPackageDeclaration().map(pd -> pd.getNameAsString()).orElse("");
+		String primary = unit.getPrimaryTypeName().orElse("");
+		String names = unit.getTypes().stream().map(t -> t.getNameAsString()).sorted()
+				.collect(Collectors.joining());
+		return new UnitSortKey(pkg, primary, names, sequence);
+	}
+
+	@Override
+	public int compareTo(UnitSortKey other) {
+		return ORDER.compare(this, other);
+	}
+
+}
@@ -8,13 +8,22 @@ package io.github.masmangan.assis.util;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -26,10 +35,21 @@ import java.util.function.Predicate;
  * directories first, then files; both sorted by name; tie-break by absolute
  * path
  *
+ * <p>
+ * Each directory entry is stat-ed once. Directories can also be listed ahead
+ * of the walk on a few threads (see
+ * {@link #walkJavaFilesInParallel(Set, Predicate, Consumer)}) without
+ * changing the resulting order.
+ *
  * @author Marco Mangan
  */
 public final class DeterministicFileTreeWalker {
 
+	/**
+	 * Threads listing directories ahead of a parallel walk; listing is I/O bound
+	 */
+	private static final int LISTING_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
 	private final PropertyChangeSupport pcs = new PropertyChangeSupport(this);
 
 	public void addPropertyChangeListener(PropertyChangeListener l) {
@@ -55,48 +75,246 @@ public final class DeterministicFileTreeWalker {
 	 *                       directory
 	 */
 	public DeterministicPathList discoverJavaFiles(Set<Path> roots, Predicate<Path> shouldVisitDir) throws IOException {
+		List<Path> out = new ArrayList<>();
+		walkJavaFiles(roots, shouldVisitDir, out::add);
+		return DeterministicPathList.of(out);
+	}
+
+	/**
+	 * Streams .java files under the given roots to {@code sink}, in the same
+	 * deterministic order as {@link #discoverJavaFiles(Set, Predicate)}.
+	 *
+	 * <p>
+	 * Each file is handed over as soon as it is discovered, so the consumer can
+	 * start working before the traversal is complete.
+	 *
+	 * @param roots          source roots (files or directories)
+	 * @param shouldVisitDir predicate to decide whether to traverse into a
+	 *                       directory
+	 * @param sink           receives each discovered file
+	 * @since 0.9.5
+	 */
+	public void walkJavaFiles(Set<Path> roots, Predicate<Path> shouldVisitDir, Consumer<Path> sink)
+			throws IOException {
+		walkJavaFiles(roots, shouldVisitDir, file -> true, sink);
+	}
+
+	/**
+	 * Streams the accepted .java files under the given roots to {@code sink}, in
+	 * deterministic order. Rejected files are neither delivered nor reported as
+	 * discovered.
+	 *
+	 * @param roots            source roots (files or directories)
+	 * @param shouldVisitDir   predicate to decide whether to traverse into a
+	 *                         directory
+	 * @param shouldAcceptFile predicate to decide whether to keep a .java file
+	 *                         found while traversing
+	 * @param sink             receives each discovered file
+	 * @since 0.9.5
+	 */
+	public void walkJavaFiles(Set<Path> roots, Predicate<Path> shouldVisitDir, Predicate<Path> shouldAcceptFile,
+			Consumer<Path> sink) throws IOException {
 		Objects.requireNonNull(shouldVisitDir, "shouldVisitDir");
+		Objects.requireNonNull(shouldAcceptFile, "shouldAcceptFile");
+		Objects.requireNonNull(sink, "sink");
 
 		List<Path> canonRoots = canonicalizeRoots(roots);
 
-		List<Path> out = new ArrayList<>();
 		for (Path root : canonRoots) {
 			if (Files.exists(root)) {
 				if (Files.isDirectory(root)) {
-					walkDirForJava(root, out, shouldVisitDir);
-				} else if (Files.isRegularFile(root) && root.toString().endsWith(".java")) {
-					out.add(root);
+					walkDirForJava(root, sink, shouldVisitDir, shouldAcceptFile);
+				} else if (Files.isRegularFile(root) && root.toString().endsWith(".java")
+						&& shouldAcceptFile.test(root)) {
+					sink.accept(root);
 					fireJavaFileDiscovered(root);
 				}
 			}
 		}
-		return DeterministicPathList.of(out);
+	}
+
+	/**
+	 * Streams .java files under the given roots to {@code sink}, listing
+	 * subdirectories ahead of the walk on a few threads of its own.
+	 *
+	 * <p>
+	 * Files are delivered, and discovery events fired, on the calling thread and
+	 * in the same order as {@link #walkJavaFiles(Set, Predicate, Consumer)}. Each
+	 * file is delivered as soon as every directory before it in that order has
+	 * been listed, so the consumer can start before the traversal is complete.
+	 * {@code shouldVisitDir} is called from the listing threads and must be
+	 * thread-safe. The threads are stopped before this method returns.
+	 *
+	 * @param roots          source roots (files or directories)
+	 * @param shouldVisitDir predicate to decide whether to traverse into a
+	 *                       directory
+	 * @param sink           receives each discovered file
+	 * @since 0.9.5
+	 */
+	public void walkJavaFilesInParallel(Set<Path> roots, Predicate<Path> shouldVisitDir, Consumer<Path> sink)
+			throws IOException {
+		Objects.requireNonNull(shouldVisitDir, "shouldVisitDir");
+		Objects.requireNonNull(sink, "sink");
+
+		List<Path> canonRoots = canonicalizeRoots(roots);
+
+		ExecutorService listers = Executors.newFixedThreadPool(LISTING_THREADS, r -> {
+			Thread t = new Thread(r, "assis-walk");
+			t.setDaemon(true);
+			return t;
+		});
+		try {
+			for (Path root : canonRoots) {
+				if (Files.exists(root)) {
+					if (Files.isDirectory(root)) {
+						Future<Listing> listing = listers.submit(new ListTask(root, shouldVisitDir, listers));
+						deliver(await(listing), sink);
+					} else if (Files.isRegularFile(root) && root.toString().endsWith(".java")) {
+						sink.accept(root);
+						fireJavaFileDiscovered(root);
+					}
+				}
+			}
+		} finally {
+			listers.shutdownNow();
+		}
 	}
 
 	/* ===================== internals ===================== */
 
-	private void walkDirForJava(Path dir, List<Path> out, Predicate<Path> shouldVisitDir) throws IOException {
-		for (Path child : sortedChildren(dir)) {
-			if (Files.isDirectory(child)) {
-				if (shouldVisitDir.test(child)) {
-					walkDirForJava(child, out, shouldVisitDir);
+	private void walkDirForJava(Path dir, Consumer<Path> sink, Predicate<Path> shouldVisitDir,
+			Predicate<Path> shouldAcceptFile) throws IOException {
+		for (Child child : sortedChildren(dir)) {
+			if (child.isDir) {
+				if (shouldVisitDir.test(child.path)) {
+					walkDirForJava(child.path, sink, shouldVisitDir, shouldAcceptFile);
 				}
-			} else if (Files.isRegularFile(child) && child.toString().endsWith(".java")) {
-				out.add(child);
-				fireJavaFileDiscovered(child);
+			} else if (child.isJavaFile() && shouldAcceptFile.test(child.path)) {
+				sink.accept(child.path);
+				fireJavaFileDiscovered(child.path);
 			}
 		}
 	}
 
-	private record Child(Path path, boolean isDir, String name, String abs) {
+	/*
+	 * Delivers the files of a listed directory in walk order, waiting for each
+	 * visited subdirectory to be listed when the walk reaches it.
+	 */
+	private void deliver(Listing listing, Consumer<Path> sink) throws IOException {
+		int next = 0;
+		for (Child child : listing.children()) {
+			if (child.isDir) {
+				if (next < listing.subdirs().size() && listing.subdirs().get(next).dir() == child.path) {
+					deliver(await(listing.subdirs().get(next++).listing()), sink);
+				}
+			} else if (child.isJavaFile()) {
+				sink.accept(child.path);
+				fireJavaFileDiscovered(child.path);
+			}
+		}
+	}
+
+	private static Listing await(Future<Listing> listing) throws IOException {
+		try {
+			return listing.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while walking");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof UncheckedIOException uioe) {
+				throw uioe.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			if (e.getCause() instanceof Error err) {
+				throw err;
+			}
+			throw new IOException(e.getCause());
+		}
+	}
+
+	/*
+	 * The sorted children of a directory, with the pending listings of the
+	 * subdirectories to visit, in child order.
+	 */
+	private record Listing(List<Child> children, List<Subdir> subdirs) {
+	}
+
+	private record Subdir(Path dir, Future<Listing> listing) {
+	}
+
+	/*
+	 * Lists one directory and submits the listing of each subdirectory to visit,
+	 * so the tree is listed ahead of delivery.
+	 */
+	private static final class ListTask implements Callable<Listing> {
+
+		private final Path dir;
+
+		private final Predicate<Path> shouldVisitDir;
+
+		private final ExecutorService listers;
+
+		ListTask(Path dir, Predicate<Path> shouldVisitDir, ExecutorService listers) {
+			this.dir = dir;
+			this.shouldVisitDir = shouldVisitDir;
+			this.listers = listers;
+		}
+
+		@Override
+		public Listing call() {
+			List<Child> children;
+			try {
+				children = sortedChildren(dir);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+
+			List<Subdir> subdirs = new ArrayList<>();
+			for (Child child : children) {
+				if (child.isDir && shouldVisitDir.test(child.path)) {
+					subdirs.add(new Subdir(child.path,
+							listers.submit(new ListTask(child.path, shouldVisitDir, listers))));
+				}
+			}
+			return new Listing(children, subdirs);
+		}
+
 	}
 
-	private static List<Path> sortedChildren(Path dir) throws IOException {
+	/*
+	 * A directory entry with its attributes, read once. Entries whose attributes
+	 * cannot be read (e.g. dangling links) are neither directories nor files.
+	 */
+	private record Child(Path path, boolean isDir, boolean isFile, String name, String abs) {
+
+		boolean isJavaFile() {
+			return isFile && name.endsWith(".java");
+		}
+
+	}
+
+	private static List<Child> sortedChildren(Path dir) throws IOException {
 		try (var stream = Files.list(dir)) {
-			return stream.map(p -> new Child(p, Files.isDirectory(p), fileName(p), absNorm(p))).sorted(Comparator
+			return stream.map(DeterministicFileTreeWalker::child).sorted(Comparator
 					.comparingInt((Child c) -> c.isDir ? 0 : 1).thenComparing(c -> c.name).thenComparing(c -> c.abs))
-					.map(Child::path).toList();
+					.toList();
+		}
+	}
+
+	private static Child child(Path p) {
+		boolean isDir = false;
+		boolean isFile = false;
+		try {
+			BasicFileAttributes attrs = Files.readAttributes(p, BasicFileAttributes.class);
+			isDir = attrs.isDirectory();
+			isFile = attrs.isRegularFile();
+		} catch (IOException e) {
+			// Same as Files.isDirectory / Files.isRegularFile: unreadable means neither
 		}
+		// Walks start at canonical roots, so children are already absolute and normal
+		return new Child(p, isDir, isFile, fileName(p), p.isAbsolute() ? p.toString() : absNorm(p));
 	}
 
 	private static String fileName(Path p) {
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Selects packages by include and exclude globs.
+ *
+ * <p>
+ * A glob is a dotted package name whose segments may use {@code *} (any
+ * characters within a segment) and {@code ?} (one character); a {@code **}
+ * segment matches any number of segments, including none. For example,
+ * {@code com.acme.billing.**} matches {@code com.acme.billing} and all its
+ * subpackages. The default package is the empty name; only {@code **} matches
+ * it.
+ *
+ * <p>
+ * A package is selected if it matches some include (or there are no includes)
+ * and matches no exclude.
+ *
+ * @since 0.9.5
+ * @author Marco Mangan
+ */
+public final class PackageFilter {
+
+	/**
+	 * Selects every package.
+	 */
+	public static final PackageFilter ALL = new PackageFilter(List.of(), List.of());
+
+	private static final String ANY_SEGMENTS = "**";
+
+	private final List<String> includeGlobs;
+
+	private final List<String> excludeGlobs;
+
+	private final List<Pattern[]> includes;
+
+	private final List<Pattern[]> excludes;
+
+	private PackageFilter(final List<String> includeGlobs, final List<String> excludeGlobs) {
+		this.includeGlobs = List.copyOf(includeGlobs);
+		this.excludeGlobs = List.copyOf(excludeGlobs);
+		this.includes = compileAll(includeGlobs);
+		this.excludes = compileAll(excludeGlobs);
+	}
+
+	/**
+	 * Creates a filter.
+	 *
+	 * @param includeGlobs packages to keep; empty keeps all
+	 * @param excludeGlobs packages to drop, even if included
+	 * @return the filter
+	 * @throws IllegalArgumentException if a glob is blank or has an empty segment
+	 */
+	public static PackageFilter of(final List<String> includeGlobs, final List<String> excludeGlobs) {
+		Objects.requireNonNull(includeGlobs, "includeGlobs");
+		Objects.requireNonNull(excludeGlobs, "excludeGlobs");
+		if (includeGlobs.isEmpty() && excludeGlobs.isEmpty()) {
+			return ALL;
+		}
+		return new PackageFilter(includeGlobs, excludeGlobs);
+	}
+
+	/**
+	 *
+	 * @return {@code true} if this filter selects every package
+	 */
+	public boolean selectsAll() {
+		return includes.isEmpty() && excludes.isEmpty();
+	}
+
+	/**
+	 * Returns whether a package is selected.
+	 *
+	 * @param pkg package name; empty for the default package
+	 * @return {@code true} if the package is selected
+	 */
+	public boolean selects(final String pkg) {
+		String[] segments = segments(pkg);
+		if (!includes.isEmpty() && includes.stream().noneMatch(p -> matches(p, 0, segments, 0))) {
+			return false;
+		}
+		return excludes.stream().noneMatch(p -> matches(p, 0, segments, 0));
+	}
+
+	/**
+	 * Returns whether {@code pkg} or any of its subpackages may be selected. When
+	 * {@code false}, a directory holding exactly that package subtree can be
+	 * skipped.
+	 *
+	 * @param pkg package name; empty for the default package
+	 * @return {@code false} if no package in the subtree can be selected
+	 */
+	public boolean maySelectWithin(final String pkg) {
+		String[] segments = segments(pkg);
+		if (!includes.isEmpty() && includes.stream().noneMatch(p -> matchesSomeExtension(p, 0, segments, 0))) {
+			return false;
+		}
+		return excludes.stream().noneMatch(p -> matchesEveryExtension(p, 0, segments, 0));
+	}
+
+	@Override
+	public String toString() {
+		return "PackageFilter[include=" + includeGlobs + ", exclude=" + excludeGlobs + "]";
+	}
+
+	/* ===================== internals ===================== */
+
+	private static List<Pattern[]> compileAll(final List<String> globs) {
+		List<Pattern[]> out = new ArrayList<>(globs.size());
+		for (String glob : globs) {
+			out.add(compile(glob));
+		}
+		return out;
+	}
+
+	private static Pattern[] compile(final String glob) {
+		if (glob == null || glob.isBlank()) {
+			throw new IllegalArgumentException("Blank package glob");
+		}
+		String[] parts = glob.trim().split("\\.", -1);
+		Pattern[] out = new Pattern[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			String part = parts[i];
+			if (part.isEmpty()) {
+				throw new IllegalArgumentException("Empty segment in package glob: " + glob);
+			}
+			out[i] = ANY_SEGMENTS.equals(part) ? null : Pattern.compile(segmentRegex(part));
+		}
+		return out;
+	}
+
+	private static String segmentRegex(final String part) {
+		StringBuilder re = new StringBuilder();
+		for (char c : part.toCharArray()) {
+			switch (c) {
+			case '*' -> re.append(".*");
+			case '?' -> re.append('.');
+			default -> re.append(Pattern.quote(String.valueOf(c)));
+			}
+		}
+		return re.toString();
+	}
+
+	private static String[] segments(final String pkg) {
+		return (pkg == null || pkg.isEmpty()) ? new String[0] : pkg.split("\\.");
+	}
+
+	/*
+	 * In compiled globs, a null segment stands for "**".
+	 */
+	private static boolean matches(Pattern[] p, int i, String[] s, int j) {
+		if (i == p.length) {
+			return j == s.length;
+		}
+		if (p[i] == null) {
+			return matches(p, i + 1, s, j) || (j < s.length && matches(p, i, s, j + 1));
+		}
+		return j < s.length && p[i].matcher(s[j]).matches() && matches(p, i + 1, s, j + 1);
+	}
+
+	private static boolean matchesSomeExtension(Pattern[] p, int i, String[] s, int j) {
+		if (j == s.length) {
+			return true;
+		}
+		if (i == p.length) {
+			return false;
+		}
+		if (p[i] == null) {
+			return matchesSomeExtension(p, i + 1, s, j) || matchesSomeExtension(p, i, s, j + 1);
+		}
+		return p[i].matcher(s[j]).matches() && matchesSomeExtension(p, i + 1, s, j + 1);
+	}
+
+	private static boolean matchesEveryExtension(Pattern[] p, int i, String[] s, int j) {
+		if (j == s.length) {
+			return Arrays.stream(p, i, p.length).allMatch(Objects::isNull) && i < p.length;
+		}
+		if (i == p.length) {
+			return false;
+		}
+		if (p[i] == null) {
+			return matchesEveryExtension(p, i + 1, s, j) || matchesEveryExtension(p, i, s, j + 1);
+		}
+		return p[i].matcher(s[j]).matches() && matchesEveryExtension(p, i + 1, s, j + 1);
+	}
+
+}
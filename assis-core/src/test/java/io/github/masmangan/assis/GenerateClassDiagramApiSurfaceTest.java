@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.generatePumlFromSample;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GenerateClassDiagramApiSurfaceTest {
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void apiSurfaceKeepsPublicTypesAndVisibleMembersOnly(boolean parallel) throws Exception {
+		String puml = generatePumlFromSample("samples/apisurface", tempDir,
+				new DiagramOptions().setApiSurface(true).setParallel(parallel));
+
+		for (String kept : new String[] { "LIMIT", "owner", "deposit", "audit", "Account(owner : String)",
+				"\"p.Account$Statement\"", "changed", "\"p.Account$Listener$Event\"", "OPEN", "isOpen" }) {
+			assertTrue(puml.contains(kept), kept + " expected in:\n" + puml);
+		}
+		for (String dropped : new String[] { "Ledger", "ledger", "packageCounter", "recompute", "Account()", "Cache",
+				"helper", "State()" }) {
+			assertFalse(puml.contains(dropped), dropped + " not expected in:\n" + puml);
+		}
+
+		String full = generatePumlFromSample("samples/apisurface", tempDir, new DiagramOptions());
+		assertTrue(full.contains("recompute") && full.contains("\"p.Ledger\""), full);
+	}
+
+}
@@ -111,6 +111,26 @@ class GenerateClassDiagramAssociationCoverageSamplesTest {
 		assertPumlNotContains(puml, "-->");
 	}
 
+	@Test
+	void drawsEachFieldEitherAsAssociationOrAsMember() throws Exception {
+		String puml = generatePumlFromSample("samples/associations/shared", tempDir, "shared");
+
+		assertAnyLineContainsAll(puml, "p1.Owner", "-->", "first", "p1.Part");
+		assertAnyLineContainsAll(puml, "p1.Owner", "-->", "second", "p1.Part");
+		assertAnyLineContainsAll(puml, "p1.Pair", "-->", "left", "p1.Part");
+		assertPumlNotContains(puml, "first : Part");
+		assertPumlNotContains(puml, "left : Part");
+
+		assertAnyLineContainsAll(puml, "parts", ":", "List<Part>");
+		assertAnyLineContainsAll(puml, "rest", ":", "List<Part>");
+		assertPumlNotContains(puml, "\"parts\"");
+		assertPumlNotContains(puml, "\"rest\"");
+
+		// the associations already count every use of Part
+		assertPumlNotContains(puml, "\"p1.Owner\" ..> \"p1.Part\"");
+		assertPumlNotContains(puml, "\"p1.Pair\" ..> \"p1.Part\"");
+	}
+
 	@Test
 	void generatesAssociationForCrossPackageTypeUsingFqn() throws Exception {
 		String puml = generatePumlFromSample("samples/associations/cross", tempDir, "cross");
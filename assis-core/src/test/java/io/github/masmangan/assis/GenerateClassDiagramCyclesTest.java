@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.generateFromSample;
+import static io.github.masmangan.assis.TestWorkbench.readOutput;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GenerateClassDiagramCyclesTest {
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void marksTypesInCycles(boolean parallel) throws Exception {
+		String puml = generate(new DiagramOptions().setCycles(true).setParallel(parallel), "class-diagram.puml");
+
+		assertTrue(puml.contains("class \"app.orders.Order\" <<cycle>>"), puml);
+		assertTrue(puml.contains("class \"app.customers.Customer\" <<cycle>>"), puml);
+		assertFalse(puml.contains("\"app.customers.Address\" <<cycle>>"), puml);
+		assertFalse(puml.contains("\"app.orders.Order$Line\" <<cycle>>"), "nesting is not a cycle:\n" + puml);
+	}
+
+	@Test
+	void writesCycleReport() throws Exception {
+		generate(new DiagramOptions().setCycles(true), "class-diagram.puml");
+
+		List<String> report = Files.readAllLines(tempDir.resolve("out/cycles.tsv"), StandardCharsets.UTF_8);
+		assertEquals(List.of("kind\tcycle\tname", "type\t1\tapp.customers.Customer", "type\t1\tapp.orders.Order",
+				"package\t1\tapp.customers", "package\t1\tapp.orders"), report);
+	}
+
+	@Test
+	void marksPackagesInCycles() throws Exception {
+		String puml = generate(new DiagramOptions().setCycles(true).setPackageDiagram(true), "package-diagram.puml");
+
+		assertTrue(puml.contains("package \"app.orders\" <<cycle>>"), puml);
+		assertTrue(puml.contains("package \"app.customers\" <<cycle>>"), puml);
+	}
+
+	@Test
+	void writesNoReportByDefault() throws Exception {
+		String puml = generate(new DiagramOptions(), "class-diagram.puml");
+
+		assertFalse(puml.contains("<<cycle>>"), puml);
+		assertFalse(Files.exists(tempDir.resolve("out/cycles.tsv")));
+	}
+
+	private String generate(DiagramOptions options, String fileName) throws Exception {
+		return readOutput(generateFromSample("samples/cycles", tempDir, options), fileName);
+	}
+
+}
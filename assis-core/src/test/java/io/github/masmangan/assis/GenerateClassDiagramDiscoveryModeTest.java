@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.copySampleProjectToTemp;
+import static io.github.masmangan.assis.TestWorkbench.writeFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.github.masmangan.assis.io.DiscoveredSources;
+import io.github.masmangan.assis.io.DiscoveryMode;
+
+class GenerateClassDiagramDiscoveryModeTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void gitIgnoreModeSkipsIgnoredFilesAndDirectories() throws Exception {
+		Path repo = copySampleProjectToTemp("samples/discovery/gitignore", tempDir.resolve("repo"));
+		writeFile(repo, ".git/info/exclude", "Scratch*.java\n");
+		writeFile(repo, ".gitignore", """
+				# build output
+				generated/
+				*Tmp.java
+				!KeepTmp.java
+				""");
+		writeFile(repo, "src/p/.gitignore", "/Local.java\n");
+
+		assertEquals(List.of("p/q/Local.java", "p/A.java", "p/KeepTmp.java"),
+				discovered(repo.resolve("src"), DiscoveryMode.GITIGNORE));
+		assertEquals(List.of("generated/G.java", "p/q/Local.java", "p/A.java", "p/ATmp.java", "p/KeepTmp.java",
+				"p/Local.java", "Scratch1.java"), discovered(repo.resolve("src"), DiscoveryMode.WALK));
+	}
+
+	@ParameterizedTest(name = "git index version {0}")
+	@ValueSource(ints = { 2, 3, 4 })
+	void gitIndexModeListsTrackedFilesInWalkOrder(int version) throws Exception {
+		Path repo = copySampleProjectToTemp("samples/discovery/gitindex", tempDir.resolve("repo"));
+
+		// Git order: byte order of full paths
+		writeGitIndex(repo, version, "README.md", "src/Deleted.java", "src/p/A.java", "src/p/B.java", "src/p/q/C.java",
+				"src/target/T.java");
+
+		assertEquals(List.of("p/q/C.java", "p/A.java", "p/B.java"),
+				discovered(repo.resolve("src"), DiscoveryMode.GIT_INDEX));
+	}
+
+	private List<String> discovered(Path root, DiscoveryMode mode) throws IOException {
+		DiscoveredSources sources = DiscoveredSources.discover(Set.of(root), mode);
+		List<String> out = new ArrayList<>();
+		for (Path p : sources.javaFiles(root.toAbsolutePath().normalize())) {
+			out.add(root.relativize(p).toString().replace('\\', '/'));
+		}
+		return out;
+	}
+
+	/*
+	 * Minimal index: header, entries (regular files), no extensions, zero
+	 * checksum.
+	 */
+	private static void writeGitIndex(Path repo, int version, String... paths) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.writeBytes(ByteBuffer.allocate(12).putInt(0x44495243).putInt(version).putInt(paths.length).array());
+
+		byte[] previous = new byte[0];
+		for (String path : paths) {
+			byte[] name = path.getBytes(StandardCharsets.UTF_8);
+			ByteBuffer header = ByteBuffer.allocate(62);
+			header.putInt(24, 0100644);
+			header.putShort(60, (short) Math.min(name.length, 0xFFF));
+			out.writeBytes(header.array());
+
+			if (version == 4) {
+				int common = 0;
+				while (common < previous.length && common < name.length && previous[common] == name[common]) {
+					common++;
+				}
+				out.write(previous.length - common); // fits in one byte here
+				out.write(name, common, name.length - common);
+				out.write(0);
+				previous = name;
+			} else {
+				out.writeBytes(name);
+				int size = (62 + name.length + 8) & ~7;
+				out.writeBytes(new byte[size - 62 - name.length]);
+			}
+		}
+		out.writeBytes(new byte[20]);
+
+		Path index = repo.resolve(".git/index");
+		Files.createDirectories(index.getParent());
+		Files.write(index, out.toByteArray());
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.assertAnyLineContainsAll;
+import static io.github.masmangan.assis.TestWorkbench.generatePumlFromSample;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.github.masmangan.assis.util.PackageFilter;
+
+class GenerateClassDiagramExternalTypesTest {
+
+	private static final String SAMPLE = "samples/externaltypes/service";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void drawsExternalTypesByDefault() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir, new DiagramOptions());
+
+		assertAnyLineContainsAll(puml, "app.Service", "..>", "java.lang.String");
+		assertAnyLineContainsAll(puml, "app.Service", "--|>", "java.lang.Thread");
+	}
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void dropsJdkTypes(boolean parallel) throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir,
+				new DiagramOptions().setDropJdkTypes(true).setParallel(parallel));
+
+		assertFalse(puml.contains("\"java."), puml);
+		assertTrue(puml.contains("\"app.Service\" ..> \"app.Order\""), "type arguments are still used:\n" + puml);
+		assertTrue(puml.contains("orders : List<Order>"), "fields stay member lines:\n" + puml);
+	}
+
+	@Test
+	void dropsExternalTypesByPackage() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir,
+				new DiagramOptions().setExternalTypeFilter(PackageFilter.of(List.of(), List.of("java.util.**"))));
+
+		assertFalse(puml.contains("\"java.util."), puml);
+		assertAnyLineContainsAll(puml, "app.Service", "--|>", "java.lang.Thread");
+		assertAnyLineContainsAll(puml, "app.Service", "..>", "java.lang.String");
+	}
+
+	@Test
+	void keepsOnlyAllowedExternalTypes() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir,
+				new DiagramOptions().setExternalTypeFilter(PackageFilter.of(List.of("java.util.**"), List.of())));
+
+		assertAnyLineContainsAll(puml, "app.Service", "..>", "java.util.Optional");
+		assertFalse(puml.contains("\"java.lang."), puml);
+		assertFalse(puml.contains("\"java.io."), puml);
+		assertTrue(puml.contains("\"app.Service\" ..> \"app.Order\""), "declared types are always drawn:\n" + puml);
+	}
+
+	@Test
+	void keepsDeclaredTypesWrittenFullyQualified() throws Exception {
+		String puml = generatePumlFromSample("samples/externaltypes/qualified", tempDir,
+				new DiagramOptions().setExternalTypeFilter(PackageFilter.of(List.of("java.util.**"), List.of())));
+
+		assertAnyLineContainsAll(puml, "com.acme.app.Impl", "--|>", "com.acme.Base");
+		assertAnyLineContainsAll(puml, "com.acme.app.Impl", "--->", "com.acme.Part");
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.generatePumlFromSample;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GenerateClassDiagramFocusTest {
+
+	private static final String SAMPLE = "samples/focus";
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void drawsTypesWithinOneHop(boolean parallel) throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir,
+				new DiagramOptions().setFocus(List.of("shop.OrderService")).setParallel(parallel));
+
+		for (String kept : new String[] { "class \"shop.OrderService\"", "class \"shop.Checkout\"",
+				"class \"shop.Repository\"", "\"shop.Checkout\" ---> \"orders\" \"shop.OrderService\"",
+				"\"shop.OrderService\" ---> \"repository\" \"shop.Repository\"", "\"shop.Checkout\" ..|> \"java.io.Serializable\"" }) {
+			assertTrue(puml.contains(kept), kept + " expected in:\n" + puml);
+		}
+		for (String dropped : new String[] { "class \"shop.Database\"", "Coupon" }) {
+			assertFalse(puml.contains(dropped), dropped + " not expected in:\n" + puml);
+		}
+	}
+
+	@Test
+	void drawsTypesWithinTwoHops() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir,
+				new DiagramOptions().setFocus(List.of("shop.OrderService")).setDepth(2));
+
+		assertTrue(puml.contains("class \"shop.Database\""), puml);
+		assertTrue(puml.contains("\"shop.Repository\" ..> \"shop.Database\""), puml);
+		assertFalse(puml.contains("Coupon"), "paths do not go through external types:\n" + puml);
+	}
+
+	@Test
+	void drawsFocusTypesAloneAtDepthZero() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir,
+				new DiagramOptions().setFocus(List.of("shop.OrderService", "shop.Database")).setDepth(0));
+
+		assertTrue(puml.contains("class \"shop.OrderService\""), puml);
+		assertTrue(puml.contains("class \"shop.Database\""), puml);
+		assertFalse(puml.contains("class \"shop.Repository\""), puml);
+		assertFalse(puml.contains("Checkout"), puml);
+	}
+
+}
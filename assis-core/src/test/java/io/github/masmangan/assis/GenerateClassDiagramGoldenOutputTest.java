@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.generatePumlFromSample;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Compares generated diagrams with diagrams saved from an earlier release, so
+ * optimizations that reorder or drop edges show up as a diff.
+ */
+class GenerateClassDiagramGoldenOutputTest {
+
+	@TempDir
+	Path tempDir;
+
+	/*
+	 * The field type names a declared q.Subscriber by text, while the solver
+	 * resolves it to the imported JDK type: its dependency stays where the field
+	 * is declared.
+	 */
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void keepsDependencyOrderOfANestedTypeField(boolean parallel) throws Exception {
+		String puml = generatePumlFromSample("samples/nestedfield", tempDir,
+				new DiagramOptions().setParallel(parallel));
+
+		assertEquals(golden("golden/nestedfield/class-diagram.puml"), withoutVersion(puml));
+	}
+
+	private static String golden(String resourcePath) throws Exception {
+		URL url = GenerateClassDiagramGoldenOutputTest.class.getClassLoader().getResource(resourcePath);
+		if (url == null) {
+			throw new IllegalStateException("Resource not found: " + resourcePath);
+		}
+		return withoutVersion(Files.readString(Path.of(url.toURI()), StandardCharsets.UTF_8));
+	}
+
+	private static String withoutVersion(String puml) {
+		return puml.replaceAll("(?m)^' Diagram generated by ASSIS .*$", "' Diagram generated by ASSIS");
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.generatePumlFromSample;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GenerateClassDiagramMinEdgeWeightTest {
+
+	private static final String SAMPLE = "samples/minedgeweight";
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void dropsDependenciesWithFewUses(boolean parallel) throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir,
+				new DiagramOptions().setMinEdgeWeight(2).setParallel(parallel));
+
+		assertTrue(puml.contains("\"p.A\" ..> \"p.C\""), "parameter, return type and cast:\n" + puml);
+		assertFalse(puml.contains("..> \"p.D\""), "a single parameter:\n" + puml);
+	}
+
+	@Test
+	void keepsStructuralEdges() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir, new DiagramOptions().setMinEdgeWeight(4));
+
+		assertTrue(puml.contains("\"p.A\" ---> \"b\" \"p.B\""), puml);
+		assertFalse(puml.contains("..>"), puml);
+	}
+
+	@Test
+	void drawsEveryDependencyByDefault() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir, new DiagramOptions());
+
+		assertTrue(puml.contains("\"p.A\" ..> \"p.C\""), puml);
+		assertTrue(puml.contains("\"p.A\" ..> \"p.D\""), puml);
+	}
+
+	@Test
+	void negativeWeightIsRejected() {
+		DiagramOptions options = new DiagramOptions();
+		assertThrows(IllegalArgumentException.class, () -> options.setMinEdgeWeight(-1));
+	}
+
+}
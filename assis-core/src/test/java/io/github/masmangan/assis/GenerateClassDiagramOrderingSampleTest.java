@@ -7,6 +7,7 @@ package io.github.masmangan.assis;
 
 import static io.github.masmangan.assis.TestWorkbench.assertAppearsInOrder;
 import static io.github.masmangan.assis.TestWorkbench.generatePumlFromSample;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.nio.file.Path;
 
@@ -26,4 +27,20 @@ class GenerateClassDiagramOrderingSampleTest {
 		// If you want to lock type order within p1:
 		assertAppearsInOrder(puml, "class \"samples.ordering.p1.A\"", "class \"samples.ordering.p1.B\"");
 	}
+
+	@Test
+	void membersAreSortedBySignatureAndDrawnOnce() throws Exception {
+		Path tempDir = Path.of("target", "tmp-ordering");
+
+		String puml = generatePumlFromSample("samples/memberorder", tempDir, "memberorder");
+
+		// by the declaration without modifiers: return type first, then name and
+		// parameter types
+		assertAppearsInOrder(puml, "Account()", "Account(owner : String)", "Account(owner : String, limit : int)",
+				"owner() : String", "balance() : int", "deposit(amount : int) : void", "deposit(amount : long) : void",
+				"withdraw(amount : int) : void");
+		for (String line : new String[] { "Account(owner : String)\n", "deposit(amount : int) : void" }) {
+			assertEquals(puml.indexOf(line), puml.lastIndexOf(line), line + " drawn once:\n" + puml);
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.generateFromSample;
+import static io.github.masmangan.assis.TestWorkbench.readOutput;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GenerateClassDiagramPackageDiagramTest {
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void drawsWeightedPackageEdges(boolean parallel) throws Exception {
+		String puml = generate(new DiagramOptions().setPackageDiagram(true).setParallel(parallel));
+
+		for (String kept : new String[] { "package \"app.web\"", "package \"app.core\"", "package \"app.core.store\"",
+				"\"app.web\" ..> \"app.core\" : 2", "\"app.web\" ..> \"app.core.store\" : 1",
+				"\"app.core\" ..> \"app.core.store\" : 1" }) {
+			assertTrue(puml.contains(kept), kept + " expected in:\n" + puml);
+		}
+		for (String dropped : new String[] { "class ", "java.io", "Controller" }) {
+			assertFalse(puml.contains(dropped), dropped + " not expected in:\n" + puml);
+		}
+	}
+
+	@Test
+	void collapsesPackagesToDepth() throws Exception {
+		String puml = generate(new DiagramOptions().setPackageDiagram(true).setPackageDepth(2));
+
+		assertTrue(puml.contains("\"app.web\" ..> \"app.core\" : 3"), puml);
+		assertFalse(puml.contains("app.core.store"), puml);
+		assertFalse(puml.contains("\"app.core\" ..>"), "edges inside a package are not drawn:\n" + puml);
+	}
+
+	private String generate(DiagramOptions options) throws Exception {
+		Path outDir = generateFromSample("samples/packagediagram", tempDir, options);
+		assertFalse(Files.exists(outDir.resolve("class-diagram.puml")));
+		return readOutput(outDir, "package-diagram.puml");
+	}
+
+}
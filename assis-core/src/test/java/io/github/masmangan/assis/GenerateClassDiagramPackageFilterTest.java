@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.copySampleProjectToTemp;
+import static io.github.masmangan.assis.TestWorkbench.generatePumlFromSample;
+import static io.github.masmangan.assis.TestWorkbench.readOutput;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.masmangan.assis.io.DiscoveredSources;
+import io.github.masmangan.assis.io.DiscoveryMode;
+import io.github.masmangan.assis.util.PackageFilter;
+
+class GenerateClassDiagramPackageFilterTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void packageGlobs() {
+		PackageFilter billing = PackageFilter.of(List.of("com.acme.billing.**"), List.of("com.acme.billing.*.internal"));
+
+		assertAll(() -> assertTrue(billing.selects("com.acme.billing")),
+				() -> assertTrue(billing.selects("com.acme.billing.tax")),
+				() -> assertFalse(billing.selects("com.acme.billing.tax.internal")),
+				() -> assertFalse(billing.selects("com.acme")), () -> assertFalse(billing.selects("")),
+				() -> assertTrue(billing.maySelectWithin("")), () -> assertTrue(billing.maySelectWithin("com.acme")),
+				() -> assertFalse(billing.maySelectWithin("com.acme.shipping")),
+				() -> assertTrue(billing.maySelectWithin("com.acme.billing.tax.internal")));
+
+		PackageFilter noTests = PackageFilter.of(List.of(), List.of("**.test.**"));
+
+		assertAll(() -> assertTrue(noTests.selects("p")), () -> assertFalse(noTests.selects("p.test")),
+				() -> assertFalse(noTests.maySelectWithin("p.test")), () -> assertTrue(noTests.maySelectWithin("p")));
+
+		assertTrue(PackageFilter.of(List.of(), List.of()).selectsAll());
+		assertThrows(IllegalArgumentException.class, () -> PackageFilter.of(List.of("com..acme"), List.of()));
+	}
+
+	@Test
+	void conventionalLayoutPrunesDirectoriesOfOtherPackages() throws Exception {
+		Path src = copySampleProjectToTemp("samples/packagefilter/conventional", tempDir.resolve("src"));
+
+		DiscoveredSources sources = DiscoveredSources.discover(Set.of(src), DiscoveryMode.WALK,
+				PackageFilter.of(List.of("com.acme.billing.**"), List.of()));
+
+		assertEquals(List.of("com/acme/billing/Invoice.java"), relative(sources, src));
+		// shipping/ is pruned after its own file; Util.java is read but not selected
+		assertEquals(List.of("com.acme.Util"), sources.declarationOnlyTypes());
+	}
+
+	@Test
+	void unconventionalLayoutReadsEveryPackageDeclaration() throws Exception {
+		Path src = copySampleProjectToTemp("samples/packagefilter/unconventional", tempDir.resolve("src"));
+
+		DiscoveredSources sources = DiscoveredSources.discover(Set.of(src), DiscoveryMode.WALK,
+				PackageFilter.of(List.of("com.acme.billing.**"), List.of()));
+
+		assertEquals(List.of("misc/Tax.java", "Invoice.java"), relative(sources, src));
+		assertEquals(List.of("com.acme.shipping.Parcel"), sources.declarationOnlyTypes());
+	}
+
+	@Test
+	void unconventionalDirectoriesAfterConventionalOnesAreWalked() throws Exception {
+		Path src = copySampleProjectToTemp("samples/packagefilter/mixed", tempDir.resolve("src"));
+
+		DiscoveredSources sources = DiscoveredSources.discover(Set.of(src), DiscoveryMode.WALK,
+				PackageFilter.of(List.of("com.acme.billing.**"), List.of()));
+
+		assertEquals(
+				List.of("com/acme/billing/Invoice.java", "gen/Tax.java", "module/src/com/acme/billing/Fee.java"),
+				relative(sources, src));
+	}
+
+	@Test
+	void excludedTypesRemainExternalTargets() throws Exception {
+		// Flat layout: the symbol solver cannot find Carrier or Parcel by path
+		DiagramOptions options = new DiagramOptions()
+				.setPackageFilter(PackageFilter.of(List.of(), List.of("com.acme.shipping")));
+		String puml = generatePumlFromSample("samples/packagefilter/flat", tempDir, options);
+
+		assertTrue(puml.contains("class \"com.acme.billing.Invoice\""), puml);
+		assertFalse(puml.contains("package \"com.acme.shipping\""), puml);
+		assertTrue(puml.contains("\n\"com.acme.billing.Invoice\" --|> \"com.acme.shipping.Carrier\""), puml);
+		assertTrue(puml.contains("\"com.acme.billing.Invoice\" ..> \"com.acme.shipping.Parcel\""), puml);
+		assertFalse(puml.contains("\"Parcel\""), puml);
+	}
+
+	@Test
+	void filterAppliesToSourcesDiscoveredWithoutIt() throws Exception {
+		Path src = copySampleProjectToTemp("samples/packagefilter/qualified", tempDir.resolve("src"));
+
+		DiscoveredSources sources = DiscoveredSources.discover(Set.of(src));
+		DiagramOptions options = new DiagramOptions()
+				.setPackageFilter(PackageFilter.of(List.of("com.acme.billing.**"), List.of()));
+		Path outDir = tempDir.resolve("out");
+		GenerateClassDiagram.generate(sources, outDir, options);
+
+		String puml = readOutput(outDir, "class-diagram.puml");
+
+		assertTrue(puml.contains("class \"com.acme.billing.Invoice\""), puml);
+		assertFalse(puml.contains("class \"com.acme.shipping.Parcel\""), puml);
+		assertTrue(puml.contains("\"com.acme.billing.Invoice\" ---> \"parcel\" \"com.acme.shipping.Parcel\""), puml);
+	}
+
+	private static List<String> relative(DiscoveredSources sources, Path root) {
+		List<String> out = new ArrayList<>();
+		for (Path p : sources.javaFiles(root.toAbsolutePath().normalize())) {
+			out.add(root.relativize(p).toString().replace('\\', '/'));
+		}
+		return out;
+	}
+
+}
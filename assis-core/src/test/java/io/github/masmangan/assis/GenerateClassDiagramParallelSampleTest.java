@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.assertPumlContains;
+import static io.github.masmangan.assis.TestWorkbench.assertPumlNotContains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+import io.github.masmangan.assis.io.SmartSourceRoot;
+import io.github.masmangan.assis.io.SmartSourceRootManager;
+import io.github.masmangan.assis.util.DeterministicFileTreeWalker;
+import io.github.masmangan.assis.util.DeterministicPathList;
+
+class GenerateClassDiagramParallelSampleTest {
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest(name = "parallel generation: {0}")
+	@ValueSource(strings = { "samples/ordering", "samples/associations", "samples/deps", "samples/enums",
+			"samples/inner" })
+	void parallelGenerationHasSameOutputAsSequential(String sample) throws Exception {
+		Path tempDir = Path.of("target", "tmp-parallel");
+		Files.createDirectories(tempDir);
+
+		Path sampleRoot = TestWorkbench.copySampleProjectToTemp(sample,
+				tempDir.resolve(TestWorkbench.safeFileName(sample)));
+
+		Path sequentialOut = tempDir.resolve("out-sequential");
+		Files.createDirectories(sequentialOut);
+
+		Path parallelOut = tempDir.resolve("out-parallel");
+		Files.createDirectories(parallelOut);
+
+		GenerateClassDiagram.generate(Set.of(sampleRoot), sequentialOut);
+		GenerateClassDiagram.generate(Set.of(sampleRoot), parallelOut, new DiagramOptions().setParallel(true));
+
+		String a = Files.readString(sequentialOut.resolve("class-diagram.puml"), StandardCharsets.UTF_8);
+		String b = Files.readString(parallelOut.resolve("class-diagram.puml"), StandardCharsets.UTF_8);
+
+		assertEquals(a, b);
+	}
+
+	@Test
+	void parallelIndexKeepsFirstDefinitionOfDuplicateType() throws Exception {
+		Path first = tempDir.resolve("root1");
+		Path second = tempDir.resolve("root2");
+		Files.createDirectories(first.resolve("p"));
+		Files.createDirectories(second.resolve("p"));
+
+		Files.writeString(first.resolve("p/A.java"), """
+				package p;
+				class A {
+					int first;
+				}
+				""", StandardCharsets.UTF_8);
+		Files.writeString(second.resolve("p/A.java"), """
+				package p;
+				class A {
+					int second;
+				}
+				""", StandardCharsets.UTF_8);
+
+		Path outDir = tempDir.resolve("out");
+		GenerateClassDiagram.generate(Set.of(second, first), outDir, new DiagramOptions().setParallel(true));
+
+		String puml = Files.readString(outDir.resolve("class-diagram.puml"), StandardCharsets.UTF_8);
+		assertPumlContains(puml, "first : int");
+		assertPumlNotContains(puml, "second : int");
+	}
+
+	@Test
+	void pipelinedScanMatchesSequentialScan() throws Exception {
+		Path sampleRoot = TestWorkbench.copySampleProjectToTemp("samples/ordering", tempDir.resolve("ordering"));
+		DeterministicPathList roots = DeterministicPathList.fromSourceRoots(Set.of(sampleRoot));
+
+		List<CompilationUnit> sequential = new SmartSourceRootManager().autoscan(roots);
+
+		Map<Long, CompilationUnit> sunk = new ConcurrentHashMap<>();
+		List<CompilationUnit> pipelined = new SmartSourceRootManager().autoscan(roots, 3,
+				(unit, sequence) -> assertNull(sunk.put(sequence, unit)));
+
+		assertEquals(paths(sequential), paths(pipelined));
+		assertEquals(pipelined.size(), sunk.size());
+	}
+
+	@Test
+	void parallelWalkMatchesSequentialWalk() throws Exception {
+		Path samples = Path.of("src", "test", "resources");
+		Predicate<Path> notSkipped = dir -> !SmartSourceRoot.SKIP_DIR_NAMES.contains(dir.getFileName().toString());
+
+		List<Path> sequential = new ArrayList<>();
+		new DeterministicFileTreeWalker().walkJavaFiles(Set.of(samples), notSkipped, sequential::add);
+
+		List<Path> parallel = new ArrayList<>();
+		new DeterministicFileTreeWalker().walkJavaFilesInParallel(Set.of(samples), notSkipped, parallel::add);
+
+		assertFalse(sequential.isEmpty());
+		assertEquals(sequential, parallel);
+	}
+
+	@Test
+	void sourceRootStreamsFilesInDiscoveryOrder() throws Exception {
+		Path samples = Path.of("src", "test", "resources", "samples").toAbsolutePath().normalize();
+
+		List<Path> discovered = new ArrayList<>();
+		new DeterministicFileTreeWalker()
+				.discoverJavaFiles(Set.of(samples),
+						dir -> !SmartSourceRoot.SKIP_DIR_NAMES.contains(dir.getFileName().toString()))
+				.forEach(discovered::add);
+
+		List<Path> streamed = new ArrayList<>();
+		new SmartSourceRoot(samples).discoverJavaFiles(streamed::add);
+
+		assertFalse(discovered.isEmpty());
+		assertEquals(discovered, streamed);
+	}
+
+	private static List<Path> paths(List<CompilationUnit> units) {
+		return units.stream().map(u -> u.getStorage().orElseThrow().getPath()).toList();
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.generateFromSample;
+import static io.github.masmangan.assis.TestWorkbench.readOutput;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GenerateClassDiagramPartitionTest {
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void groupsPackagesIntoParts(boolean parallel) throws Exception {
+		generate(new DiagramOptions().setPartitionTypes(3).setParallel(parallel));
+
+		String index = read("class-diagram.puml");
+		assertTrue(index.contains("package \"class-diagram-1\""), index);
+		assertTrue(index.contains("package \"class-diagram-2\""), index);
+		assertTrue(index.contains("\"class-diagram-1\" ..> \"class-diagram-2\" : 1"), index);
+		assertFalse(Files.exists(tempDir.resolve("out/class-diagram-3.puml")));
+
+		String first = read("class-diagram-1.puml");
+		for (String kept : new String[] { "class \"a.A1\"", "class \"a.A2\"", "class \"b.B1\"" }) {
+			assertTrue(first.contains(kept), kept + " expected in:\n" + first);
+		}
+		assertFalse(first.contains("c.C1"), "edges between parts are drawn in the index only:\n" + first);
+
+		String second = read("class-diagram-2.puml");
+		assertTrue(second.contains("\"c.C1\" ---> \"next\" \"c.C2\""), second);
+	}
+
+	@Test
+	void splitsLargePackagesAlongRelationships() throws Exception {
+		generate(new DiagramOptions().setPartitionTypes(2));
+
+		String third = read("class-diagram-3.puml");
+		assertTrue(third.contains("class \"c.C1\""), third);
+		assertTrue(third.contains("class \"c.C2\""), third);
+
+		String fourth = read("class-diagram-4.puml");
+		assertTrue(fourth.contains("class \"c.C3\""), fourth);
+		assertFalse(fourth.contains("c.C1"), fourth);
+	}
+
+	@Test
+	void keepsNestedTypesWithTheirTopLevelType() throws Exception {
+		generateFromSample("samples/partitionnested", tempDir, new DiagramOptions().setPartitionTypes(2));
+
+		String first = read("class-diagram-1.puml");
+		assertTrue(first.contains("class \"n.Other\""), first);
+		assertFalse(first.contains("n.Outer"), first);
+
+		String second = read("class-diagram-2.puml");
+		assertTrue(second.contains("\"n.Outer\" +-- \"n.Outer$First\""), second);
+		assertTrue(second.contains("\"n.Outer\" +-- \"n.Outer$Second\""), second);
+		assertFalse(Files.exists(tempDir.resolve("out/class-diagram-3.puml")));
+	}
+
+	@Test
+	void deletesPartsOfAnEarlierRun() throws Exception {
+		generate(new DiagramOptions().setPartitionTypes(1));
+		assertTrue(Files.exists(tempDir.resolve("out/class-diagram-6.puml")));
+		Files.writeString(tempDir.resolve("out/class-diagram-notes.puml"), "@startuml\n@enduml\n");
+
+		generate(new DiagramOptions().setPartitionTypes(3));
+
+		assertTrue(Files.exists(tempDir.resolve("out/class-diagram-2.puml")));
+		for (int part = 3; part <= 6; part++) {
+			assertFalse(Files.exists(tempDir.resolve("out/class-diagram-" + part + ".puml")), "part " + part);
+		}
+		assertTrue(Files.exists(tempDir.resolve("out/class-diagram-notes.puml")), "other files are kept");
+	}
+
+	private void generate(DiagramOptions options) throws Exception {
+		generateFromSample("samples/partition", tempDir, options);
+	}
+
+	private String read(String fileName) throws IOException {
+		return readOutput(tempDir.resolve("out"), fileName);
+	}
+
+}
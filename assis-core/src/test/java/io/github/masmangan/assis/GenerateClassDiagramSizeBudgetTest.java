@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.generatePumlFromSample;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GenerateClassDiagramSizeBudgetTest {
+
+	private static final String SAMPLE = "samples/sizebudget";
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void leavesOutMembersPastTheBudget(boolean parallel) throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir,
+				new DiagramOptions().setMaxMembers(2).setParallel(parallel));
+
+		assertTrue(puml.contains("a : int"), puml);
+		assertTrue(puml.contains("b : int"), puml);
+		assertFalse(puml.contains("z : int"), puml);
+		assertFalse(puml.contains("run("), puml);
+		assertTrue(puml.contains("' Size budget: 2 members not drawn."), puml);
+	}
+
+	@Test
+	void keepsStructuralEdgesBeforeDependencies() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir, new DiagramOptions().setMaxEdges(2));
+
+		assertTrue(puml.contains("\"p.A\" --|> \"p.B\""), puml);
+		assertTrue(puml.contains("\"p.A\" ---> \"c\" \"p.C\""), puml);
+		assertFalse(puml.contains("..>"), puml);
+		assertTrue(puml.contains("' Size budget: 3 edges and 0 external types not drawn."), puml);
+	}
+
+	@Test
+	void keepsDeclaredTargetsBeforeExternalTypes() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir, new DiagramOptions().setMaxEdges(3));
+
+		assertTrue(puml.contains("\"p.A\" ..> \"p.D\""), puml);
+		assertFalse(puml.contains("..> \"Missing"), puml);
+	}
+
+	@Test
+	void leavesOutExternalTypesPastTheBudget() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir, new DiagramOptions().setMaxGhosts(1));
+
+		assertTrue(puml.contains("\"p.A\" ..> \"Missing1\""), puml);
+		assertFalse(puml.contains("..> \"Missing2\""), puml);
+		assertTrue(puml.contains("' Size budget: 1 edges and 1 external types not drawn."), puml);
+	}
+
+	@Test
+	void drawsEverythingByDefault() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir, new DiagramOptions());
+
+		assertTrue(puml.contains("z : int"), puml);
+		assertTrue(puml.contains("..> \"Missing2\""), puml);
+		assertFalse(puml.contains("Size budget"), puml);
+	}
+
+}
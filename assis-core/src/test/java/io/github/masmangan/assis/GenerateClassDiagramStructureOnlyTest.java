@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.generatePumlFromSample;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GenerateClassDiagramStructureOnlyTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void structureOnlyDropsDependenciesAndNothingElse() throws Exception {
+		String full = generatePumlFromSample("samples/structureonly", tempDir, new DiagramOptions());
+		String actual = generatePumlFromSample("samples/structureonly", tempDir,
+				new DiagramOptions().setStructureOnly(true));
+
+		String expected = full.lines().filter(line -> !line.contains(" ..> "))
+				.collect(Collectors.joining("\n", "", "\n"));
+
+		assertTrue(full.contains("\"p.Shapes\" ..> \"p.Shape\""), full);
+		assertFalse(actual.contains(" ..> "), actual);
+		assertEquals(expected, actual);
+	}
+
+}
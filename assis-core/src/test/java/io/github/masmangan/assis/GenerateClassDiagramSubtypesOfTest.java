@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.generatePumlFromSample;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GenerateClassDiagramSubtypesOfTest {
+
+	private static final String SAMPLE = "samples/subtypesof";
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void drawsTypeAndItsTransitiveSubtypesOnly(boolean parallel) throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir,
+				new DiagramOptions().setSubtypesOf("pay.PaymentGateway").setParallel(parallel));
+
+		for (String kept : new String[] { "interface \"pay.PaymentGateway\"",
+				"\"pay.BaseGateway\" ..|> \"pay.PaymentGateway\"", "\"pay.CardGateway\" --|> \"pay.BaseGateway\"",
+				"\"pay.CardGateway\" ..|> \"java.lang.Runnable\"", "\"pay.pix.PixGateway\" ..|> \"pay.PaymentGateway\"" }) {
+			assertTrue(puml.contains(kept), kept + " expected in:\n" + puml);
+		}
+		for (String dropped : new String[] { "books", "Receipt" }) {
+			assertFalse(puml.contains(dropped), dropped + " not expected in:\n" + puml);
+		}
+	}
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void drawsDeclaredSubtypesOfExternalType(boolean parallel) throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir,
+				new DiagramOptions().setSubtypesOf("java.lang.Runnable").setParallel(parallel));
+
+		assertTrue(puml.contains("class \"pay.CardGateway\""), puml);
+		assertTrue(puml.contains("\"pay.CardGateway\" ..|> \"java.lang.Runnable\""), puml);
+		assertFalse(puml.contains("--|>"), puml);
+		assertFalse(puml.contains("PaymentGateway"), puml);
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis;
+
+import static io.github.masmangan.assis.TestWorkbench.generatePumlFromSample;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GenerateClassDiagramTransitiveReductionTest {
+
+	private static final String SAMPLE = "samples/transitivereduction";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void keepsEveryDependencyByDefault() throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir, new DiagramOptions());
+
+		assertTrue(puml.contains("\"p.A\" ..> \"p.C\""), puml);
+		assertTrue(puml.contains("\"p.Y\" ..> \"p.Z\""), puml);
+		assertFalse(puml.contains("Transitive reduction"), puml);
+	}
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void dropsImpliedDependencies(boolean parallel) throws Exception {
+		String puml = generatePumlFromSample(SAMPLE, tempDir,
+				new DiagramOptions().setTransitiveReduction(true).setParallel(parallel));
+
+		for (String kept : new String[] { "\"p.A\" ---> \"b\" \"p.B\"", "\"p.B\" ..> \"p.C\"", "\"p.X\" ..> \"p.Y\"",
+				"\"p.Y\" ..> \"p.X\"", "\"p.X\" ..> \"p.Z\"", "' Transitive reduction: 2 implied dependencies" }) {
+			assertTrue(puml.contains(kept), kept + " expected in:\n" + puml);
+		}
+		for (String dropped : new String[] { "\"p.A\" ..> \"p.C\"", "\"p.Y\" ..> \"p.Z\"" }) {
+			assertFalse(puml.contains(dropped), dropped + " not expected in:\n" + puml);
+		}
+	}
+
+}
@@ -184,4 +184,50 @@ class PlantUMLWriterTest {
 
 		assertEquals(expected, sw.toString());
 	}
+
+	@Test
+	void weightedDependency() {
+		StringWriter sw = new StringWriter();
+
+		try (PlantUMLWriter w = new PlantUMLWriter(new PrintWriter(sw))) {
+			w.connectWeightedDepends("p.a", "p.b", 3);
+		} catch (Exception e) {
+			fail(e);
+		}
+
+		String expected = """
+				"p.a" ..> "p.b" : 3
+				""";
+
+		assertEquals(expected, sw.toString());
+	}
+
+	@Test
+	void appendRenderedWritesBufferVerbatim() {
+		StringWriter buffer = new StringWriter();
+		try (PlantUMLWriter local = new PlantUMLWriter(new PrintWriter(buffer))) {
+			local.indent();
+			local.beginClass("A", "", "");
+			local.endClass("A");
+		}
+
+		StringWriter sw = new StringWriter();
+
+		try (PlantUMLWriter w = new PlantUMLWriter(new PrintWriter(sw))) {
+			w.beginPackage("P");
+			w.appendRendered(buffer.toString());
+			w.endPackage("P");
+		} catch (Exception e) {
+			fail(e);
+		}
+
+		String expected = """
+				package "P" { /' @assis:begin package "P" '/
+				  class "A" { /' @assis:begin class "A" '/
+				  } /' @assis:end class "A" '/
+				} /' @assis:end package "P" '/
+				""";
+
+		assertEquals(expected, sw.toString());
+	}
 }
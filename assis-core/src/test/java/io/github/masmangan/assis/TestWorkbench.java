@@ -87,6 +87,33 @@ public class TestWorkbench {
 		return Files.readString(outputFile, StandardCharsets.UTF_8);
 	}
 
+	/**
+	 * Copies a sample to {@code tempDir/src} and generates its diagrams into
+	 * {@code tempDir/out}.
+	 */
+	static Path generateFromSample(String resourcePath, Path tempDir, DiagramOptions options)
+			throws IOException, URISyntaxException {
+		Path sampleRoot = copySampleProjectToTemp(resourcePath, tempDir.resolve("src"));
+		Path outDir = tempDir.resolve("out");
+		GenerateClassDiagram.generate(Set.of(sampleRoot), outDir, options);
+		return outDir;
+	}
+
+	static String generatePumlFromSample(String resourcePath, Path tempDir, DiagramOptions options)
+			throws IOException, URISyntaxException {
+		return readOutput(generateFromSample(resourcePath, tempDir, options), "class-diagram.puml");
+	}
+
+	static String readOutput(Path outDir, String fileName) throws IOException {
+		return Files.readString(outDir.resolve(fileName), StandardCharsets.UTF_8);
+	}
+
+	static void writeFile(Path root, String relative, String content) throws IOException {
+		Path file = root.resolve(relative);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content, StandardCharsets.UTF_8);
+	}
+
 	static void saveToGallery(Path generatedPuml, String testName, String fileBaseName) throws IOException {
 		String safeTest = safeFileName(testName);
 		String safeBase = safeFileName(fileBaseName);
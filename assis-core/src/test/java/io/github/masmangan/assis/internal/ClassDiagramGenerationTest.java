@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.github.masmangan.assis.DiagramOptions;
+import io.github.masmangan.assis.io.SmartSourceRootManager;
+import io.github.masmangan.assis.util.DeterministicPathList;
+
+class ClassDiagramGenerationTest {
+
+	private static final Path SAMPLE = Path.of("src", "test", "resources", "samples", "knownnames");
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest(name = "parallel={0}")
+	@ValueSource(booleans = { false, true })
+	void skippingKnownNamesKeepsTheDiagram(boolean parallel) throws Exception {
+		DiagramOptions options = new DiagramOptions().setParallel(parallel);
+
+		ClassDiagramGeneration reusing = new ClassDiagramGeneration(tempDir.resolve("reusing.puml"), index(), options);
+		reusing.run();
+		ClassDiagramGeneration resolving = new ClassDiagramGeneration(tempDir.resolve("resolving.puml"), index(),
+				options).resolveEveryUse();
+		resolving.run();
+
+		// p.A writes C three times and B twice
+		assertTrue(reusing.skippedResolutions() > 0, "skipped: " + reusing.skippedResolutions());
+		assertEquals(0, resolving.skippedResolutions());
+		assertEquals(Files.readString(tempDir.resolve("resolving.puml"), StandardCharsets.UTF_8),
+				Files.readString(tempDir.resolve("reusing.puml"), StandardCharsets.UTF_8));
+	}
+
+	private static DeclaredIndex index() throws Exception {
+		DeclaredIndex idx = new DeclaredIndex();
+		idx.fill(new SmartSourceRootManager().autoscan(DeterministicPathList.fromSourceRoots(Set.of(SAMPLE))));
+		return idx;
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class EdgeRegistryTest {
+
+	private static final int EDGES = 40;
+
+	@Test
+	void countsAssociationsPastTheInitialSlots() {
+		EdgeRegistry er = new EdgeRegistry();
+		for (int i = 0; i < EDGES; i++) {
+			er.registerAssociation("p.Owner", "p.Part" + i);
+			er.registerAssociation("p.Owner", "p.Part" + i);
+		}
+
+		for (int i = 0; i < EDGES; i++) {
+			assertEquals(2, er.usesOf("p.Owner", "p.Part" + i), "p.Part" + i);
+		}
+	}
+
+	@Test
+	void countsDependenciesPastTheInitialSlots() {
+		EdgeRegistry er = new EdgeRegistry();
+		for (int i = 0; i < EDGES; i++) {
+			er.registerDependency("p.User", "p.Used" + i);
+			er.countUse(er.slotOf("p.User", "p.Used" + i));
+		}
+
+		for (int i = 0; i < EDGES; i++) {
+			assertTrue(er.isRegistered("p.User", "p.Used" + i));
+			assertEquals(1, er.usesOf("p.User", "p.Used" + i), "p.Used" + i);
+		}
+		assertFalse(er.isRegistered("p.Used0", "p.User"));
+	}
+
+	@Test
+	void addsUsesPastTheInitialSlots() {
+		EdgeRegistry shared = new EdgeRegistry();
+		shared.registerAssociation("p.Owner", "p.Part0");
+		EdgeRegistry local = new EdgeRegistry();
+		for (int i = 0; i < EDGES; i++) {
+			local.countUse(local.slotOf("p.User", "p.Used" + i));
+			local.registerAssociation("p.Owner", "p.Part" + i);
+		}
+
+		shared.addUses(local);
+
+		assertEquals(2, shared.usesOf("p.Owner", "p.Part0"));
+		for (int i = 1; i < EDGES; i++) {
+			assertEquals(1, shared.usesOf("p.Owner", "p.Part" + i), "p.Part" + i);
+			assertEquals(1, shared.usesOf("p.User", "p.Used" + i), "p.Used" + i);
+		}
+		assertEquals(1, local.usesOf("p.Owner", "p.Part0"), "the added registry is left unchanged");
+	}
+
+}
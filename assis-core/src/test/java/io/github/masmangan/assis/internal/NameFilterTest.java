@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.StaticJavaParser;
+
+class NameFilterTest {
+
+	@Test
+	void holdsEveryDeclaredName() {
+		DeclaredIndex idx = new DeclaredIndex();
+		idx.fill(List.of(StaticJavaParser.parse("""
+				package p;
+				public class Outer {
+					interface Inner { }
+					enum Kind { A }
+				}
+				class Helper { }
+				"""), StaticJavaParser.parse("package q; class Helper { @interface Tag { } }")));
+
+		for (String fqn : idx.fqnsInIndexOrder()) {
+			assertTrue(idx.mightDeclareSimpleName(DeclaredIndex.simpleName(fqn)), fqn);
+		}
+	}
+
+	@Test
+	void hasNoFalseNegatives() {
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			names.add("Type" + i);
+		}
+		NameFilter filter = NameFilter.of(names);
+
+		for (String name : names) {
+			assertTrue(filter.mightContain(name), name);
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (filter.mightContain("Absent" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 100, "false positives: " + falsePositives);
+	}
+
+	@Test
+	void emptyFilterHoldsNothing() {
+		NameFilter filter = NameFilter.of(List.of());
+
+		assertEquals(64, filter.bitCount());
+		for (String name : new String[] { "", "List", "java.util.List", "Type0" }) {
+			assertFalse(filter.mightContain(name), name);
+		}
+	}
+
+	@Test
+	void sizesForTheNames() {
+		NameFilter single = NameFilter.of(List.of("List"));
+
+		assertEquals(64, single.bitCount());
+		assertTrue(single.mightContain("List"));
+		assertFalse(single.mightContain("Map"));
+
+		assertEquals(128, NameFilter.of(List.of("A", "B", "C", "D", "E", "F", "G", "H")).bitCount());
+		assertEquals(256, NameFilter.of(List.of("A", "B", "C", "D", "E", "F", "G", "H", "I")).bitCount());
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PackageTrieTest {
+
+	private final PackageTrie trie = new PackageTrie();
+
+	@BeforeEach
+	void addPackages() {
+		trie.add("com.acme.billing.api");
+		trie.add("com.acme.billing");
+		trie.add("com.acme.shipping");
+		trie.add("org.example");
+		trie.add("com.acme.billing");
+	}
+
+	@Test
+	void rootListsEveryPackage() {
+		assertEquals(List.of("com.acme.billing", "com.acme.billing.api", "com.acme.shipping", "org.example"),
+				trie.subtree(""));
+		assertEquals(List.of("com", "org"), trie.children(""));
+		assertFalse(trie.isDeclared(""));
+	}
+
+	@Test
+	void intermediatePackagesAreNotDeclared() {
+		assertFalse(trie.isDeclared("com.acme"));
+		assertEquals(List.of("com.acme.billing", "com.acme.billing.api", "com.acme.shipping"),
+				trie.subtree("com.acme"));
+		assertEquals(List.of("com.acme.billing", "com.acme.shipping"), trie.children("com.acme"));
+	}
+
+	@Test
+	void leafHasNoSubpackages() {
+		assertTrue(trie.isDeclared("com.acme.billing.api"));
+		assertEquals(List.of("com.acme.billing.api"), trie.subtree("com.acme.billing.api"));
+		assertEquals(List.of(), trie.children("com.acme.billing.api"));
+	}
+
+	@Test
+	void missingPrefixHasNothing() {
+		assertFalse(trie.isDeclared("com.acme.billing.impl"));
+		assertEquals(List.of(), trie.subtree("com.acme.billing.impl"));
+		assertEquals(List.of(), trie.children("net"));
+		// a segment prefix is not a package prefix
+		assertEquals(List.of(), trie.subtree("com.ac"));
+	}
+
+	@Test
+	void collapsesToDepth() {
+		assertEquals(List.of(""), trie.atDepth(0));
+		assertEquals(List.of("com", "org"), trie.atDepth(1));
+		assertEquals(List.of("com.acme.billing", "com.acme.shipping", "org.example"), trie.atDepth(3));
+		assertEquals(trie.subtree(""), trie.atDepth(10));
+		assertThrows(IllegalArgumentException.class, () -> trie.atDepth(-1));
+	}
+
+	@Test
+	void emptyTrie() {
+		PackageTrie empty = new PackageTrie();
+
+		assertEquals(List.of(), empty.subtree(""));
+		assertEquals(List.of(), empty.atDepth(0));
+	}
+
+	@Test
+	void defaultPackageIsTheRoot() {
+		trie.add("");
+
+		assertTrue(trie.isDeclared(""));
+		assertEquals("", trie.subtree("").get(0));
+		assertEquals(List.of("", "com", "org"), trie.atDepth(1));
+	}
+
+}
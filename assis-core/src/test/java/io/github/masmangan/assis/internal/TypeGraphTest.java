@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.StaticJavaParser;
+
+class TypeGraphTest {
+
+	private static TypeGraph graphOf(String source, List<Relation> relations) {
+		DeclaredIndex idx = new DeclaredIndex();
+		idx.fill(List.of(StaticJavaParser.parse(source)));
+		return TypeGraph.of(idx, relations);
+	}
+
+	/*
+	 * A ---> B <.. C --|> D, and A ..> String <.. E
+	 */
+	private static TypeGraph neighbors() {
+		return graphOf("package p; class A { } class B { } class C { } class D { } class E { }",
+				List.of(Relation.association("p.A", "p.B", "b", null),
+						Relation.of(RelationKind.DEPENDENCY, "p.C", "p.B", false),
+						Relation.of(RelationKind.EXTENDS, "p.C", "p.D", false),
+						Relation.of(RelationKind.DEPENDENCY, "p.A", "java.lang.String", false),
+						Relation.of(RelationKind.DEPENDENCY, "p.E", "java.lang.String", false)));
+	}
+
+	@Test
+	void depthZeroIsTheSeeds() {
+		assertEquals(List.of("p.A"), neighbors().neighborhood(List.of("p.A", "p.Missing"), 0));
+	}
+
+	@Test
+	void depthOneFollowsEdgesOfEveryKind() {
+		assertEquals(List.of("p.A", "p.B", "java.lang.String"), neighbors().neighborhood(List.of("p.A"), 1));
+		assertEquals(List.of("p.B", "p.A", "p.C"), neighbors().neighborhood(List.of("p.B"), 1),
+				"incoming edges are followed too");
+	}
+
+	@Test
+	void depthLimitsThePaths() {
+		TypeGraph graph = neighbors();
+
+		assertEquals(List.of("p.A", "p.B", "java.lang.String", "p.C"), graph.neighborhood(List.of("p.A"), 2));
+		assertEquals(List.of("p.A", "p.B", "java.lang.String", "p.C", "p.D"), graph.neighborhood(List.of("p.A"), 3));
+	}
+
+	@Test
+	void pathsStopAtExternalTypes() {
+		TypeGraph graph = neighbors();
+
+		assertFalse(graph.neighborhood(List.of("p.A"), 5).contains("p.E"));
+		assertEquals(List.of("java.lang.String", "p.A", "p.E"),
+				graph.neighborhood(List.of("java.lang.String"), 1), "an external seed is expanded");
+	}
+
+	@Test
+	void selfLoopIsItsOwnComponent() {
+		// 0 -> 0, 0 -> 1
+		int[] component = TypeGraph.components(2, new int[] { 0, 2, 2 }, new int[] { 0, 1 });
+
+		assertNotEquals(component[0], component[1]);
+		assertTrue(component[0] > component[1], "reverse topological order");
+	}
+
+	@Test
+	void threeCycleIsOneComponent() {
+		// A --|> B ---> C ..> A, and D ..> A
+		TypeGraph graph = graphOf("package p; class A { } class B { } class C { } class D { }",
+				List.of(Relation.of(RelationKind.EXTENDS, "p.A", "p.B", false),
+						Relation.association("p.B", "p.C", "c", null),
+						Relation.of(RelationKind.DEPENDENCY, "p.C", "p.A", false),
+						Relation.of(RelationKind.DEPENDENCY, "p.D", "p.A", false)));
+
+		int[] component = graph.components();
+		int a = component[graph.id("p.A")];
+
+		assertEquals(a, component[graph.id("p.B")]);
+		assertEquals(a, component[graph.id("p.C")]);
+		assertTrue(component[graph.id("p.D")] > a, "reverse topological order");
+		assertEquals(2, Arrays.stream(component).distinct().count());
+	}
+
+}
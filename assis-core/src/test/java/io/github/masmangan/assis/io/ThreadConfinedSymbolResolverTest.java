@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025-2026, Marco Mangan. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ */
+
+package io.github.masmangan.assis.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.resolution.SymbolResolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.types.ResolvedType;
+
+class ThreadConfinedSymbolResolverTest {
+
+	/**
+	 * Records the thread it was created on and the threads that call it.
+	 */
+	private static final class Recording implements SymbolResolver {
+
+		final Thread owner = Thread.currentThread();
+
+		final Set<Thread> callers = ConcurrentHashMap.newKeySet();
+
+		@Override
+		public <T> T resolveDeclaration(Node node, Class<T> resultClass) {
+			callers.add(Thread.currentThread());
+			return null;
+		}
+
+		@Override
+		public <T> T toResolvedType(Type javaparserType, Class<T> resultClass) {
+			callers.add(Thread.currentThread());
+			return null;
+		}
+
+		@Override
+		public ResolvedType calculateType(Expression expression) {
+			callers.add(Thread.currentThread());
+			return null;
+		}
+
+		@Override
+		public ResolvedReferenceTypeDeclaration toTypeDeclaration(Node node) {
+			callers.add(Thread.currentThread());
+			return null;
+		}
+
+	}
+
+	private final List<Recording> created = new CopyOnWriteArrayList<>();
+
+	private final ThreadConfinedSymbolResolver resolver = new ThreadConfinedSymbolResolver(() -> {
+		Recording r = new Recording();
+		created.add(r);
+		return r;
+	});
+
+	@Test
+	void oneDelegatePerThread() throws Exception {
+		NameExpr node = new NameExpr("x");
+		resolver.calculateType(node);
+		resolver.toTypeDeclaration(node);
+		assertEquals(1, created.size(), "a single thread gets a single delegate");
+
+		int threads = 4;
+		CountDownLatch together = new CountDownLatch(threads);
+		Thread[] workers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			workers[i] = new Thread(() -> {
+				together.countDown();
+				try {
+					together.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				for (int k = 0; k < 100; k++) {
+					resolver.calculateType(node);
+				}
+			});
+			workers[i].start();
+		}
+		for (Thread t : workers) {
+			t.join();
+		}
+
+		assertEquals(1 + threads, created.size());
+		assertEquals(1 + threads, resolver.delegateCount());
+		for (Recording r : created) {
+			assertEquals(Set.of(r.owner), r.callers, "a delegate is only called by its own thread");
+		}
+	}
+
+	@Test
+	void releaseDropsEveryDelegate() throws Exception {
+		NameExpr node = new NameExpr("x");
+		resolver.calculateType(node);
+		Thread other = new Thread(() -> resolver.calculateType(node));
+		other.start();
+		other.join();
+		assertEquals(2, resolver.delegateCount());
+
+		resolver.release();
+
+		assertEquals(0, resolver.delegateCount());
+		resolver.calculateType(node);
+		assertEquals(3, created.size(), "a new delegate after release");
+		assertNotSame(created.get(0), created.get(2));
+		assertSame(Thread.currentThread(), created.get(2).owner);
+	}
+
+}
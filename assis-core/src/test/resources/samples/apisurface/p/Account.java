@@ -0,0 +1,34 @@
+package p;
+
+public class Account {
+	public static final int LIMIT = 10;
+	protected String owner;
+	private Ledger ledger;
+	int packageCounter;
+
+	static { }
+
+	public Account(String owner) { }
+	private Account() { }
+
+	public void deposit(int amount) { }
+	protected void audit() { }
+	private void recompute(Ledger l) { }
+
+	public static class Statement { }
+	private static class Cache { }
+
+	public interface Listener {
+		void changed(Account a);
+		private void helper() { }
+		class Event { }
+	}
+
+	public enum State {
+		OPEN, CLOSED;
+		State() { }
+		public boolean isOpen() { return this == OPEN; }
+	}
+}
+
+class Ledger { }
@@ -0,0 +1,14 @@
+package p1;
+
+import java.util.List;
+
+public class Owner {
+
+	private Part first, second;
+
+	private List<Part> parts;
+
+	Part pick(Part p) {
+		return p;
+	}
+}
@@ -0,0 +1,6 @@
+package p1;
+
+import java.util.List;
+
+public record Pair(Part left, List<Part> rest) {
+}
@@ -0,0 +1,4 @@
+package p1;
+
+public class Part {
+}
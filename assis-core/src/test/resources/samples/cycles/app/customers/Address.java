@@ -0,0 +1,4 @@
+package app.customers;
+public class Address {
+	Customer owner() { return null; }
+}
@@ -0,0 +1,5 @@
+package app.customers;
+import app.orders.Order;
+public class Customer {
+	Order lastOrder() { return null; }
+}
@@ -0,0 +1,8 @@
+package app.orders;
+import app.customers.Customer;
+public class Order {
+	private Customer customer;
+	public class Line {
+		Order order() { return null; }
+	}
+}
@@ -0,0 +1 @@
+class Scratch1 {}
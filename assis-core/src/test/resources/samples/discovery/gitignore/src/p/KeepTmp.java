@@ -0,0 +1 @@
+package p; class KeepTmp {}
@@ -0,0 +1 @@
+package p.q; class C {}
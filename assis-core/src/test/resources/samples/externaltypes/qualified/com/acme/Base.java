@@ -0,0 +1 @@
+package com.acme; public class Base { }
@@ -0,0 +1,4 @@
+package com.acme.app;
+public class Impl extends com.acme.Base {
+	private com.acme.Part part;
+}
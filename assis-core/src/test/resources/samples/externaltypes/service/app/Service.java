@@ -0,0 +1,9 @@
+package app;
+import java.util.List;
+import java.util.*;
+public class Service extends Thread implements java.io.Serializable {
+	private List<Order> orders;
+	void run(String s, Map<String, Order> m, Optional<Order> o) {
+		Objects.requireNonNull(s);
+	}
+}
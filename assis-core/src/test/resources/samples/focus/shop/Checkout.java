@@ -0,0 +1,4 @@
+package shop;
+public class Checkout implements java.io.Serializable {
+	private OrderService orders;
+}
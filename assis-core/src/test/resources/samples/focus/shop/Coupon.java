@@ -0,0 +1,2 @@
+package shop;
+public class Coupon implements java.io.Serializable { }
@@ -0,0 +1,4 @@
+package shop;
+public class Repository {
+	Database open() { return null; }
+}
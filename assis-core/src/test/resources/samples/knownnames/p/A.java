@@ -0,0 +1,7 @@
+package p;
+public class A {
+	private B b;
+	C convert(C x) { return (C) x; }
+	void touch(D d) { }
+	void replace(B other) { }
+}
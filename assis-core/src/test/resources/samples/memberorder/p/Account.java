@@ -0,0 +1,20 @@
+package p;
+
+public class Account {
+
+	public Account(String owner, int limit) { }
+
+	public Account() { }
+
+	public Account(String owner) { }
+
+	void withdraw(int amount) { }
+
+	void deposit(long amount) { }
+
+	void deposit(int amount) { }
+
+	String owner() { return null; }
+
+	int balance() { return 0; }
+}
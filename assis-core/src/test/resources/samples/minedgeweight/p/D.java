@@ -0,0 +1 @@
+package p; public class D { }
@@ -0,0 +1,19 @@
+package p;
+
+import java.util.concurrent.Flow.Subscriber;
+import java.util.function.BiConsumer;
+
+public class Publisher<T> {
+
+	static final class Buffered<T> {
+		Object item;
+		final Subscriber<? super T> subscriber;
+		final BiConsumer<? super Subscriber<? super T>, ? super Throwable> onNextHandler;
+
+		Buffered(Subscriber<? super T> subscriber,
+				BiConsumer<? super Subscriber<? super T>, ? super Throwable> onNextHandler) {
+			this.subscriber = subscriber;
+			this.onNextHandler = onNextHandler;
+		}
+	}
+}
@@ -0,0 +1,5 @@
+package app.core;
+import app.core.store.Store;
+public class Engine implements java.io.Serializable {
+	private Store store;
+}
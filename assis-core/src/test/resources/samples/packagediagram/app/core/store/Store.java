@@ -0,0 +1,2 @@
+package app.core.store;
+public class Store { }
@@ -0,0 +1,7 @@
+package app.web;
+import app.core.Engine;
+import app.core.store.Store;
+public class Controller {
+	private Engine engine;
+	private Store store;
+}
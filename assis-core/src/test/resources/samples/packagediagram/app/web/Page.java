@@ -0,0 +1,5 @@
+package app.web;
+import app.core.Engine;
+public class Page {
+	private Engine engine;
+}
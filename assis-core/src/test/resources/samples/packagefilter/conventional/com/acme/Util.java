@@ -0,0 +1 @@
+package com.acme; class Util {}
@@ -0,0 +1,4 @@
+/* header */
+@Generated(value = "x(y)")
+package com.acme.billing;
+class Invoice {}
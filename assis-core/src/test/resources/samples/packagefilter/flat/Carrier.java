@@ -0,0 +1 @@
+package com.acme.shipping; public class Carrier {}
@@ -0,0 +1,8 @@
+package com.acme.billing;
+
+import com.acme.shipping.Parcel;
+import com.acme.shipping.*;
+
+public class Invoice extends Carrier {
+	private Parcel parcel;
+}
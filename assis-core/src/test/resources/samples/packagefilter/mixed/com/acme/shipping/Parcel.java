@@ -0,0 +1 @@
+package com.acme.shipping; class Parcel {}
@@ -0,0 +1 @@
+package com.acme.billing.tax; class Tax {}
@@ -0,0 +1 @@
+package com.acme.billing; class Fee {}
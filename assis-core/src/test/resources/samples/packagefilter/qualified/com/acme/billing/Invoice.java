@@ -0,0 +1,4 @@
+package com.acme.billing;
+public class Invoice {
+	private com.acme.shipping.Parcel parcel;
+}
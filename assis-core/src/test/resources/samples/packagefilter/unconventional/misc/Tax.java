@@ -0,0 +1,2 @@
+// tax
+package com.acme.billing.tax; class Tax {}
@@ -0,0 +1 @@
+package a; public class A1 { }
@@ -0,0 +1,4 @@
+package b;
+public class B1 {
+	private c.C1 first;
+}
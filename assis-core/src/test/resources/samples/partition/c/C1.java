@@ -0,0 +1,4 @@
+package c;
+public class C1 {
+	private C2 next;
+}
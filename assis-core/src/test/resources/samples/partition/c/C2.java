@@ -0,0 +1 @@
+package c; public class C2 { }
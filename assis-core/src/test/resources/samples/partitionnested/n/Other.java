@@ -0,0 +1 @@
+package n; public class Other { }
@@ -0,0 +1,5 @@
+package n;
+public class Outer {
+	static class First { }
+	static class Second { }
+}
@@ -0,0 +1,8 @@
+package p;
+public class A extends B {
+	private C c;
+	int a;
+	int b;
+	int z;
+	void run(D d, Missing1 m1, Missing2 m2) { }
+}
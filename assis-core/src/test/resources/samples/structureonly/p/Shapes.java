@@ -0,0 +1,62 @@
+package p;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public class Shapes {
+	private static final String BRACES = "{ \" } '{'";
+	private final int[] sizes = { 1, 2 };
+	private final Runnable task = () -> { new Helper(); };
+	private final Object anon = new Object() {
+		@Override
+		public String toString() { return "}"; }
+	};
+	private List<Shape> shapes;
+
+	static { System.out.println('}'); }
+
+	{ /* } */ }
+
+	public Shapes() throws IllegalStateException {
+		Helper h = new Helper(); // }
+	}
+
+	@SuppressWarnings(value = { "unchecked" })
+	<T extends Shape> T first(Supplier<T> s) {
+		class Local { }
+		String text = """
+			} {
+			""";
+		return s.get();
+	}
+
+	record Point(int x, int y) {
+		Point {
+			if (x < 0) { throw new IllegalArgumentException(); }
+		}
+		record Inner(Point p) { }
+	}
+
+	enum Kind {
+		ROUND(1) {
+			@Override int corners() { return 0; }
+		},
+		SQUARE(4);
+
+		private final int n;
+
+		Kind(int n) { this.n = n; }
+
+		int corners() { return n; }
+
+		interface Visitor { default void visit(Kind k) { k.corners(); } }
+	}
+
+	@interface Tag {
+		String[] value() default { "a", "}" };
+	}
+}
+
+interface Shape { }
+
+class Helper { }
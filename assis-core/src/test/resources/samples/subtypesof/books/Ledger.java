@@ -0,0 +1,2 @@
+package books;
+public class Ledger { }
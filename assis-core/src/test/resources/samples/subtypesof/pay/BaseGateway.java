@@ -0,0 +1,2 @@
+package pay;
+public abstract class BaseGateway implements PaymentGateway { }
@@ -0,0 +1,7 @@
+package pay;
+import books.Ledger;
+public class CardGateway extends BaseGateway implements Runnable {
+	private Ledger ledger;
+	public void run() { }
+	void settle(Ledger l) { }
+}
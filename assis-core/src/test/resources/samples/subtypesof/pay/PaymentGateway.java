@@ -0,0 +1,2 @@
+package pay;
+public interface PaymentGateway { }
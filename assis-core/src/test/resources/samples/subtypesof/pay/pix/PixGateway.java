@@ -0,0 +1,5 @@
+package pay.pix;
+import pay.PaymentGateway;
+public class PixGateway implements PaymentGateway {
+	static class Receipt { }
+}
@@ -0,0 +1,5 @@
+package p;
+public class A {
+	private B b;
+	C c() { return null; }
+}
@@ -0,0 +1,4 @@
+package p;
+public class B {
+	C make() { return null; }
+}
@@ -0,0 +1,5 @@
+package p;
+public class X {
+	Y y() { return null; }
+	Z z() { return null; }
+}
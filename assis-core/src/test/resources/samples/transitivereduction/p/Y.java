@@ -0,0 +1,5 @@
+package p;
+public class Y {
+	X x() { return null; }
+	Z z() { return null; }
+}